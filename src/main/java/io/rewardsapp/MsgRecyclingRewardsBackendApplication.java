@@ -1,11 +1,12 @@
 package io.rewardsapp;
 
+import io.rewardsapp.security.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -15,6 +16,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static io.rewardsapp.constants.SecurityConstants.PASS_ENCODER_STRENGTH;
+import static io.rewardsapp.constants.SecurityConstants.PASS_HASHING_QUEUE_CAPACITY;
+import static io.rewardsapp.constants.SecurityConstants.PASS_HASHING_THREADS;
 
 @EnableAsync
 @EnableScheduling
@@ -26,9 +29,13 @@ public class MsgRecyclingRewardsBackendApplication {
 		SpringApplication.run(MsgRecyclingRewardsBackendApplication.class, args);
 	}
 
-	@Bean
-	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder(PASS_ENCODER_STRENGTH);
+	@Bean(destroyMethod = "shutdown")
+	public BoundedPasswordEncoder passwordEncoder(
+			@Value("${password-hashing.strength:" + PASS_ENCODER_STRENGTH + "}") int strength,
+			@Value("${password-hashing.threads:" + PASS_HASHING_THREADS + "}") int threads,
+			@Value("${password-hashing.queue-capacity:" + PASS_HASHING_QUEUE_CAPACITY + "}") int queueCapacity
+	) {
+		return new BoundedPasswordEncoder(strength, threads, queueCapacity);
 	}
 
 }
@@ -2,6 +2,8 @@ package io.rewardsapp.constants;
 
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 public class SecurityConstants {
     public static final String[] PUBLIC_URLS = {
@@ -12,10 +14,17 @@ public class SecurityConstants {
 
     public static final long ACCESS_TOKEN_EXPIRATION_TIME = 100_000_000;
     public static final long REFRESH_TOKEN_EXPIRATION_TIME = 432_000_000;
+    public static final int VERIFIED_TOKEN_CACHE_MAX_SIZE = 10_000;
+    public static final long PROFILE_VERSION_TTL = 60_000;
+    public static final int PROFILE_VERSION_CACHE_MAX_SIZE = 100_000;
 
     public static final int PASS_ENCODER_STRENGTH = 14;
+    public static final int PASS_HASHING_THREADS = 4;
+    public static final int PASS_HASHING_QUEUE_CAPACITY = 64;
+    public static final Duration VERIFICATION_TOKEN_TTL = Duration.ofDays(1);
     public static final String MSG_CUSTOMER_SERVICE = ".msg Systems Customer Service";
     public static final String MSG_SYSTEMS_ROMANIA = ".msg Systems Romania";
     public static final String AUTHORITIES = "authorities";
+    public static final String USER_SNAPSHOT = "usr";
     public static final String TOKEN_CANNOT_BE_VERIFIED = "Token cannot be verified";
 }
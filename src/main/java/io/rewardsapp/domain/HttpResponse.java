@@ -2,6 +2,7 @@ package io.rewardsapp.domain;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 import org.springframework.http.HttpStatus;
 
@@ -15,6 +16,7 @@ import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_DEFAULT;
  */
 @Data
 @SuperBuilder
+@NoArgsConstructor
 @JsonInclude(NON_DEFAULT)
 public class HttpResponse {
     protected String timeStamp;
@@ -0,0 +1,20 @@
+package io.rewardsapp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the stored response of a write request made with an idempotency key: the SHA-256 digest of the request
+ * it answered, its HTTP status code and its JSON body.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotentResponse {
+    private String requestHash;
+    private int statusCode;
+    private String body;
+}
@@ -90,6 +90,9 @@ public class User {
     @Column(name = "last_login", columnDefinition = "TIMESTAMP")
     private LocalDateTime lastLogin;
 
+    @Column(name = "profile_version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long profileVersion;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonIgnore
     @JsonManagedReference
@@ -0,0 +1,15 @@
+package io.rewardsapp.domain.auth;
+
+/**
+ * Compact, versioned snapshot of a user carried inside access tokens, allowing the security
+ * context to be built without loading the user and their role from the database.
+ */
+public record UserSnapshot(
+        Long id,
+        String email,
+        String county,
+        String city,
+        String roleName,
+        String permissions,
+        long version
+) {}
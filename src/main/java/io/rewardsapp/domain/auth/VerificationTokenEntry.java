@@ -0,0 +1,14 @@
+package io.rewardsapp.domain.auth;
+
+import java.time.Instant;
+
+/**
+ * Represents a stored verification token (an MFA code or a password reset link),
+ * the user it was issued for and the moment it expires.
+ */
+public record VerificationTokenEntry(Long userId, String token, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
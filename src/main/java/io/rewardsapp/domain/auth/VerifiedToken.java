@@ -0,0 +1,20 @@
+package io.rewardsapp.domain.auth;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Represents the outcome of a successful JWT verification: the subject (user ID),
+ * the granted authorities carried by the token, the moment the token expires,
+ * for access tokens issued with one, the embedded user snapshot (null otherwise)
+ * and whether the token is an access token, i.e. carries an authorities claim.
+ */
+public record VerifiedToken(Long subject, List<GrantedAuthority> authorities, Instant expiresAt, UserSnapshot snapshot,
+                            boolean accessToken) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+}
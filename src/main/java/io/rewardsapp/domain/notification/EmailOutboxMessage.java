@@ -0,0 +1,33 @@
+package io.rewardsapp.domain.notification;
+
+import io.rewardsapp.enums.EmailStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Represents an email stored in the email outbox: its recipient, subject, the template it is rendered
+ * from together with the template variables, and its delivery state.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxMessage {
+    private Long id;
+    private String recipient;
+    private String subject;
+    private String template;
+    private Map<String, Object> variables;
+    private int priority;
+    private EmailStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,11 @@
+package io.rewardsapp.domain.recycling;
+
+/**
+ * Represents a user ranked by the leaderboard, administrative users are never members.
+ *
+ * @param userId The ID of the user.
+ * @param county The county of the user.
+ * @param points The reward points balance of the user.
+ */
+public record LeaderboardMember(long userId, String county, long points) {
+}
@@ -0,0 +1,64 @@
+package io.rewardsapp.domain.recycling;
+
+import java.util.Arrays;
+
+/**
+ * Compact map from material ID to amount recycled, backed by two primitive arrays. The material IDs are the
+ * sorted IDs of the materials catalog, so lookups are binary searches and amounts of unknown materials are ignored.
+ */
+public final class MaterialAmounts {
+
+    private final long[] materialIds;
+    private final long[] amounts;
+
+    /**
+     * @param materialIds The sorted IDs of the materials, shared and never modified.
+     */
+    public MaterialAmounts(long[] materialIds) {
+        this(materialIds, new long[materialIds.length]);
+    }
+
+    private MaterialAmounts(long[] materialIds, long[] amounts) {
+        this.materialIds = materialIds;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Adds to the amount of the material, if the material is known.
+     *
+     * @param materialId The ID of the material.
+     * @param amount     The amount to add.
+     */
+    public void add(long materialId, long amount) {
+        int index = Arrays.binarySearch(materialIds, materialId);
+        if (index >= 0) {
+            amounts[index] += amount;
+        }
+    }
+
+    /**
+     * Returns a copy with the amount added to the material, leaving this instance unchanged.
+     */
+    public MaterialAmounts plus(long materialId, long amount) {
+        MaterialAmounts copy = new MaterialAmounts(materialIds, amounts.clone());
+        copy.add(materialId, amount);
+        return copy;
+    }
+
+    public long get(long materialId) {
+        int index = Arrays.binarySearch(materialIds, materialId);
+        return index >= 0 ? amounts[index] : 0;
+    }
+
+    public int size() {
+        return materialIds.length;
+    }
+
+    public long materialIdAt(int index) {
+        return materialIds[index];
+    }
+
+    public long amountAt(int index) {
+        return amounts[index];
+    }
+}
@@ -0,0 +1,26 @@
+package io.rewardsapp.domain.recycling;
+
+import io.rewardsapp.enums.LedgerEntryType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents an entry of the points ledger: the user whose balance changed, the kind of change, the signed amount
+ * of points, and optionally the ID of the record that caused it (e.g. the issued voucher).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsLedgerEntry {
+    private Long id;
+    private Long userId;
+    private LedgerEntryType type;
+    private long points;
+    private Long referenceId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,10 @@
+package io.rewardsapp.domain.recycling;
+
+/**
+ * Represents a chunk of balances reset by the monthly reward points reset.
+ *
+ * @param lastUserId The last user ID of the chunk, stored as the partition checkpoint.
+ * @param points     The reward points subtracted from the balances of the chunk.
+ */
+public record RewardPointsResetChunk(long lastUserId, long points) {
+}
@@ -0,0 +1,30 @@
+package io.rewardsapp.domain.scheduling;
+
+import io.rewardsapp.enums.PartitionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a slice of the key range of a job run. A partition is leased by one node at a time, and
+ * its last processed key is kept as a checkpoint, so another node can take it over if the lease expires.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobPartition {
+    private Long id;
+    private String jobName;
+    private String runKey;
+    private int partitionNo;
+    private long rangeStart;
+    private long rangeEnd;
+    private long lastKey;
+    private PartitionStatus status;
+    private String owner;
+    private LocalDateTime leaseUntil;
+}
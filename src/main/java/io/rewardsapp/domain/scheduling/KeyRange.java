@@ -0,0 +1,7 @@
+package io.rewardsapp.domain.scheduling;
+
+/**
+ * Represents an inclusive range of keys (usually user IDs) processed by a partitioned job.
+ */
+public record KeyRange(long start, long end) {
+}
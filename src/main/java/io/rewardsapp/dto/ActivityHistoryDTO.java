@@ -0,0 +1,19 @@
+package io.rewardsapp.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) representing one entry of a user's recycling activity history.
+ */
+@Builder
+public record ActivityHistoryDTO(
+        Long activityId,
+        Long centerId,
+        String centerName,
+        Long materialId,
+        String materialName,
+        long amount,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,15 @@
+package io.rewardsapp.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing a page of recycling activity history, newest first,
+ * with the cursor of the next page, or null if this is the last page.
+ */
+@Builder
+public record ActivityHistoryPageDTO(
+        List<ActivityHistoryDTO> activities,
+        String nextCursor
+) {}
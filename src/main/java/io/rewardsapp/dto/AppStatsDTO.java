@@ -2,10 +2,8 @@ package io.rewardsapp.dto;
 
 import lombok.Builder;
 
-import java.math.BigInteger;
-
 @Builder
 public record AppStatsDTO(
-        BigInteger activeRecyclersNumber,
-        BigInteger monthlyRewardPoints
+        long activeRecyclersNumber,
+        long monthlyRewardPoints
 ) {}
\ No newline at end of file
@@ -2,15 +2,12 @@ package io.rewardsapp.dto;
 
 import lombok.Builder;
 
+import java.util.Map;
+
 @Builder
 public record CenterStatsDTO(
         Long recyclersNumber,
         Long activitiesNumber,
-        Long paperRecycled,
-        Long plasticRecycled,
-        Long glassRecycled,
-        Long aluminumRecycled,
-        Long metalsRecycled,
-        Long electronicsRecycled
+        Map<String, Long> materialsRecycled
 ) {
 }
@@ -0,0 +1,17 @@
+package io.rewardsapp.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of a batch contribution: the result of every
+ * activity, in the order they were submitted, and a summary of every user who earned points.
+ */
+@Builder
+public record ContributionBatchResultDTO(
+        int accepted,
+        int rejected,
+        List<ContributionResultDTO> results,
+        List<ContributorSummaryDTO> contributors
+) {}
@@ -0,0 +1,15 @@
+package io.rewardsapp.dto;
+
+import lombok.Builder;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of a single contribution: the recorded activity,
+ * the points it earned, the resulting reward points balance and the number of vouchers earned.
+ */
+@Builder
+public record ContributionDTO(
+        Long activityId,
+        long pointsEarned,
+        long rewardPoints,
+        int vouchersEarned
+) {}
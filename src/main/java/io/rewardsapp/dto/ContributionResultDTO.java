@@ -0,0 +1,16 @@
+package io.rewardsapp.dto;
+
+import lombok.Builder;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of one recycling activity of a batch contribution.
+ * It holds the position of the activity in the batch, the points it earned or the reason it was rejected.
+ */
+@Builder
+public record ContributionResultDTO(
+        int index,
+        Long userId,
+        boolean accepted,
+        Long pointsEarned,
+        String error
+) {}
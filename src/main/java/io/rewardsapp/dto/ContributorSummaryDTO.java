@@ -0,0 +1,14 @@
+package io.rewardsapp.dto;
+
+import lombok.Builder;
+
+/**
+ * Data Transfer Object (DTO) representing a user whose activities were accepted in a batch contribution,
+ * with the resulting reward points balance and the number of vouchers earned.
+ */
+@Builder
+public record ContributorSummaryDTO(
+        Long userId,
+        long rewardPoints,
+        int vouchersEarned
+) {}
@@ -0,0 +1,14 @@
+package io.rewardsapp.dto;
+
+import lombok.Builder;
+
+@Builder
+public record EmailOutboxMetricsDTO(
+        long pending,
+        long sending,
+        long failed,
+        long sentTotal,
+        long retriedTotal,
+        long failedTotal,
+        long sentLastMinute
+) {}
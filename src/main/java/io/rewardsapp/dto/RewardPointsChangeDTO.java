@@ -0,0 +1,13 @@
+package io.rewardsapp.dto;
+
+import lombok.Builder;
+
+/**
+ * Data Transfer Object (DTO) representing a change of a user's reward points balance.
+ * It holds the balance right before and right after the change.
+ */
+@Builder
+public record RewardPointsChangeDTO(
+        long pointsBefore,
+        long pointsAfter
+) {}
@@ -0,0 +1,21 @@
+package io.rewardsapp.dto;
+
+import io.rewardsapp.enums.StatsBucket;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) representing the amounts recycled over time, per material. Every point covers
+ * {@code bucketsPerPoint} consecutive buckets starting at its date, so long ranges never exceed the maximum
+ * number of points.
+ */
+@Builder
+public record StatsSeriesDTO(
+        StatsBucket bucket,
+        int bucketsPerPoint,
+        List<LocalDate> points,
+        Map<String, long[]> materialsRecycled
+) {}
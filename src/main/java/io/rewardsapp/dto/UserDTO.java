@@ -32,6 +32,8 @@ public record UserDTO(
         String roleName,
         String permissions,
 
+        long profileVersion,
+
         LocalDateTime createdAt
 ) {}
 
@@ -0,0 +1,12 @@
+package io.rewardsapp.dto;
+
+import lombok.Builder;
+
+@Builder
+public record UserStatsCacheMetricsDTO(
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions
+) {}
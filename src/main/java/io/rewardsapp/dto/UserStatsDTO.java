@@ -2,17 +2,13 @@ package io.rewardsapp.dto;
 
 import lombok.Builder;
 
+import java.util.Map;
+
 /**
  * Data Transfer Object (DTO) representing recycling statistics for a user.
- * It encapsulates the recycling quantities for different materials.
+ * It encapsulates the amount recycled of every material, by material name.
  */
 @Builder
 public record UserStatsDTO(
-      Long paperRecycled,
-      Long plasticRecycled,
-      Long glassRecycled,
-      Long aluminumRecycled,
-      Long metalsRecycled,
-      Long electronicsRecycled
+      Map<String, Long> materialsRecycled
 ) {}
-
@@ -2,6 +2,7 @@ package io.rewardsapp.dto.mapper;
 
 import io.rewardsapp.domain.auth.Role;
 import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.domain.auth.UserSnapshot;
 import io.rewardsapp.dto.UserDTO;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Component;
@@ -34,6 +35,7 @@ public class UserDTOMapper {
                 .notificationsEnabled(user.isNotificationsEnabled())
                 .notLocked(user.isNotLocked())
                 .usingMfa(user.isUsingMfa())
+                .profileVersion(user.getProfileVersion())
                 .createdAt(user.getCreatedAt())
                 .build();
     }
@@ -63,6 +65,7 @@ public class UserDTOMapper {
                 .usingMfa(user.isUsingMfa())
                 .roleName(role.getName())
                 .permissions(role.getPermission())
+                .profileVersion(user.getProfileVersion())
                 .createdAt(user.getCreatedAt())
                 .build();
     }
@@ -94,10 +97,32 @@ public class UserDTOMapper {
                 .roleName(role.getName())
                 .permissions(role.getPermission())
                 .rewardPoints(currRewardPoints)
+                .profileVersion(user.getProfileVersion())
                 .createdAt(user.getCreatedAt())
                 .build();
     }
 
+    /**
+     * Maps the user snapshot carried by an access token to a UserDTO object.
+     * Only the identity, location and role related fields are populated.
+     *
+     * @param snapshot The user snapshot extracted from the access token.
+     * @return A UserDTO object representing the snapshot information.
+     */
+    public static UserDTO fromSnapshot(UserSnapshot snapshot) {
+        return UserDTO.builder()
+                .id(snapshot.id())
+                .email(snapshot.email())
+                .county(snapshot.county())
+                .city(snapshot.city())
+                .roleName(snapshot.roleName())
+                .permissions(snapshot.permissions())
+                .profileVersion(snapshot.version())
+                .enabled(true)
+                .notLocked(true)
+                .build();
+    }
+
     /**
      * Converts a UserDTO object to a User entity.
      *
@@ -0,0 +1,11 @@
+package io.rewardsapp.enums;
+
+/**
+ * Represents the delivery states of an email kept in the email outbox.
+ */
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package io.rewardsapp.enums;
+
+/**
+ * Represents the kinds of points ledger entries: points credited for a recycling activity, points removed by the
+ * monthly reset, manual corrections, and vouchers issued for crossing a threshold (which leave the balance unchanged).
+ */
+public enum LedgerEntryType {
+    ACTIVITY_CREDIT,
+    MONTHLY_RESET,
+    ADJUSTMENT,
+    VOUCHER_ISSUED
+}
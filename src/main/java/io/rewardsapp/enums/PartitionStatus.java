@@ -0,0 +1,10 @@
+package io.rewardsapp.enums;
+
+/**
+ * Represents the states of a job partition: waiting to be claimed, leased by a node, or processed.
+ */
+public enum PartitionStatus {
+    PENDING,
+    CLAIMED,
+    DONE
+}
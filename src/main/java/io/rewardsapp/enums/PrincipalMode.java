@@ -0,0 +1,10 @@
+package io.rewardsapp.enums;
+
+/**
+ * Represents the ways the authenticated principal can be resolved from an access token.
+ * DATABASE loads the user on every request, CLAIMS builds it from the user snapshot in the token.
+ */
+public enum PrincipalMode {
+    DATABASE,
+    CLAIMS
+}
@@ -0,0 +1,45 @@
+package io.rewardsapp.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Represents the bucket sizes of the statistics time series. Buckets start on the first day of their period,
+ * weeks starting on Monday, the same way as the {@code date_trunc} function of the database.
+ */
+public enum StatsBucket {
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS),
+    MONTH(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    StatsBucket(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * @return The field name of the bucket for the {@code date_trunc} function.
+     */
+    public String getField() {
+        return name().toLowerCase();
+    }
+
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public long between(LocalDate start, LocalDate end) {
+        return unit.between(start, end);
+    }
+
+    public LocalDate plus(LocalDate date, long buckets) {
+        return date.plus(buckets, unit);
+    }
+}
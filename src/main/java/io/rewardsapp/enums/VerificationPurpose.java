@@ -0,0 +1,9 @@
+package io.rewardsapp.enums;
+
+/**
+ * Represents the purposes of the short-lived verification tokens kept in the verification token store.
+ */
+public enum VerificationPurpose {
+    MFA_CODE,
+    PASSWORD_RESET
+}
@@ -104,6 +104,18 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler imple
         return buildErrorResponse(exception.getMessage(), BAD_REQUEST);
     }
 
+    /**
+     * Handles ServiceUnavailableException and returns a customized HTTP response.
+     *
+     * @param exception The ServiceUnavailableException.
+     * @return A ResponseEntity containing a customized HttpResponse.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<HttpResponse> handleServiceUnavailableException(ServiceUnavailableException exception) {
+        log.error(exception.getMessage());
+        return buildErrorResponse(exception.getMessage(), SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handles LockedException and returns a customized HTTP response.
      *
@@ -0,0 +1,8 @@
+package io.rewardsapp.exception;
+
+/**
+ * Used to represent a temporary overload of a bounded resource, reported to the client as 503 Service Unavailable.
+ */
+public class ServiceUnavailableException extends ApiException {
+    public ServiceUnavailableException(String message) { super(message); }
+}
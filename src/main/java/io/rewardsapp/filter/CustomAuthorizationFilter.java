@@ -1,5 +1,6 @@
 package io.rewardsapp.filter;
 
+import io.rewardsapp.domain.auth.VerifiedToken;
 import io.rewardsapp.provider.TokenProvider;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,13 +9,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.util.Arrays;
-import java.util.List;
 
 import static io.rewardsapp.utils.ExceptionUtils.handleException;
 import static java.util.Arrays.asList;
@@ -38,7 +37,8 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
     };
 
     /**
-     * Filters incoming requests to authenticate based on JWT tokens.
+     * Filters incoming requests to authenticate based on JWT tokens. The token is verified
+     * a single time per request (or served from the verified token cache).
      *
      * @param request     The HTTP request.
      * @param response    The HTTP response.
@@ -47,12 +47,10 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)  {
         try {
-            String token = getToken(request);
-            Long userId = getUSerId(request);
+            VerifiedToken verifiedToken = tokenProvider.verifyToken(getToken(request), request);
 
-            if (tokenProvider.isTokenValid(userId, token)) {
-                List<GrantedAuthority> authorities = tokenProvider.getAuthorities(token);
-                Authentication authentication = tokenProvider.getAuthentication(userId, authorities, request);
+            if (tokenProvider.isAccessTokenValid(verifiedToken)) {
+                Authentication authentication = tokenProvider.getAuthentication(verifiedToken, request);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             } else {
                 SecurityContextHolder.clearContext();
@@ -83,11 +81,6 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
                 asList(PUBLIC_ROUTES).contains(request.getRequestURI());
     }
 
-    /* Extracts the user ID from the JWT token. */
-    private Long getUSerId(HttpServletRequest request) {
-        return tokenProvider.getSubject(getToken(request), request);
-    }
-
     /* Extracts the JWT token from the request headers. */
     private String getToken(HttpServletRequest request) {
         return ofNullable(request.getHeader(AUTHORIZATION))
@@ -0,0 +1,16 @@
+package io.rewardsapp.form;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Form used for submitting several recycling activities at once, e.g. by a recycling center kiosk.
+ */
+public record CreateRecyclingActivitiesForm(
+        @NotEmpty(message = "Please provide at least one recycling activity.")
+        @Size(max = 1000, message = "A batch can contain at most 1000 recycling activities.")
+        List<@Valid CreateRecyclingActivityForm> activities
+) {}
@@ -0,0 +1,76 @@
+package io.rewardsapp.provider;
+
+import io.rewardsapp.dto.AppStatsDTO;
+import io.rewardsapp.repository.AppStatsRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.rewardsapp.utils.TransactionUtils.runAfterCommit;
+
+/**
+ * App-wide totals kept in striped {@link LongAdder} counters, so reading them takes no lock, no allocation and no
+ * query. Registrations, contributions and the monthly reset made on this instance add their change once their
+ * transaction commits. Changes made on other instances only show up when the counters are reset to the database
+ * totals, every {@link #APP_STATS_RECONCILE_INTERVAL}, so the totals of one instance lag the cluster by at most that
+ * interval. A reconciliation is skipped when a local change is applied while the database totals are read, but a
+ * change committed before the read and applied only after it is counted twice until the next reconciliation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AppStatsCounters {
+
+    public static final long APP_STATS_RECONCILE_INTERVAL = 60_000;
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final AppStatsRepository appStatsRepository;
+
+    private final LongAdder recyclers = new LongAdder();
+    private final LongAdder rewardPoints = new LongAdder();
+
+    /**
+     * Corrects the counters with the totals of the database. Called on startup and periodically. The result can be
+     * off by the changes in flight during the read, which the next run corrects.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelay = APP_STATS_RECONCILE_INTERVAL, initialDelay = APP_STATS_RECONCILE_INTERVAL)
+    public void reconcile() {
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS; attempt++) {
+            long recyclersBefore = recyclers.sum();
+            long rewardPointsBefore = rewardPoints.sum();
+            AppStatsDTO totals = appStatsRepository.getAppTotalStats();
+
+            if (recyclers.sum() == recyclersBefore && rewardPoints.sum() == rewardPointsBefore) {
+                recyclers.add(totals.activeRecyclersNumber() - recyclersBefore);
+                rewardPoints.add(totals.monthlyRewardPoints() - rewardPointsBefore);
+                log.debug("App stats reconciled to {} recyclers and {} reward points", totals.activeRecyclersNumber(), totals.monthlyRewardPoints());
+                return;
+            }
+        }
+
+        log.debug("App stats changed during every reconciliation attempt, retrying on the next run");
+    }
+
+    public void recordRegistration() {
+        runAfterCommit(recyclers::increment);
+    }
+
+    public void recordRewardPoints(long points) {
+        if (points != 0) {
+            runAfterCommit(() -> rewardPoints.add(points));
+        }
+    }
+
+    public long getRecyclers() {
+        return recyclers.sum();
+    }
+
+    public long getRewardPoints() {
+        return rewardPoints.sum();
+    }
+}
@@ -0,0 +1,237 @@
+package io.rewardsapp.provider;
+
+import io.rewardsapp.domain.recycling.LeaderboardMember;
+import io.rewardsapp.repository.LeaderboardRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+import static io.rewardsapp.utils.TransactionUtils.runAfterCommit;
+
+/**
+ * In-memory ranking of the non-administrative users by reward points, with one {@link RankedSkipList} for all
+ * users and one per county, so a page of the leaderboard is found in O(log n) with the global ranks of its users.
+ * A balance change made on this instance moves its user as soon as its transaction commits. Changes made on other
+ * instances are not sent between instances, the user keeps their old position until the next rebuild replaces the
+ * whole ranking, at most {@link #LEADERBOARD_REBUILD_INTERVAL} later. Users moved locally while a rebuild reads the
+ * database keep their local position instead of the one read by the rebuild.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardIndex {
+
+    public static final long LEADERBOARD_REBUILD_INTERVAL = 600_000;
+
+    private final LeaderboardRepository leaderboardRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Rankings rankings = new Rankings();
+    private Set<Long> changedDuringRebuild;
+
+    /**
+     * Rebuilds the ranking from the database. Called on startup and periodically.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelay = LEADERBOARD_REBUILD_INTERVAL, initialDelay = LEADERBOARD_REBUILD_INTERVAL)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Rankings rebuilt = new Rankings();
+        try {
+            leaderboardRepository.findMembers().forEach(rebuilt::put);
+        } catch (RuntimeException exception) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw exception;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Long userId : changedDuringRebuild) {
+                LeaderboardMember member = rankings.members.get(userId);
+                if (member != null) {
+                    rebuilt.put(member);
+                } else {
+                    rebuilt.remove(userId);
+                }
+            }
+            rankings = rebuilt;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.debug("Leaderboard rebuilt with {} users", rebuilt.members.size());
+    }
+
+    /**
+     * Moves the user to their new balance once the current transaction commits. Users unknown to this instance,
+     * such as users registered on another instance, are reloaded from the database, which also keeps
+     * administrators out of the leaderboard.
+     *
+     * @param userId The ID of the user.
+     * @param points The balance of the user after the change.
+     */
+    public void recordPoints(long userId, long points) {
+        runAfterCommit(() -> {
+            LeaderboardMember previous = update(userId, current -> current == null ? null : new LeaderboardMember(userId, current.county(), points));
+            if (previous == null) {
+                reloadMember(userId);
+            }
+        });
+    }
+
+    /**
+     * Reloads the county, balance and membership of the user once the current transaction commits. Used when the
+     * user registers, changes county or changes role.
+     *
+     * @param userId The ID of the user.
+     */
+    public void refreshMember(long userId) {
+        runAfterCommit(() -> reloadMember(userId));
+    }
+
+    /**
+     * Reads a slice of the leaderboard.
+     *
+     * @param county    The county of the leaderboard, or blank for all users.
+     * @param offset    The position of the first user in the requested order.
+     * @param limit     The maximum number of users.
+     * @param ascending Whether the users with the fewest points come first.
+     * @return The users of the slice with their ranks, and the number of users in the leaderboard.
+     */
+    public Slice getSlice(String county, int offset, int limit, boolean ascending) {
+        lock.readLock().lock();
+        try {
+            RankedSkipList list = StringUtils.hasText(county) ? rankings.counties.get(countyKey(county)) : rankings.global;
+            if (list == null) {
+                return new Slice(List.of(), 0);
+            }
+
+            // an ascending page is read from the end of the descending order and reversed
+            int total = list.size();
+            int start = ascending ? Math.max(0, total - offset - limit) : offset;
+            int end = ascending ? total - offset : Math.min(total, offset + limit);
+            long[] points = new long[Math.max(0, end - start)];
+            long[] userIds = new long[points.length];
+            int copied = list.copyRange(start, points.length, points, userIds);
+
+            List<RankedMember> members = new ArrayList<>(copied);
+            long rank = 0;
+            for (int i = 0; i < copied; i++) {
+                if (i == 0) {
+                    rank = list.countAbove(points[0]) + 1;
+                } else if (points[i] != points[i - 1]) {
+                    rank = start + i + 1;
+                }
+                members.add(new RankedMember(userIds[i], points[i], rank));
+            }
+
+            if (ascending) {
+                Collections.reverse(members);
+            }
+            return new Slice(members, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reloadMember(long userId) {
+        LeaderboardMember member = leaderboardRepository.findMember(userId).orElse(null);
+        update(userId, current -> member);
+    }
+
+    /* Replaces the member with the result of the change, a null result removes the user from the leaderboard. Returns the previous member. */
+    private LeaderboardMember update(long userId, UnaryOperator<LeaderboardMember> change) {
+        lock.writeLock().lock();
+        try {
+            LeaderboardMember previous = rankings.members.get(userId);
+            LeaderboardMember member = change.apply(previous);
+            if (Objects.equals(previous, member)) {
+                return previous;
+            }
+
+            if (member != null) {
+                rankings.put(member);
+            } else {
+                rankings.remove(userId);
+            }
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(userId);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String countyKey(String county) {
+        return county.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A user of a leaderboard slice. Users with the same points share the same rank.
+     */
+    public record RankedMember(long userId, long points, long rank) {
+    }
+
+    public record Slice(List<RankedMember> members, int total) {
+    }
+
+    /* The ranked lists and the members they contain, guarded by the lock of the index. */
+    private static final class Rankings {
+        private final Map<Long, LeaderboardMember> members = new HashMap<>();
+        private final RankedSkipList global = new RankedSkipList();
+        private final Map<String, RankedSkipList> counties = new HashMap<>();
+
+        private void put(LeaderboardMember member) {
+            remove(member.userId());
+            members.put(member.userId(), member);
+            global.insert(member.points(), member.userId());
+            if (StringUtils.hasText(member.county())) {
+                counties.computeIfAbsent(countyKey(member.county()), key -> new RankedSkipList()).insert(member.points(), member.userId());
+            }
+        }
+
+        private void remove(long userId) {
+            LeaderboardMember member = members.remove(userId);
+            if (member == null) {
+                return;
+            }
+            global.remove(member.points(), userId);
+            if (StringUtils.hasText(member.county())) {
+                RankedSkipList county = counties.get(countyKey(member.county()));
+                county.remove(member.points(), userId);
+                if (county.size() == 0) {
+                    counties.remove(countyKey(member.county()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package io.rewardsapp.provider;
+
+import io.rewardsapp.domain.recycling.MaterialAmounts;
+import io.rewardsapp.domain.recycling.RecyclableMaterial;
+import io.rewardsapp.repository.MaterialsRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable in-memory snapshot of the recyclable materials, used to validate and score recycling activities and
+ * to resolve the materials accepted by a center without reading the {@code materials} table. Reward points are
+ * stored in an array indexed by material ID and material names are interned in a name to ID map. The sorted
+ * material IDs key the {@link MaterialAmounts} of the statistics, so new materials need no code changes. The
+ * whole snapshot is rebuilt from the database and swapped in a single write, so readers always see a consistent
+ * catalog.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MaterialsCatalog {
+
+    public static final long MATERIALS_REFRESH_INTERVAL = 300_000;
+
+    private static final long NO_MATERIAL = -1;
+
+    private final MaterialsRepository materialsRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Rebuilds the catalog from the database. Called on startup and periodically. The application never writes
+     * materials, so a change made to the {@code materials} table is seen up to {@link #MATERIALS_REFRESH_INTERVAL}
+     * milliseconds later.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelay = MATERIALS_REFRESH_INTERVAL, initialDelay = MATERIALS_REFRESH_INTERVAL)
+    public void refresh() {
+        snapshot = Snapshot.of(materialsRepository.findAll());
+        log.debug("Materials catalog rebuilt with {} materials", snapshot.materials.size());
+    }
+
+    public boolean contains(Long materialId) {
+        return materialId != null && snapshot.rewardPointsOf(materialId) != NO_MATERIAL;
+    }
+
+    /**
+     * Retrieves the reward points earned per recycled unit of the material.
+     *
+     * @param materialId The ID of the material.
+     * @return The reward points per unit.
+     * @throws IllegalArgumentException If the material does not exist.
+     */
+    public long getRewardPoints(long materialId) {
+        long rewardPoints = snapshot.rewardPointsOf(materialId);
+        if (rewardPoints == NO_MATERIAL) {
+            throw new IllegalArgumentException("Unknown material: " + materialId);
+        }
+        return rewardPoints;
+    }
+
+    /**
+     * Retrieves the ID of the material with the given name.
+     *
+     * @param name The name of the material.
+     * @return The ID of the material, or null if there is no material with that name.
+     */
+    public Long findIdByName(String name) {
+        return snapshot.idsByName.get(name);
+    }
+
+    /**
+     * Creates an empty amounts map holding every material of the catalog.
+     *
+     * @return The amounts map, with a zero amount for every material.
+     */
+    public MaterialAmounts newAmounts() {
+        return new MaterialAmounts(snapshot.materialIds);
+    }
+
+    /**
+     * Names the amounts with the current material names, in material ID order. Amounts of materials that were
+     * removed from the catalog are left out.
+     *
+     * @param amounts The amounts by material ID.
+     * @return The amounts by material name.
+     */
+    public Map<String, Long> toNamedAmounts(MaterialAmounts amounts) {
+        Snapshot current = snapshot;
+        Map<String, Long> namedAmounts = new LinkedHashMap<>();
+
+        for (int i = 0; i < amounts.size(); i++) {
+            int index = Arrays.binarySearch(current.materialIds, amounts.materialIdAt(i));
+            if (index >= 0) {
+                namedAmounts.put(current.names[index], amounts.amountAt(i));
+            }
+        }
+        return namedAmounts;
+    }
+
+    public List<RecyclableMaterial> getMaterials() {
+        return snapshot.materials;
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new long[0], Map.of(), List.of());
+
+        private final long[] rewardPointsById;
+        private final Map<String, Long> idsByName;
+        private final List<RecyclableMaterial> materials;
+        private final long[] materialIds;
+        private final String[] names;
+
+        private Snapshot(long[] rewardPointsById, Map<String, Long> idsByName, List<RecyclableMaterial> materials) {
+            this.rewardPointsById = rewardPointsById;
+            this.idsByName = idsByName;
+            this.materials = materials;
+
+            List<RecyclableMaterial> byId = materials.stream()
+                    .sorted(Comparator.comparing(RecyclableMaterial::getMaterialId))
+                    .toList();
+            this.materialIds = byId.stream().mapToLong(RecyclableMaterial::getMaterialId).toArray();
+            this.names = byId.stream().map(RecyclableMaterial::getName).toArray(String[]::new);
+        }
+
+        /* Builds a snapshot from detached copies of the materials, so it never holds on to managed entities. Missing reward points count as zero, like the column default. */
+        private static Snapshot of(List<RecyclableMaterial> materials) {
+            int size = (int) materials.stream().mapToLong(RecyclableMaterial::getMaterialId).max().orElse(-1) + 1;
+            long[] rewardPointsById = new long[size];
+            Arrays.fill(rewardPointsById, NO_MATERIAL);
+            Map<String, Long> idsByName = new HashMap<>();
+
+            List<RecyclableMaterial> copies = materials.stream()
+                    .<RecyclableMaterial>map(material -> RecyclableMaterial.builder()
+                            .materialId(material.getMaterialId())
+                            .name(material.getName().intern())
+                            .rewardPoints(Objects.requireNonNullElse(material.getRewardPoints(), 0L))
+                            .build())
+                    .toList();
+
+            for (RecyclableMaterial material : copies) {
+                rewardPointsById[material.getMaterialId().intValue()] = material.getRewardPoints();
+                idsByName.put(material.getName(), material.getMaterialId());
+            }
+
+            return new Snapshot(rewardPointsById, Map.copyOf(idsByName), copies);
+        }
+
+        private long rewardPointsOf(long materialId) {
+            return materialId >= 0 && materialId < rewardPointsById.length ? rewardPointsById[(int) materialId] : NO_MATERIAL;
+        }
+    }
+}
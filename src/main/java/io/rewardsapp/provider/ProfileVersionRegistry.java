@@ -0,0 +1,70 @@
+package io.rewardsapp.provider;
+
+import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.repository.JdbcUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.rewardsapp.constants.SecurityConstants.PROFILE_VERSION_CACHE_MAX_SIZE;
+import static io.rewardsapp.constants.SecurityConstants.PROFILE_VERSION_TTL;
+
+/**
+ * Keeps track of the current profile version of each user, used to reject access tokens whose
+ * user snapshot has become stale. Versions are read from the database at most once per TTL window
+ * and evicted locally as soon as the user details, role or account settings change.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileVersionRegistry {
+
+    private final JdbcUserRepository<User> jdbcUserRepository;
+
+    private final Map<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Checks if the given snapshot version is still the current profile version of the user.
+     *
+     * @param userId       The ID of the user.
+     * @param tokenVersion The profile version carried by the token.
+     * @return True if the token version is current, false otherwise.
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        return currentVersion(userId) == tokenVersion;
+    }
+
+    /**
+     * Retrieves the current profile version of the user, loading it from the database when it
+     * is not known locally or when the locally known value is older than the TTL.
+     *
+     * @param userId The ID of the user.
+     * @return The current profile version.
+     */
+    public long currentVersion(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = versions.get(userId);
+
+        if (cached == null || now - cached.loadedAt() > PROFILE_VERSION_TTL) {
+            if (versions.size() >= PROFILE_VERSION_CACHE_MAX_SIZE) {
+                versions.values().removeIf(entry -> now - entry.loadedAt() > PROFILE_VERSION_TTL);
+            }
+            cached = new CachedVersion(jdbcUserRepository.getProfileVersion(userId), now);
+            versions.put(userId, cached);
+        }
+
+        return cached.version();
+    }
+
+    /**
+     * Forgets the locally known profile version of a user, forcing a reload on the next check.
+     *
+     * @param userId The ID of the user whose profile changed.
+     */
+    public void evict(Long userId) {
+        versions.remove(userId);
+    }
+
+    private record CachedVersion(long version, long loadedAt) {}
+}
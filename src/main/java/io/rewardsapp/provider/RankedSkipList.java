@@ -0,0 +1,159 @@
+package io.rewardsapp.provider;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Indexed skip list of users ordered by points, highest first, and then by user ID. Every link stores how many
+ * users it skips, so inserts, removals, rank lookups and seeks to a rank all take O(log n). Not thread safe,
+ * {@link LeaderboardIndex} guards it with its lock.
+ */
+final class RankedSkipList {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Node head = new Node(0, 0, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(long points, long userId) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node node = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (node.next[i] != null && node.next[i].isBefore(points, userId)) {
+                rank[i] += node.span[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node inserted = new Node(points, userId, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+            inserted.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    boolean remove(long points, long userId) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node node = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].isBefore(points, userId)) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+
+        Node removed = node.next[0];
+        if (removed == null || removed.points != points || removed.userId != userId) {
+            return false;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == removed) {
+                update[i].span[i] += removed.span[i] - 1;
+                update[i].next[i] = removed.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Counts the users with more points than the given amount, which is the competition rank of that amount minus one.
+     */
+    int countAbove(long points) {
+        int count = 0;
+        Node node = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].points > points) {
+                count += node.span[i];
+                node = node.next[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copies the points and IDs of at most {@code limit} users, starting at the zero-based position.
+     *
+     * @return The number of users copied.
+     */
+    int copyRange(int offset, int limit, long[] points, long[] userIds) {
+        if (offset < 0 || offset >= size) {
+            return 0;
+        }
+
+        int traversed = 0;
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.span[i] <= offset + 1) {
+                traversed += node.span[i];
+                node = node.next[i];
+            }
+        }
+
+        int copied = 0;
+        for (; node != null && copied < limit; node = node.next[0]) {
+            points[copied] = node.points;
+            userIds[copied++] = node.userId;
+        }
+        return copied;
+    }
+
+    private int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && ThreadLocalRandom.current().nextInt(4) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node {
+        private final long points;
+        private final long userId;
+        private final Node[] next;
+        private final int[] span;
+
+        private Node(long points, long userId, int level) {
+            this.points = points;
+            this.userId = userId;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+
+        /* Whether this node ranks ahead of the given points and user ID. */
+        private boolean isBefore(long points, long userId) {
+            return this.points > points || (this.points == points && this.userId < userId);
+        }
+    }
+}
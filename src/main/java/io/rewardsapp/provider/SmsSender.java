@@ -0,0 +1,11 @@
+package io.rewardsapp.provider;
+
+/**
+ * Transport used by the SMS service to deliver a single text message.
+ * Implementations throw {@link IllegalArgumentException} for failures that retrying cannot fix
+ * (e.g. an invalid recipient) and any other runtime exception for transient failures.
+ */
+public interface SmsSender {
+
+    void send(String to, String messageBody);
+}
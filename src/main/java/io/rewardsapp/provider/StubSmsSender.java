@@ -0,0 +1,48 @@
+package io.rewardsapp.provider;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * Local SMS transport, enabled with {@code mfa.sms.transport=stub}, that never contacts a provider. Each message is
+ * appended to the file configured by {@code mfa.sms.stub-file} or, when no file is configured, written to the log.
+ * It allows exercising (and load-testing) the MFA login path without a live SMS provider.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mfa.sms.transport", havingValue = "stub")
+public class StubSmsSender implements SmsSender {
+
+    @Value("${mfa.sms.stub-file:}")
+    private String stubFile;
+
+    @Override
+    public void send(String to, String messageBody) {
+        String line = LocalDateTime.now() + " | " + to + " | " + messageBody.replace('\n', ' ');
+
+        if (stubFile == null || stubFile.isBlank()) {
+            log.info("SMS (stub) {}", line);
+            return;
+        }
+
+        try {
+            synchronized (this) {
+                Files.writeString(Path.of(stubFile), line + System.lineSeparator(), StandardCharsets.UTF_8, CREATE, APPEND);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -6,8 +6,14 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.InvalidClaimException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import io.rewardsapp.domain.auth.UserPrincipal;
+import io.rewardsapp.domain.auth.UserSnapshot;
+import io.rewardsapp.domain.auth.VerifiedToken;
+import io.rewardsapp.dto.mapper.UserDTOMapper;
+import io.rewardsapp.enums.PrincipalMode;
 import io.rewardsapp.service.UserService;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,13 +26,16 @@ import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.auth0.jwt.algorithms.Algorithm.HMAC512;
 import static io.rewardsapp.constants.SecurityConstants.*;
 import static java.util.Arrays.stream;
-import static java.util.stream.Collectors.toList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toUnmodifiableList;
 
 @Component
 @RequiredArgsConstructor
@@ -35,7 +44,25 @@ public class TokenProvider {
     @Value("${jwt.secret}")
     private String SECRET;
 
+    @Value("${jwt.principal-mode:DATABASE}")
+    private PrincipalMode principalMode = PrincipalMode.DATABASE;
+
     private final UserService userService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ProfileVersionRegistry profileVersionRegistry;
+
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    /**
+     * Builds the signing algorithm and the JWT verifier once, so they can be reused
+     * by every token creation and verification instead of being rebuilt on each call.
+     */
+    @PostConstruct
+    public void init() {
+        algorithm = HMAC512(SECRET.getBytes());
+        verifier = getJWTVerifier();
+    }
 
     /**
      * Creates an access token for the given user principal.
@@ -50,8 +77,9 @@ public class TokenProvider {
                 .withIssuedAt(Date.from(Instant.now()))
                 .withSubject(String.valueOf(userPrincipal.user().getId()))
                 .withArrayClaim(AUTHORITIES, getClaimsFromUser(userPrincipal))
+                .withClaim(USER_SNAPSHOT, getSnapshotClaimFromUser(userPrincipal))
                 .withExpiresAt(Date.from(Instant.now().plusMillis(ACCESS_TOKEN_EXPIRATION_TIME)))
-                .sign(Algorithm.HMAC512(SECRET.getBytes()));
+                .sign(algorithm);
     }
 
     /**
@@ -67,7 +95,27 @@ public class TokenProvider {
                 .withIssuedAt(Date.from(Instant.now()))
                 .withSubject(String.valueOf(userPrincipal.user().getId()))
                 .withExpiresAt(Date.from(Instant.now().plusMillis(REFRESH_TOKEN_EXPIRATION_TIME)))
-                .sign(HMAC512(SECRET.getBytes()));
+                .sign(algorithm);
+    }
+
+    /**
+     * Retrieves authentication details for an already verified token. In CLAIMS principal mode the
+     * principal is built from the user snapshot carried by the token, without any database access;
+     * otherwise (or for tokens issued without a snapshot) the user is loaded from the database.
+     *
+     * @param verifiedToken The verification result of the token.
+     * @param request       The HTTP servlet request.
+     * @return An authentication object for the user.
+     */
+    public Authentication getAuthentication(VerifiedToken verifiedToken, HttpServletRequest request) {
+        if (principalMode == PrincipalMode.CLAIMS && verifiedToken.snapshot() != null) {
+            UsernamePasswordAuthenticationToken userPasswordAuthToken = new UsernamePasswordAuthenticationToken(
+                    UserDTOMapper.fromSnapshot(verifiedToken.snapshot()), null, verifiedToken.authorities());
+            userPasswordAuthToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            return userPasswordAuthToken;
+        }
+
+        return getAuthentication(verifiedToken.subject(), verifiedToken.authorities(), request);
     }
 
     /**
@@ -84,6 +132,44 @@ public class TokenProvider {
         return userPasswordAuthToken;
     }
 
+    /**
+     * Verifies the provided JWT token exactly once and returns its subject, authorities and expiration.
+     * Results are kept in a bounded, expiry-aware cache, so repeated requests carrying the same
+     * bearer token skip the HMAC verification and claims decoding altogether.
+     *
+     * @param token   The JWT token to be verified.
+     * @param request The HTTP servlet request (may be null).
+     * @return The verification result for the token.
+     * @throws TokenExpiredException If the token has expired.
+     * @throws InvalidClaimException If the token has invalid claims.
+     */
+    public VerifiedToken verifyToken(String token, HttpServletRequest request) {
+        VerifiedToken cachedToken = verifiedTokenCache.get(token);
+        if (cachedToken != null) {
+            return cachedToken;
+        }
+
+        try {
+            DecodedJWT decodedToken = verifier.verify(token);
+            VerifiedToken verifiedToken = new VerifiedToken(
+                    Long.valueOf(decodedToken.getSubject()),
+                    getAuthoritiesFromToken(decodedToken),
+                    decodedToken.getExpiresAt().toInstant(),
+                    getSnapshotFromToken(decodedToken),
+                    !decodedToken.getClaim(AUTHORITIES).isMissing()
+            );
+            verifiedTokenCache.put(token, verifiedToken);
+            return verifiedToken;
+
+        } catch (TokenExpiredException exception) {
+            if (request != null) request.setAttribute("expiredMessage", exception.getMessage());
+            throw exception;
+        } catch (InvalidClaimException exception) {
+            if (request != null) request.setAttribute("invalidClaim", exception.getMessage());
+            throw exception;
+        }
+    }
+
     /**
      * Checks if the provided token is valid for the given user ID.
      *
@@ -92,8 +178,31 @@ public class TokenProvider {
      * @return True if the token is valid, false otherwise.
      */
     public boolean isTokenValid(Long userId, String token) {
-        JWTVerifier verifier = getJWTVerifier();
-        return !Objects.isNull(userId) && !isTokenExpired(verifier, token);
+        return !Objects.isNull(userId) && isTokenValid(verifyToken(token, null));
+    }
+
+    /**
+     * Checks if an already verified token is still valid. In CLAIMS principal mode, a token whose
+     * user snapshot is older than the current profile version of the user is no longer valid.
+     *
+     * @param verifiedToken The verification result of the token.
+     * @return True if the token is valid, false otherwise.
+     */
+    public boolean isTokenValid(VerifiedToken verifiedToken) {
+        return !Objects.isNull(verifiedToken.subject()) &&
+                !verifiedToken.isExpired(Instant.now()) &&
+                isSnapshotCurrent(verifiedToken.snapshot());
+    }
+
+    /**
+     * Checks if an already verified token is still valid and can authenticate requests. Refresh tokens
+     * carry no authorities claim and are rejected, so they can only be used to obtain new access tokens.
+     *
+     * @param verifiedToken The verification result of the token.
+     * @return True if the token is a valid access token, false otherwise.
+     */
+    public boolean isAccessTokenValid(VerifiedToken verifiedToken) {
+        return verifiedToken.accessToken() && isTokenValid(verifiedToken);
     }
 
     /**
@@ -106,34 +215,58 @@ public class TokenProvider {
      * @throws InvalidClaimException If the token has invalid claims.
      */
     public Long getSubject(String token, HttpServletRequest request) {
-        try {
-            return Long.valueOf(getJWTVerifier().verify(token).getSubject());
-        } catch (TokenExpiredException exception) {
-            request.setAttribute("expiredMessage", exception.getMessage());
-            throw exception;
-        } catch (InvalidClaimException exception) {
-            request.setAttribute("invalidClaim", exception.getMessage());
-            throw exception;
-        } catch (Exception exception) {
-            throw exception;
-        }
+        return verifyToken(token, request).subject();
     }
 
     /* Retrieves the authorities from the provided JWT token. */
     public List<GrantedAuthority> getAuthorities(String token) {
-        return stream(getClaimsFromToken(token)).map(SimpleGrantedAuthority::new).collect(toList());
+        return verifyToken(token, null).authorities();
+    }
+
+    /* Retrieves the authorities from an already decoded JWT token (refresh tokens carry none). */
+    private List<GrantedAuthority> getAuthoritiesFromToken(DecodedJWT decodedToken) {
+        String[] claims = decodedToken.getClaim(AUTHORITIES).asArray(String.class);
+        if (claims == null) {
+            return emptyList();
+        }
+        return stream(claims).map(SimpleGrantedAuthority::new).collect(toUnmodifiableList());
     }
 
-    /* Checks if the provided token has expired. */
-    private boolean isTokenExpired(JWTVerifier verifier, String token) {
-        Date expiration = verifier.verify(token).getExpiresAt();
-        return expiration.before(new Date());
+    /* Checks the snapshot version against the current profile version (only relevant in CLAIMS mode). */
+    private boolean isSnapshotCurrent(UserSnapshot snapshot) {
+        return principalMode != PrincipalMode.CLAIMS ||
+                snapshot == null ||
+                profileVersionRegistry.isCurrent(snapshot.id(), snapshot.version());
     }
 
-    /* Retrieves the claims from the provided JWT token. */
-    private String[] getClaimsFromToken(String token) {
-        JWTVerifier verifier = getJWTVerifier();
-        return verifier.verify(token).getClaim(AUTHORITIES).asArray(String.class);
+    /* Retrieves the user snapshot from an already decoded JWT token, if the token carries one. */
+    private UserSnapshot getSnapshotFromToken(DecodedJWT decodedToken) {
+        Map<String, Object> claim = decodedToken.getClaim(USER_SNAPSHOT).asMap();
+        if (claim == null) {
+            return null;
+        }
+
+        return new UserSnapshot(
+                Long.valueOf(decodedToken.getSubject()),
+                (String) claim.get("email"),
+                (String) claim.get("county"),
+                (String) claim.get("city"),
+                (String) claim.get("role"),
+                (String) claim.get("permissions"),
+                ((Number) claim.getOrDefault("ver", 0)).longValue()
+        );
+    }
+
+    /* Builds the compact user snapshot claim for a user principal. */
+    private Map<String, Object> getSnapshotClaimFromUser(UserPrincipal userPrincipal) {
+        Map<String, Object> claim = new LinkedHashMap<>();
+        claim.put("email", userPrincipal.user().getEmail());
+        claim.put("county", userPrincipal.user().getCounty());
+        claim.put("city", userPrincipal.user().getCity());
+        claim.put("role", userPrincipal.role().getName());
+        claim.put("permissions", userPrincipal.role().getPermission());
+        claim.put("ver", userPrincipal.user().getProfileVersion());
+        return claim;
     }
 
     /* Retrieves the claims associated with a user principal. */
@@ -141,16 +274,12 @@ public class TokenProvider {
         return userPrincipal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toArray(String[]::new);
     }
 
-    /* Retrieves a JWT verifier instance with the specified algorithm and issuer. */
+    /* Builds a JWT verifier instance with the specified algorithm and issuer. */
     private JWTVerifier getJWTVerifier() {
-        JWTVerifier verifier;
         try {
-            Algorithm algorithm = HMAC512(SECRET);
-            verifier = JWT.require(algorithm).withIssuer(MSG_SYSTEMS_ROMANIA).build();
+            return JWT.require(algorithm).withIssuer(MSG_SYSTEMS_ROMANIA).build();
         } catch (JWTVerificationException exception) {
             throw new JWTVerificationException(TOKEN_CANNOT_BE_VERIFIED);
         }
-
-        return verifier;
     }
 }
\ No newline at end of file
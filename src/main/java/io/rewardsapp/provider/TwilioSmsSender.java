@@ -0,0 +1,59 @@
+package io.rewardsapp.provider;
+
+import com.twilio.exception.ApiException;
+import com.twilio.http.TwilioRestClient;
+import com.twilio.type.PhoneNumber;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.twilio.rest.api.v2010.account.Message.creator;
+
+/**
+ * SMS transport backed by Twilio. The REST client is built once and reused for every message.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mfa.sms.transport", havingValue = "twilio", matchIfMissing = true)
+public class TwilioSmsSender implements SmsSender {
+
+    private static final String COUNTRY_PREFIX = "+40";
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    @Value("${mfa.sms.from}")
+    private String fromNumber;
+
+    @Value("${mfa.sms.sid-key}")
+    private String sidKey;
+
+    @Value("${mfa.sms.token-key}")
+    private String tokenKey;
+
+    private TwilioRestClient client;
+
+    @PostConstruct
+    public void init() {
+        client = new TwilioRestClient.Builder(sidKey, tokenKey).build();
+    }
+
+    @Override
+    public void send(String to, String messageBody) {
+        try {
+            creator(new PhoneNumber(COUNTRY_PREFIX + to), new PhoneNumber(fromNumber), messageBody).create(client);
+
+        } catch (ApiException exception) {
+            if (isPermanentFailure(exception)) {
+                throw new IllegalArgumentException(exception.getMessage(), exception);
+            }
+            throw exception;
+        }
+    }
+
+    /* Client errors other than rate limiting will fail the same way on every attempt. */
+    private boolean isPermanentFailure(ApiException exception) {
+        Integer statusCode = exception.getStatusCode();
+        return statusCode != null && statusCode >= 400 && statusCode < 500 && statusCode != TOO_MANY_REQUESTS;
+    }
+}
@@ -0,0 +1,112 @@
+package io.rewardsapp.provider;
+
+import io.rewardsapp.domain.auth.VerifiedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.rewardsapp.constants.SecurityConstants.VERIFIED_TOKEN_CACHE_MAX_SIZE;
+
+/**
+ * Bounded, expiry-aware cache of already verified JWT tokens. Entries are keyed by the
+ * SHA-256 digest of the raw token so that the tokens themselves are never kept in memory,
+ * and an entry is never returned past the expiration time of the token it describes.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public VerifiedTokenCache() {
+        this(VERIFIED_TOKEN_CACHE_MAX_SIZE);
+    }
+
+    public VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Retrieves the verification result for the given token, if it is cached and still valid.
+     *
+     * @param token The raw JWT token.
+     * @return The cached verification result, or null if absent or expired.
+     */
+    public VerifiedToken get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+
+        String key = digest(token);
+        VerifiedToken verifiedToken = entries.get(key);
+
+        if (verifiedToken != null && verifiedToken.isExpired(Instant.now())) {
+            entries.remove(key, verifiedToken);
+            return null;
+        }
+
+        return verifiedToken;
+    }
+
+    /**
+     * Stores the verification result for the given token, evicting expired entries
+     * (and, if still needed, arbitrary ones) once the cache reaches its maximum size.
+     *
+     * @param token         The raw JWT token.
+     * @param verifiedToken The verification result to cache.
+     */
+    public void put(String token, VerifiedToken verifiedToken) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+
+        entries.put(digest(token), verifiedToken);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /* Removes expired entries first and then arbitrary ones until there is room for a new entry. */
+    private void evict() {
+        Instant now = Instant.now();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        log.debug("Verified token cache evicted down to {} entries", entries.size());
+    }
+
+    /* Computes the Base64 encoded SHA-256 digest of the provided token. */
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.rewardsapp.provider;
+
+import io.rewardsapp.repository.JdbcVoucherRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allocates unique voucher codes without checking the {@code vouchers} table. Every code comes from a number of the
+ * {@code voucher_code_seq} sequence, reserved in blocks so most codes need no database access at all. Each number
+ * goes through a keyed Feistel permutation of the 40-bit range and is written as 8 Crockford base32 characters.
+ * The permutation is a bijection, so distinct numbers always give distinct codes, while consecutive numbers give
+ * codes that cannot be guessed without the secret. The secret must therefore never change once codes were issued.
+ */
+@Component
+@RequiredArgsConstructor
+public class VoucherCodeAllocator {
+
+    public static final int VOUCHER_CODE_BLOCK_SIZE = 100;
+    public static final int VOUCHER_CODE_LENGTH = 8;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int HALF_BITS = VOUCHER_CODE_LENGTH * 5 / 2;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final long CODE_SPACE = 1L << (2 * HALF_BITS);
+    private static final int ROUNDS = 4;
+
+    @Value("${voucher.code-secret}")
+    private String SECRET;
+
+    private final JdbcVoucherRepository jdbcVoucherRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Long> reservedBlocks = new ArrayDeque<>();
+    private long next;
+    private long blockEnd;
+
+    private long[] roundKeys;
+
+    /**
+     * Derives the Feistel round keys from the configured secret.
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(SECRET.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            roundKeys = new long[ROUNDS];
+            for (int round = 0; round < ROUNDS; round++) {
+                roundKeys[round] = buffer.getLong();
+            }
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    public String nextCode() {
+        return nextCodes(1).get(0);
+    }
+
+    /**
+     * Allocates several voucher codes, reserving all the missing sequence blocks with a single query.
+     *
+     * @param count The number of codes to allocate.
+     * @return The allocated codes.
+     */
+    public List<String> nextCodes(int count) {
+        List<String> codes = new ArrayList<>(count);
+
+        lock.lock();
+        try {
+            long available = blockEnd - next + (long) reservedBlocks.size() * VOUCHER_CODE_BLOCK_SIZE;
+            if (available < count) {
+                int missingBlocks = (int) ((count - available + VOUCHER_CODE_BLOCK_SIZE - 1) / VOUCHER_CODE_BLOCK_SIZE);
+                reservedBlocks.addAll(jdbcVoucherRepository.reserveCodeBlocks(missingBlocks));
+            }
+
+            while (codes.size() < count) {
+                if (next == blockEnd) {
+                    next = reservedBlocks.removeFirst();
+                    blockEnd = next + VOUCHER_CODE_BLOCK_SIZE;
+                }
+                codes.add(encode(permute(next++)));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return codes;
+    }
+
+    /* Balanced Feistel network over the 40-bit code space, a bijection for any choice of round keys. */
+    private long permute(long number) {
+        if (number < 0 || number >= CODE_SPACE) {
+            throw new IllegalStateException("Voucher code sequence exhausted: " + number);
+        }
+
+        long left = number >>> HALF_BITS;
+        long right = number & HALF_MASK;
+        for (long roundKey : roundKeys) {
+            long mixed = left ^ (round(right, roundKey) & HALF_MASK);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    /* SplitMix64 finalizer over the half block and the round key. */
+    private static long round(long half, long roundKey) {
+        long value = half * 0x9E3779B97F4A7C15L ^ roundKey;
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static String encode(long value) {
+        char[] code = new char[VOUCHER_CODE_LENGTH];
+        for (int i = VOUCHER_CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(code);
+    }
+}
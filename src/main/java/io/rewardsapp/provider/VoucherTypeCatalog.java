@@ -0,0 +1,119 @@
+package io.rewardsapp.provider;
+
+import io.rewardsapp.domain.vouchers.VoucherType;
+import io.rewardsapp.repository.VoucherTypeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Immutable in-memory index of the voucher types, ordered by threshold points. Thresholds are kept in a sorted
+ * primitive array next to the matching voucher types, so finding the vouchers earned by a reward points change
+ * and the next threshold above a balance are binary searches instead of {@code voucher_types} queries. The index
+ * is rebuilt from the database and swapped in a single write, so readers always see a consistent snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VoucherTypeCatalog {
+
+    public static final long VOUCHER_TYPES_REFRESH_INTERVAL = 300_000;
+
+    private final VoucherTypeRepository voucherTypeRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Rebuilds the index from the database. Called on startup and periodically. The application never writes
+     * voucher types, so a change made to the {@code voucher_types} table is seen up to
+     * {@link #VOUCHER_TYPES_REFRESH_INTERVAL} milliseconds later.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelay = VOUCHER_TYPES_REFRESH_INTERVAL, initialDelay = VOUCHER_TYPES_REFRESH_INTERVAL)
+    public void refresh() {
+        snapshot = Snapshot.of(voucherTypeRepository.findAll());
+        log.debug("Voucher type catalog rebuilt with {} voucher types", snapshot.voucherTypes.size());
+    }
+
+    /**
+     * Retrieves the voucher types whose threshold is crossed when a balance grows from {@code pointsBefore}
+     * to {@code pointsAfter}, that is every type with {@code pointsBefore < threshold <= pointsAfter}.
+     *
+     * @param pointsBefore The reward points balance before the change.
+     * @param pointsAfter  The reward points balance after the change.
+     * @return The crossed voucher types, ordered by threshold, or an empty list if none was crossed.
+     */
+    public List<VoucherType> findCrossed(long pointsBefore, long pointsAfter) {
+        Snapshot current = snapshot;
+        if (pointsAfter <= pointsBefore) {
+            return List.of();
+        }
+
+        int from = current.firstAbove(pointsBefore);
+        int to = current.firstAbove(pointsAfter);
+        return current.voucherTypes.subList(from, to);
+    }
+
+    /**
+     * Retrieves the lowest threshold strictly above the given reward points balance.
+     *
+     * @param points The reward points balance.
+     * @return The next threshold, or empty if the balance already reached every threshold.
+     */
+    public OptionalLong findNextThreshold(long points) {
+        Snapshot current = snapshot;
+        int index = current.firstAbove(points);
+        return index < current.thresholds.length ? OptionalLong.of(current.thresholds[index]) : OptionalLong.empty();
+    }
+
+    public List<VoucherType> getVoucherTypes() {
+        return snapshot.voucherTypes;
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new int[0], List.of());
+
+        private final int[] thresholds;
+        private final List<VoucherType> voucherTypes;
+
+        private Snapshot(int[] thresholds, List<VoucherType> voucherTypes) {
+            this.thresholds = thresholds;
+            this.voucherTypes = voucherTypes;
+        }
+
+        /* Builds a snapshot from detached copies of the voucher types, sorted by threshold. */
+        private static Snapshot of(List<VoucherType> voucherTypes) {
+            List<VoucherType> copies = voucherTypes.stream()
+                    .map(type -> new VoucherType(type.getVoucherTypeId(), type.getName(), type.getThresholdPoints()))
+                    .sorted(Comparator.comparingInt(VoucherType::getThresholdPoints)
+                            .thenComparing(VoucherType::getVoucherTypeId))
+                    .toList();
+
+            int[] thresholds = copies.stream().mapToInt(VoucherType::getThresholdPoints).toArray();
+            return new Snapshot(thresholds, copies);
+        }
+
+        /* Binary search for the index of the first threshold strictly greater than the given points. */
+        private int firstAbove(long points) {
+            int low = 0;
+            int high = thresholds.length;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (thresholds[middle] > points) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL statements related to the monthly partitions of the recycling activities table.
+ * Partition names are formatted into the DDL statements, since identifiers cannot be bound as parameters;
+ * they are always built from a year and month, never from user input.
+ */
+public class ActivityPartitionQuery {
+
+    public static final String SELECT_ACTIVITY_PARTITIONS_QUERY = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = CAST('user_recycling_activities' AS regclass)";
+    public static final String CREATE_ACTIVITY_PARTITION_QUERY = "CREATE TABLE IF NOT EXISTS %s PARTITION OF user_recycling_activities FOR VALUES FROM ('%s') TO ('%s')";
+
+    // a month partition cannot be created while the default partition holds rows of that month, so the default
+    // partition is detached, the new partition created, the rows moved into it and the default partition attached back
+    public static final String DEFAULT_PARTITION_HAS_ROWS_QUERY = "SELECT EXISTS (SELECT 1 FROM user_recycling_activities_default WHERE created_at >= :from AND created_at < :to)";
+    public static final String DETACH_DEFAULT_PARTITION_QUERY = "ALTER TABLE user_recycling_activities DETACH PARTITION user_recycling_activities_default";
+    public static final String MOVE_DEFAULT_PARTITION_ROWS_QUERY = "WITH moved AS (DELETE FROM user_recycling_activities_default WHERE created_at >= :from AND created_at < :to RETURNING *) INSERT INTO user_recycling_activities SELECT * FROM moved";
+    public static final String ATTACH_DEFAULT_PARTITION_QUERY = "ALTER TABLE user_recycling_activities ATTACH PARTITION user_recycling_activities_default DEFAULT";
+
+    public static final String DETACH_ACTIVITY_PARTITION_QUERY = "ALTER TABLE user_recycling_activities DETACH PARTITION %s";
+    public static final String COPY_ACTIVITY_PARTITION_QUERY = "COPY %s TO STDOUT WITH (FORMAT csv, HEADER)";
+    public static final String DROP_ACTIVITY_PARTITION_QUERY = "DROP TABLE %s";
+}
@@ -0,0 +1,15 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to the email outbox.
+ */
+public class EmailOutboxQuery {
+
+    public static final String INSERT_EMAIL_QUERY = "INSERT INTO email_outbox (recipient, subject, template, variables, priority) VALUES (:recipient, :subject, :template, :variables, :priority)";
+    public static final String CLAIM_PENDING_EMAILS_QUERY = "UPDATE email_outbox SET status = 'SENDING', claimed_at = NOW() WHERE id IN (SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= NOW() ORDER BY priority, next_attempt_at LIMIT :batchSize FOR UPDATE SKIP LOCKED) RETURNING *";
+    public static final String MARK_EMAILS_SENT_QUERY = "UPDATE email_outbox SET status = 'SENT', attempts = attempts + 1, sent_at = NOW(), last_error = NULL WHERE id IN (:ids)";
+    public static final String RESCHEDULE_EMAIL_QUERY = "UPDATE email_outbox SET status = :status, attempts = attempts + 1, next_attempt_at = :nextAttemptAt, last_error = :lastError WHERE id = :id";
+    public static final String RELEASE_STALE_EMAILS_QUERY = "UPDATE email_outbox SET status = 'PENDING' WHERE status = 'SENDING' AND claimed_at < :claimedBefore";
+    public static final String DELETE_SENT_EMAILS_QUERY = "DELETE FROM email_outbox WHERE status = 'SENT' AND sent_at < :sentBefore";
+    public static final String COUNT_EMAILS_BY_STATUS_QUERY = "SELECT status, COUNT(*) AS total FROM email_outbox GROUP BY status";
+}
@@ -0,0 +1,13 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to the idempotency keys of write requests.
+ */
+public class IdempotencyQuery {
+
+    // a concurrent insert of the same key waits for the first transaction, and then inserts nothing once it commits
+    public static final String INSERT_IDEMPOTENCY_KEY_QUERY = "INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash) VALUES (:userId, :idempotencyKey, :requestHash) ON CONFLICT (user_id, idempotency_key) DO NOTHING";
+    public static final String UPDATE_IDEMPOTENCY_RESPONSE_QUERY = "UPDATE idempotency_keys SET status_code = :statusCode, response = :response WHERE user_id = :userId AND idempotency_key = :idempotencyKey";
+    public static final String SELECT_IDEMPOTENCY_KEY_QUERY = "SELECT request_hash, status_code, response FROM idempotency_keys WHERE user_id = :userId AND idempotency_key = :idempotencyKey";
+    public static final String DELETE_EXPIRED_IDEMPOTENCY_KEYS_QUERY = "DELETE FROM idempotency_keys WHERE created_at < :createdBefore";
+}
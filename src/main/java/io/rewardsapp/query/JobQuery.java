@@ -0,0 +1,19 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to the coordination of scheduled jobs across application instances.
+ */
+public class JobQuery {
+
+    public static final String INSERT_JOB_RUN_QUERY = "INSERT INTO job_runs (job_name, run_key, owner) VALUES (:jobName, :runKey, :owner) ON CONFLICT (job_name, run_key) DO NOTHING";
+    public static final String INSERT_JOB_PARTITION_QUERY = "INSERT INTO job_partitions (job_name, run_key, partition_no, range_start, range_end, last_key) VALUES (:jobName, :runKey, :partitionNo, :rangeStart, :rangeEnd, :lastKey) ON CONFLICT (job_name, run_key, partition_no) DO NOTHING";
+    public static final String CLAIM_JOB_PARTITION_QUERY = "UPDATE job_partitions SET status = 'CLAIMED', owner = :owner, lease_until = :leaseUntil WHERE id = (SELECT id FROM job_partitions WHERE job_name IN (:jobNames) AND (status = 'PENDING' OR (status = 'CLAIMED' AND lease_until < NOW())) ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED) RETURNING *";
+    public static final String ADVANCE_JOB_PARTITION_QUERY = "UPDATE job_partitions SET last_key = :lastKey, lease_until = :leaseUntil WHERE id = :id AND owner = :owner AND status = 'CLAIMED' AND last_key = :afterKey";
+    public static final String COMPLETE_JOB_PARTITION_QUERY = "UPDATE job_partitions SET status = 'DONE', lease_until = NULL WHERE id = :id AND owner = :owner AND status = 'CLAIMED'";
+    // takes the single partition of a lease run if it is free, expired or already held by the owner, which renews it
+    public static final String ACQUIRE_JOB_LEASE_QUERY = "UPDATE job_partitions SET status = 'CLAIMED', owner = :owner, lease_until = :leaseUntil WHERE job_name = :jobName AND run_key = :runKey AND partition_no = 0 AND (owner = :owner OR status = 'PENDING' OR lease_until < NOW())";
+    public static final String RELEASE_JOB_LEASE_QUERY = "UPDATE job_partitions SET status = 'PENDING', owner = NULL, lease_until = NULL WHERE job_name = :jobName AND run_key = :runKey AND partition_no = 0 AND owner = :owner";
+    public static final String SELECT_RUNNING_JOB_RUNS_QUERY = "SELECT run_key FROM job_runs WHERE job_name = :jobName AND status = 'RUNNING' ORDER BY started_at";
+    public static final String SELECT_JOB_RUN_COMPLETED_QUERY = "SELECT EXISTS (SELECT 1 FROM job_runs WHERE job_name = :jobName AND run_key = :runKey AND status = 'COMPLETED')";
+    public static final String COMPLETE_JOB_RUN_QUERY = "UPDATE job_runs SET status = 'COMPLETED', completed_at = NOW() WHERE job_name = :jobName AND run_key = :runKey AND status = 'RUNNING' AND NOT EXISTS (SELECT 1 FROM job_partitions WHERE job_name = :jobName AND run_key = :runKey AND status <> 'DONE')";
+}
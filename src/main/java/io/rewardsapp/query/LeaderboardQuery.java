@@ -0,0 +1,17 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to the leaderboard.
+ */
+public class LeaderboardQuery {
+
+    // only the users holding the plain user role are ranked, users without a balance row rank with 0 points
+    public static final String SELECT_LEADERBOARD_MEMBERS_QUERY =
+            "SELECT u.user_id, u.county, COALESCE(rp.total_points, 0) AS points FROM users u " +
+            "JOIN user_roles ur ON ur.user_id = u.user_id JOIN roles r ON r.role_id = ur.role_id " +
+            "LEFT JOIN reward_points rp ON rp.user_id = u.user_id WHERE r.name = 'ROLE_USER'";
+
+    public static final String SELECT_LEADERBOARD_MEMBER_QUERY = SELECT_LEADERBOARD_MEMBERS_QUERY + " AND u.user_id = :userId";
+
+    public static final String SELECT_LEADERBOARD_PROFILES_QUERY = "SELECT user_id, first_name, last_name, email, county, city, image_url FROM users WHERE user_id IN (:userIds)";
+}
@@ -0,0 +1,20 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to the points ledger and the balances projected from it.
+ */
+public class PointsLedgerQuery {
+
+    public static final String INSERT_LEDGER_ENTRY_QUERY = "INSERT INTO points_ledger (user_id, entry_type, points, reference_id, created_at) VALUES (:userId, :entryType, :points, :referenceId, :createdAt)";
+    public static final String SELECT_LEDGER_USER_RANGE_QUERY = "SELECT LEAST((SELECT MIN(user_id) FROM points_ledger), (SELECT MIN(user_id) FROM reward_points)) AS range_start, GREATEST((SELECT MAX(user_id) FROM points_ledger), (SELECT MAX(user_id) FROM reward_points)) AS range_end";
+
+    // replaying a range takes three statements in one transaction: the balance rows are created and locked first,
+    // so the sums are read by a later statement that sees every entry committed before the locks were granted,
+    // while writers still holding an uncommitted entry wait for the lock and apply their change on top of the sum
+    public static final String INSERT_MISSING_BALANCES_QUERY = "INSERT INTO reward_points (user_id, total_points, last_updated) SELECT DISTINCT user_id, 0, NOW() FROM points_ledger WHERE user_id BETWEEN :fromUserId AND :toUserId ON CONFLICT (user_id) DO NOTHING";
+    public static final String LOCK_BALANCES_QUERY = "SELECT user_id FROM reward_points WHERE user_id BETWEEN :fromUserId AND :toUserId ORDER BY user_id FOR UPDATE";
+    // the opening entry of a balance is the part of it not explained by the ledger, so a balance already matching
+    // its entries gets none and running the backfill again inserts nothing
+    public static final String INSERT_OPENING_ENTRIES_QUERY = "INSERT INTO points_ledger (user_id, entry_type, points, created_at) SELECT b.user_id, 'ADJUSTMENT', COALESCE(b.total_points, 0) - COALESCE(SUM(l.points), 0), NOW() FROM reward_points b LEFT JOIN points_ledger l ON l.user_id = b.user_id WHERE b.user_id BETWEEN :fromUserId AND :toUserId GROUP BY b.user_id, b.total_points HAVING COALESCE(b.total_points, 0) <> COALESCE(SUM(l.points), 0) ORDER BY b.user_id";
+    public static final String REPLAY_BALANCES_QUERY = "UPDATE reward_points rp SET total_points = ledger.points, last_updated = NOW() FROM (SELECT b.user_id, COALESCE(SUM(l.points), 0) AS points FROM reward_points b LEFT JOIN points_ledger l ON l.user_id = b.user_id WHERE b.user_id BETWEEN :fromUserId AND :toUserId GROUP BY b.user_id) ledger WHERE rp.user_id = ledger.user_id AND rp.total_points IS DISTINCT FROM ledger.points";
+}
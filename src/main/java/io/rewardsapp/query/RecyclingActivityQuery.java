@@ -0,0 +1,23 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to recycling activities.
+ */
+public class RecyclingActivityQuery {
+
+    public static final String INSERT_ACTIVITY_QUERY = "INSERT INTO user_recycling_activities (user_id, center_id, material_id, amount, created_at) VALUES (:userId, :centerId, :materialId, :amount, :createdAt)";
+    public static final String SELECT_EXISTING_USER_IDS_QUERY = "SELECT user_id FROM users WHERE user_id IN (:ids)";
+    public static final String SELECT_EXISTING_CENTER_IDS_QUERY = "SELECT center_id FROM recycling_centers WHERE center_id IN (:ids)";
+
+    // keyset pagination over the (user_id, created_at, activity_id) index, newest first; the cursor query
+    // continues strictly after the last row of the previous page, so pages never skip or repeat activities
+    private static final String SELECT_ACTIVITY_HISTORY =
+            "SELECT a.activity_id, a.center_id, c.name AS center_name, a.material_id, m.name AS material_name, a.amount, a.created_at " +
+            "FROM user_recycling_activities a LEFT JOIN recycling_centers c ON c.center_id = a.center_id LEFT JOIN materials m ON m.material_id = a.material_id " +
+            "WHERE a.user_id = :userId AND (CAST(:centerId AS BIGINT) IS NULL OR a.center_id = :centerId) ";
+
+    public static final String SELECT_ACTIVITY_HISTORY_QUERY = SELECT_ACTIVITY_HISTORY +
+            "ORDER BY a.created_at DESC, a.activity_id DESC LIMIT :limit";
+    public static final String SELECT_ACTIVITY_HISTORY_AFTER_CURSOR_QUERY = SELECT_ACTIVITY_HISTORY +
+            "AND (a.created_at, a.activity_id) < (:cursorCreatedAt, :cursorActivityId) ORDER BY a.created_at DESC, a.activity_id DESC LIMIT :limit";
+}
@@ -0,0 +1,19 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to the reward points balances.
+ */
+public class RewardPointsQuery {
+
+    // the ledger entry and the balance increment are a single statement, so they always commit together;
+    // the balance is incremented under the row lock of the upsert, so the returned before and after values are exact
+    public static final String ADD_REWARD_POINTS_QUERY =
+            "WITH entry AS (INSERT INTO points_ledger (user_id, entry_type, points) VALUES (:userId, 'ACTIVITY_CREDIT', :points)) " +
+            "INSERT INTO reward_points (user_id, total_points, last_updated) VALUES (:userId, :points, NOW()) ON CONFLICT (user_id) DO UPDATE SET total_points = reward_points.total_points + EXCLUDED.total_points, last_updated = EXCLUDED.last_updated RETURNING total_points - :points AS points_before, total_points AS points_after";
+    // the rows are expanded from a list of (user_id, points, last_updated) tuples sorted by user ID, so concurrent batches lock rows in the same order;
+    // one ledger entry per user is appended by the same statement
+    public static final String ADD_REWARD_POINTS_BATCH_QUERY =
+            "WITH delta (user_id, points, last_updated) AS (VALUES :rows), " +
+            "entries AS (INSERT INTO points_ledger (user_id, entry_type, points, created_at) SELECT user_id, 'ACTIVITY_CREDIT', points, last_updated FROM delta) " +
+            "INSERT INTO reward_points (user_id, total_points, last_updated) SELECT user_id, points, last_updated FROM delta ORDER BY user_id ON CONFLICT (user_id) DO UPDATE SET total_points = reward_points.total_points + EXCLUDED.total_points, last_updated = EXCLUDED.last_updated RETURNING user_id, total_points";
+}
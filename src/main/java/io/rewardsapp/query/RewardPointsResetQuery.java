@@ -0,0 +1,30 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to the monthly reward points reset.
+ */
+public class RewardPointsResetQuery {
+
+    public static final String INSERT_REWARD_POINTS_SNAPSHOT_QUERY = "INSERT INTO reward_points_snapshots (period, user_id, points) SELECT :period, user_id, total_points FROM reward_points WHERE total_points > 0 ON CONFLICT (period, user_id) DO NOTHING";
+    public static final String SELECT_SNAPSHOT_USER_RANGE_QUERY = "SELECT MIN(user_id) AS range_start, MAX(user_id) AS range_end FROM reward_points_snapshots WHERE period = :period";
+
+    // resets the next chunk of the partition, appends the reset ledger entries and advances its checkpoint in the same statement, so all commit together;
+    // the partition row is locked first and must still be leased by the caller at the expected checkpoint; the balances of the chunk are locked in user order
+    // and the reset returns their old and new values, so the ledger records the change actually applied, clamped at 0, and the points removed are returned with the checkpoint
+    public static final String RESET_REWARD_POINTS_CHUNK_QUERY =
+            "WITH part AS (SELECT id FROM job_partitions WHERE id = :partitionId AND owner = :owner AND last_key = :afterUserId FOR UPDATE), " +
+            "chunk AS (SELECT user_id, points FROM reward_points_snapshots WHERE period = :period AND user_id > :afterUserId AND user_id <= :rangeEnd AND EXISTS (SELECT 1 FROM part) ORDER BY user_id LIMIT :chunkSize), " +
+            "balance AS (SELECT rp.user_id, COALESCE(rp.total_points, 0) AS total_points, chunk.points FROM reward_points rp JOIN chunk ON chunk.user_id = rp.user_id ORDER BY rp.user_id FOR UPDATE OF rp), " +
+            "reset AS (UPDATE reward_points rp SET total_points = GREATEST(balance.total_points - balance.points, 0), last_updated = NOW() FROM balance WHERE rp.user_id = balance.user_id " +
+            "RETURNING rp.user_id, balance.total_points AS old_points, rp.total_points AS new_points), " +
+            "entries AS (INSERT INTO points_ledger (user_id, entry_type, points, created_at) SELECT user_id, 'MONTHLY_RESET', new_points - old_points, NOW() FROM reset WHERE new_points <> old_points) " +
+            "UPDATE job_partitions SET last_key = (SELECT MAX(user_id) FROM chunk), lease_until = :leaseUntil WHERE id = :partitionId AND EXISTS (SELECT 1 FROM chunk) " +
+            "RETURNING last_key, (SELECT COALESCE(SUM(old_points - new_points), 0) FROM reset) AS points";
+
+    // marks the snapshots as notified and queues their emails in the same statement, so no user is notified twice
+    public static final String QUEUE_REWARD_POINTS_EMAILS_QUERY =
+            "WITH pending AS (UPDATE reward_points_snapshots SET notified = TRUE WHERE period = :period AND notified = FALSE RETURNING user_id, points) " +
+            "INSERT INTO email_outbox (recipient, subject, template, variables, priority) " +
+            "SELECT u.email, :subject, :template, json_build_object('name', u.first_name, 'points', p.points, 'month', CAST(:month AS TEXT))::TEXT, 3 " +
+            "FROM pending p JOIN users u ON u.user_id = p.user_id WHERE u.notif_enabled";
+}
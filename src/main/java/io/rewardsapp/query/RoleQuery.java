@@ -10,4 +10,5 @@ public class RoleQuery {
     public static final String SELECT_ROLE_BY_NAME_QUERY = "SELECT * FROM roles WHERE name = :name";
     public static final String SELECT_ROLE_BY_ID_QUERY = "SELECT r.role_id, r.name, r.permission FROM roles r JOIN user_roles ur ON ur.role_id = r.role_id JOIN users u ON u.user_id = ur.user_id WHERE u.user_id = :userId";
     public static final String UPDATE_USER_ROLE_QUERY = "UPDATE user_roles SET role_id = :roleId WHERE user_id = :userId";
+    public static final String INCREMENT_USER_PROFILE_VERSION_QUERY = "UPDATE users SET profile_version = profile_version + 1 WHERE user_id = :userId";
 }
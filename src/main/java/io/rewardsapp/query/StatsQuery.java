@@ -5,32 +5,38 @@ package io.rewardsapp.query;
  */
 public class StatsQuery {
 
+    // both statistics read the daily rollups grouped by material, so their cost depends on the number of days and materials
+    // instead of the number of activities, and new materials are returned without any change to the queries
     public static final String GET_USER_STATS_FOR_LAST_MONTH =
-            "SELECT " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'PAPER' THEN ura.amount END), 0) AS paperRecycled, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'PLASTIC' THEN ura.amount END), 0) AS plasticRecycled, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'GLASS' THEN ura.amount END), 0) AS glassRecycled, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'ALUMINUM' THEN ura.amount END), 0) AS aluminumRecycled, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'METALS' THEN ura.amount END), 0) AS metalsRecycled, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'ELECTRONICS' THEN ura.amount END), 0) AS electronicsRecycled " +
-                    "FROM user_recycling_activities ura " +
-                    "JOIN materials m ON ura.material_id = m.material_id " +
-                    "WHERE ura.user_id = :userId " +
-                    "AND ura.created_at BETWEEN :startDate AND :endDate";
+            "SELECT material_id, SUM(amount) AS amount " +
+                    "FROM user_material_daily_stats " +
+                    "WHERE user_id = :userId " +
+                    "AND day BETWEEN :startDate AND :endDate " +
+                    "GROUP BY material_id";
 
+    // the recyclers are counted in a single row joined to the materials, so a center without rollups still returns its count
     public static final String GET_CENTER_TOTAL_STATS =
-            "SELECT " +
-                    "COUNT(DISTINCT ura.user_id) AS recyclersNumber, " +
-                    "COUNT(ura.activity_id) AS activitiesNumber, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'PAPER' THEN ura.amount END), 0) AS paperRecycled, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'PLASTIC' THEN ura.amount END), 0) AS plasticRecycled, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'GLASS' THEN ura.amount END), 0) AS glassRecycled, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'ALUMINUM' THEN ura.amount END), 0) AS aluminumRecycled, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'METALS' THEN ura.amount END), 0) AS metalsRecycled, " +
-                    "COALESCE(SUM(CASE WHEN m.name = 'ELECTRONICS' THEN ura.amount END), 0) AS electronicsRecycled " +
-                    "FROM user_recycling_activities ura " +
-                    "LEFT JOIN materials m ON ura.material_id = m.material_id " +
-                    "WHERE ura.center_id = :centerId";
+            "SELECT r.recyclers, m.material_id, m.amount, m.activities " +
+                    "FROM (SELECT COUNT(*) AS recyclers FROM center_recyclers WHERE center_id = :centerId) r " +
+                    "LEFT JOIN (SELECT material_id, SUM(amount) AS amount, SUM(activities) AS activities " +
+                    "FROM center_material_daily_stats " +
+                    "WHERE center_id = :centerId " +
+                    "GROUP BY material_id) m ON TRUE";
+
+    // the series bucket the daily rollups with date_trunc, the bucket field being one of day, week or month
+    public static final String GET_USER_STATS_SERIES =
+            "SELECT CAST(date_trunc(:bucket, CAST(day AS TIMESTAMP)) AS DATE) AS bucket_start, material_id, SUM(amount) AS amount " +
+                    "FROM user_material_daily_stats " +
+                    "WHERE user_id = :userId " +
+                    "AND day BETWEEN :startDate AND :endDate " +
+                    "GROUP BY 1, 2";
+
+    public static final String GET_CENTER_STATS_SERIES =
+            "SELECT CAST(date_trunc(:bucket, CAST(day AS TIMESTAMP)) AS DATE) AS bucket_start, material_id, SUM(amount) AS amount " +
+                    "FROM center_material_daily_stats " +
+                    "WHERE center_id = :centerId " +
+                    "AND day BETWEEN :startDate AND :endDate " +
+                    "GROUP BY 1, 2";
 
     public static final String GET_APP_TOTAL_STATS =
             "SELECT COUNT(DISTINCT u.user_id) AS activeRecyclersNumber, " +
@@ -0,0 +1,39 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to the daily activity rollups used by the statistics.
+ */
+public class StatsRollupQuery {
+
+    // the rows are expanded from a list of (user_id, center_id, material_id, amount) tuples of activities made on :day;
+    // both rollups are upserted in key order, so concurrent contributions lock the rollup rows in the same order
+    public static final String ADD_ACTIVITIES_TO_ROLLUPS_QUERY =
+            "WITH activity (user_id, center_id, material_id, amount) AS (VALUES :rows), " +
+            "user_rollup AS (INSERT INTO user_material_daily_stats (user_id, day, material_id, amount, activities) SELECT user_id, CAST(:day AS DATE), material_id, SUM(amount), COUNT(*) FROM activity GROUP BY user_id, material_id ORDER BY user_id, material_id " +
+            "ON CONFLICT (user_id, day, material_id) DO UPDATE SET amount = user_material_daily_stats.amount + EXCLUDED.amount, activities = user_material_daily_stats.activities + EXCLUDED.activities), " +
+            "recyclers AS (INSERT INTO center_recyclers (center_id, user_id) SELECT DISTINCT center_id, user_id FROM activity ORDER BY center_id, user_id ON CONFLICT DO NOTHING) " +
+            "INSERT INTO center_material_daily_stats (center_id, day, material_id, amount, activities) SELECT center_id, CAST(:day AS DATE), material_id, SUM(amount), COUNT(*) FROM activity GROUP BY center_id, material_id ORDER BY center_id, material_id " +
+            "ON CONFLICT (center_id, day, material_id) DO UPDATE SET amount = center_material_daily_stats.amount + EXCLUDED.amount, activities = center_material_daily_stats.activities + EXCLUDED.activities";
+
+    public static final String SELECT_USER_RANGE_QUERY = "SELECT MIN(user_id) AS range_start, MAX(user_id) AS range_end FROM users";
+    public static final String SELECT_CENTER_RANGE_QUERY = "SELECT MIN(center_id) AS range_start, MAX(center_id) AS range_end FROM recycling_centers";
+
+    // rebuilding a range takes three statements in one transaction, like the ledger replay: the rollup rows of the
+    // range are created and locked first, so the sums read by the last statement include every activity committed
+    // before the locks were granted, while contributions still in progress wait and add their activity on top;
+    // rollup rows without activities are kept, since their activities may have been archived
+    public static final String INSERT_MISSING_USER_ROLLUPS_QUERY = "INSERT INTO user_material_daily_stats (user_id, day, material_id) SELECT DISTINCT user_id, CAST(created_at AS DATE), material_id FROM user_recycling_activities WHERE user_id BETWEEN :fromId AND :toId AND material_id IS NOT NULL ON CONFLICT DO NOTHING";
+    public static final String LOCK_USER_ROLLUPS_QUERY = "SELECT user_id FROM user_material_daily_stats WHERE user_id BETWEEN :fromId AND :toId ORDER BY user_id, day, material_id FOR UPDATE";
+    public static final String REBUILD_USER_ROLLUPS_QUERY =
+            "UPDATE user_material_daily_stats s SET amount = raw.amount, activities = raw.activities " +
+            "FROM (SELECT user_id, CAST(created_at AS DATE) AS day, material_id, SUM(amount) AS amount, COUNT(*) AS activities FROM user_recycling_activities WHERE user_id BETWEEN :fromId AND :toId AND material_id IS NOT NULL GROUP BY 1, 2, 3) raw " +
+            "WHERE s.user_id = raw.user_id AND s.day = raw.day AND s.material_id = raw.material_id AND (s.amount, s.activities) IS DISTINCT FROM (raw.amount, raw.activities)";
+
+    public static final String INSERT_MISSING_CENTER_RECYCLERS_QUERY = "INSERT INTO center_recyclers (center_id, user_id) SELECT DISTINCT center_id, user_id FROM user_recycling_activities WHERE center_id BETWEEN :fromId AND :toId AND user_id IS NOT NULL ON CONFLICT DO NOTHING";
+    public static final String INSERT_MISSING_CENTER_ROLLUPS_QUERY = "INSERT INTO center_material_daily_stats (center_id, day, material_id) SELECT DISTINCT center_id, CAST(created_at AS DATE), material_id FROM user_recycling_activities WHERE center_id BETWEEN :fromId AND :toId AND material_id IS NOT NULL ON CONFLICT DO NOTHING";
+    public static final String LOCK_CENTER_ROLLUPS_QUERY = "SELECT center_id FROM center_material_daily_stats WHERE center_id BETWEEN :fromId AND :toId ORDER BY center_id, day, material_id FOR UPDATE";
+    public static final String REBUILD_CENTER_ROLLUPS_QUERY =
+            "UPDATE center_material_daily_stats s SET amount = raw.amount, activities = raw.activities " +
+            "FROM (SELECT center_id, CAST(created_at AS DATE) AS day, material_id, SUM(amount) AS amount, COUNT(*) AS activities FROM user_recycling_activities WHERE center_id BETWEEN :fromId AND :toId AND material_id IS NOT NULL GROUP BY 1, 2, 3) raw " +
+            "WHERE s.center_id = raw.center_id AND s.day = raw.day AND s.material_id = raw.material_id AND (s.amount, s.activities) IS DISTINCT FROM (raw.amount, raw.activities)";
+}
@@ -0,0 +1,21 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to MFA codes and password reset links.
+ */
+public class VerificationQuery {
+
+    // skips the insert when the code is held by another user, so the caller can issue a different one
+    public static final String UPSERT_TFA_VERIFICATION_QUERY = "INSERT INTO tfa_verifications (user_id, code, expiration_date) SELECT :userId, :token, :expirationDate WHERE NOT EXISTS (SELECT 1 FROM tfa_verifications WHERE code = :token AND user_id <> :userId) ON CONFLICT (user_id) DO UPDATE SET code = EXCLUDED.code, expiration_date = EXCLUDED.expiration_date";
+    public static final String SELECT_TFA_VERIFICATION_QUERY = "SELECT user_id, code AS token, expiration_date FROM tfa_verifications WHERE code = :token";
+    public static final String DELETE_TFA_VERIFICATION_QUERY = "DELETE FROM tfa_verifications WHERE code = :token";
+    public static final String DELETE_TFA_VERIFICATION_BY_USER_ID_QUERY = "DELETE FROM tfa_verifications WHERE user_id = :userId";
+    public static final String PURGE_EXPIRED_TFA_VERIFICATIONS_QUERY = "DELETE FROM tfa_verifications WHERE id IN (SELECT id FROM tfa_verifications WHERE expiration_date < NOW() LIMIT :batchSize)";
+
+    // skips the insert when the link is held by another user, so the caller can issue a different one
+    public static final String UPSERT_PASSWORD_VERIFICATION_QUERY = "INSERT INTO reset_pass_verifications (user_id, url, expiration_date) SELECT :userId, :token, :expirationDate WHERE NOT EXISTS (SELECT 1 FROM reset_pass_verifications WHERE url = :token AND user_id <> :userId) ON CONFLICT (user_id) DO UPDATE SET url = EXCLUDED.url, expiration_date = EXCLUDED.expiration_date";
+    public static final String SELECT_PASSWORD_VERIFICATION_QUERY = "SELECT user_id, url AS token, expiration_date FROM reset_pass_verifications WHERE url = :token";
+    public static final String DELETE_PASSWORD_VERIFICATION_QUERY = "DELETE FROM reset_pass_verifications WHERE url = :token";
+    public static final String DELETE_PASSWORD_VERIFICATION_BY_USER_ID_QUERY = "DELETE FROM reset_pass_verifications WHERE user_id = :userId";
+    public static final String PURGE_EXPIRED_PASSWORD_VERIFICATIONS_QUERY = "DELETE FROM reset_pass_verifications WHERE id IN (SELECT id FROM reset_pass_verifications WHERE expiration_date < NOW() LIMIT :batchSize)";
+}
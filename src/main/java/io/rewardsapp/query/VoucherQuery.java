@@ -0,0 +1,10 @@
+package io.rewardsapp.query;
+
+/**
+ * Contains SQL queries related to vouchers.
+ */
+public class VoucherQuery {
+
+    // every nextval returns the first number of a block, since the sequence increments by the block size
+    public static final String RESERVE_VOUCHER_CODE_BLOCKS_QUERY = "SELECT nextval('voucher_code_seq') FROM generate_series(1, :blocks)";
+}
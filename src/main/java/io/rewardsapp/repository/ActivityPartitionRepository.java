@@ -0,0 +1,14 @@
+package io.rewardsapp.repository;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface ActivityPartitionRepository {
+
+    List<YearMonth> findPartitionMonths();
+
+    void createPartition(YearMonth month);
+
+    long archivePartition(YearMonth month, Path archiveFile);
+}
@@ -1,7 +1,14 @@
 package io.rewardsapp.repository;
 
+import io.rewardsapp.domain.recycling.MaterialAmounts;
 import io.rewardsapp.dto.CenterStatsDTO;
+import io.rewardsapp.enums.StatsBucket;
+
+import java.time.LocalDate;
+import java.util.Map;
 
 public interface CenterStatsRepository {
     CenterStatsDTO getCenterTotalStats(Long centerId);
+
+    Map<LocalDate, MaterialAmounts> getCenterStatsSeries(Long centerId, StatsBucket bucket, LocalDate startDate, LocalDate endDate);
 }
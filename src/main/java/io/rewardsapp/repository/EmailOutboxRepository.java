@@ -0,0 +1,28 @@
+package io.rewardsapp.repository;
+
+import io.rewardsapp.domain.notification.EmailOutboxMessage;
+import io.rewardsapp.enums.EmailStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface EmailOutboxRepository {
+
+    void save(EmailOutboxMessage message);
+
+    void saveAll(Collection<EmailOutboxMessage> messages);
+
+    List<EmailOutboxMessage> claimBatch(int batchSize);
+
+    void markSent(Collection<Long> ids);
+
+    void reschedule(Long id, EmailStatus status, LocalDateTime nextAttemptAt, String lastError);
+
+    int releaseStale(LocalDateTime claimedBefore);
+
+    int deleteSent(LocalDateTime sentBefore);
+
+    Map<EmailStatus, Long> countByStatus();
+}
@@ -0,0 +1,17 @@
+package io.rewardsapp.repository;
+
+import io.rewardsapp.domain.IdempotentResponse;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRepository {
+
+    boolean claim(Long userId, String idempotencyKey, String requestHash);
+
+    void saveResponse(Long userId, String idempotencyKey, int statusCode, String body);
+
+    Optional<IdempotentResponse> findResponse(Long userId, String idempotencyKey);
+
+    int deleteCreatedBefore(LocalDateTime createdBefore);
+}
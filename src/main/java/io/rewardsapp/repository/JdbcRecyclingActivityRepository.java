@@ -0,0 +1,20 @@
+package io.rewardsapp.repository;
+
+import io.rewardsapp.dto.ActivityHistoryDTO;
+import io.rewardsapp.form.CreateRecyclingActivityForm;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface JdbcRecyclingActivityRepository {
+
+    void saveAll(List<CreateRecyclingActivityForm> activities, LocalDateTime createdAt);
+
+    Set<Long> findExistingUserIds(Collection<Long> userIds);
+
+    Set<Long> findExistingCenterIds(Collection<Long> centerIds);
+
+    List<ActivityHistoryDTO> findHistory(Long userId, Long centerId, LocalDateTime cursorCreatedAt, Long cursorActivityId, int limit);
+}
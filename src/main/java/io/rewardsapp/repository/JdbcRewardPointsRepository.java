@@ -0,0 +1,13 @@
+package io.rewardsapp.repository;
+
+import io.rewardsapp.dto.RewardPointsChangeDTO;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+public interface JdbcRewardPointsRepository {
+
+    RewardPointsChangeDTO addRewardPoints(Long userId, long points);
+
+    Map<Long, RewardPointsChangeDTO> addRewardPoints(SortedMap<Long, Long> pointsByUserId);
+}
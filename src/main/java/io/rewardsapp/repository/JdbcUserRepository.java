@@ -1,6 +1,7 @@
 package io.rewardsapp.repository;
 
 import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.domain.scheduling.KeyRange;
 import io.rewardsapp.dto.UserDTO;
 import io.rewardsapp.form.UpdateUserDetailsForm;
 import org.springframework.web.multipart.MultipartFile;
@@ -8,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface JdbcUserRepository<T extends User> {
     T create(T date);
@@ -50,5 +52,9 @@ public interface JdbcUserRepository<T extends User> {
 
     void updateLastLogin(Long userId);
 
-    List<User> getInactiveUsers(LocalDateTime oneWeekAgo);
+    long getProfileVersion(Long userId);
+
+    List<User> getInactiveUsers(LocalDateTime oneWeekAgo, long fromUserId, long toUserId);
+
+    Optional<KeyRange> getUserIdRange();
 }
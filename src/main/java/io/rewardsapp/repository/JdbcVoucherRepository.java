@@ -0,0 +1,8 @@
+package io.rewardsapp.repository;
+
+import java.util.List;
+
+public interface JdbcVoucherRepository {
+
+    List<Long> reserveCodeBlocks(int blocks);
+}
@@ -0,0 +1,32 @@
+package io.rewardsapp.repository;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface JobRepository {
+
+    boolean createRun(String jobName, String runKey, String owner);
+
+    void createPartitions(String jobName, String runKey, List<KeyRange> ranges);
+
+    Optional<JobPartition> claimPartition(Collection<String> jobNames, String owner, LocalDateTime leaseUntil);
+
+    boolean advancePartition(Long partitionId, String owner, long afterKey, long lastKey, LocalDateTime leaseUntil);
+
+    boolean completePartition(Long partitionId, String owner);
+
+    boolean acquireLease(String jobName, String runKey, String owner, LocalDateTime leaseUntil);
+
+    void releaseLease(String jobName, String runKey, String owner);
+
+    List<String> findRunningRunKeys(String jobName);
+
+    boolean isRunCompleted(String jobName, String runKey);
+
+    boolean completeRun(String jobName, String runKey);
+}
@@ -0,0 +1,18 @@
+package io.rewardsapp.repository;
+
+import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.domain.recycling.LeaderboardMember;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface LeaderboardRepository {
+
+    List<LeaderboardMember> findMembers();
+
+    Optional<LeaderboardMember> findMember(long userId);
+
+    Map<Long, User> findProfiles(Collection<Long> userIds);
+}
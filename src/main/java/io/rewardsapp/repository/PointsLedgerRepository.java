@@ -0,0 +1,18 @@
+package io.rewardsapp.repository;
+
+import io.rewardsapp.domain.recycling.PointsLedgerEntry;
+import io.rewardsapp.domain.scheduling.KeyRange;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface PointsLedgerRepository {
+
+    void saveAll(Collection<PointsLedgerEntry> entries);
+
+    Optional<KeyRange> findUserRange();
+
+    int insertOpeningEntries(long fromUserId, long toUserId);
+
+    int replayBalances(long fromUserId, long toUserId);
+}
@@ -0,0 +1,20 @@
+package io.rewardsapp.repository;
+
+import io.rewardsapp.domain.recycling.RewardPointsResetChunk;
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RewardPointsResetRepository {
+
+    int snapshotBalances(LocalDate period);
+
+    Optional<KeyRange> findSnapshotUserRange(LocalDate period);
+
+    Optional<RewardPointsResetChunk> resetChunk(JobPartition partition, LocalDate period, long afterUserId, int chunkSize, LocalDateTime leaseUntil);
+
+    int queueNotifications(LocalDate period, String subject, String template, String month);
+}
@@ -0,0 +1,21 @@
+package io.rewardsapp.repository;
+
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.form.CreateRecyclingActivityForm;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface StatsRollupRepository {
+
+    void addActivities(List<CreateRecyclingActivityForm> activities, LocalDate day);
+
+    Optional<KeyRange> findUserRange();
+
+    Optional<KeyRange> findCenterRange();
+
+    int rebuildUserRollups(long fromUserId, long toUserId);
+
+    int rebuildCenterRollups(long fromCenterId, long toCenterId);
+}
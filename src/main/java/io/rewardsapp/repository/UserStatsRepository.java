@@ -1,9 +1,15 @@
 package io.rewardsapp.repository;
 
-import io.rewardsapp.dto.UserStatsDTO;
+import io.rewardsapp.domain.recycling.MaterialAmounts;
+import io.rewardsapp.enums.StatsBucket;
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDate;
+import java.util.Map;
+
 public interface UserStatsRepository {
     @Transactional
-    UserStatsDTO getUserStatsForLastMonth(Long userId);
+    MaterialAmounts getUserStatsForLastMonth(Long userId);
+
+    Map<LocalDate, MaterialAmounts> getUserStatsSeries(Long userId, StatsBucket bucket, LocalDate startDate, LocalDate endDate);
 }
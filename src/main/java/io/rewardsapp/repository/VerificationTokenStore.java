@@ -0,0 +1,39 @@
+package io.rewardsapp.repository;
+
+import io.rewardsapp.domain.auth.VerificationTokenEntry;
+import io.rewardsapp.enums.VerificationPurpose;
+
+import java.time.Instant;
+
+/**
+ * Store for short-lived verification tokens. Each user holds at most one token per purpose,
+ * and every lookup is a single keyed operation on the token itself.
+ */
+public interface VerificationTokenStore {
+
+    /**
+     * Stores a token for the user, replacing any token the user previously held for the same purpose. A token
+     * already held by another user is never overwritten, the caller has to issue a different one.
+     *
+     * @param purpose   The purpose of the token.
+     * @param userId    The ID of the user the token is issued for.
+     * @param token     The token value.
+     * @param expiresAt The moment the token expires.
+     * @return Whether the token was stored, false if another user holds the same token.
+     */
+    boolean save(VerificationPurpose purpose, Long userId, String token, Instant expiresAt);
+
+    /**
+     * Looks up a token. Expired tokens that were not swept yet are still returned so the caller can
+     * tell an expired token apart from an unknown one.
+     *
+     * @param purpose The purpose of the token.
+     * @param token   The token value.
+     * @return The stored entry, or null if the token is unknown.
+     */
+    VerificationTokenEntry find(VerificationPurpose purpose, String token);
+
+    void remove(VerificationPurpose purpose, String token);
+
+    void removeByUser(VerificationPurpose purpose, Long userId);
+}
@@ -0,0 +1,105 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.repository.ActivityPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import static io.rewardsapp.query.ActivityPartitionQuery.*;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the monthly partition management of {@code user_recycling_activities}. Every month has its
+ * own partition named after it (e.g. {@code user_recycling_activities_y2024m03}), and expired partitions are detached,
+ * exported as gzipped CSV and dropped. The statements must run in a transaction, so a failed step undoes the others.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActivityPartitionRepositoryImpl implements ActivityPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "user_recycling_activities_";
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "y(\\d{4})m(\\d{2})");
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * @return The months that have a partition, the default partition excluded.
+     */
+    @Override
+    public List<YearMonth> findPartitionMonths() {
+        return jdbc.queryForList(SELECT_ACTIVITY_PARTITIONS_QUERY, of(), String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Creates the partition of the month, moving the activities of that month out of the default partition if needed.
+     *
+     * @param month The month of the partition.
+     */
+    @Override
+    public void createPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String createPartition = String.format(CREATE_ACTIVITY_PARTITION_QUERY, partitionName(month), from, to);
+        Map<String, LocalDate> range = of("from", from, "to", to);
+
+        if (!Boolean.TRUE.equals(jdbc.queryForObject(DEFAULT_PARTITION_HAS_ROWS_QUERY, range, Boolean.class))) {
+            jdbc.getJdbcTemplate().execute(createPartition);
+            return;
+        }
+
+        jdbc.getJdbcTemplate().execute(DETACH_DEFAULT_PARTITION_QUERY);
+        jdbc.getJdbcTemplate().execute(createPartition);
+        jdbc.update(MOVE_DEFAULT_PARTITION_ROWS_QUERY, range);
+        jdbc.getJdbcTemplate().execute(ATTACH_DEFAULT_PARTITION_QUERY);
+    }
+
+    /**
+     * Detaches the partition of the month, copies its rows into a gzipped CSV file and drops it.
+     *
+     * @param month       The month of the partition.
+     * @param archiveFile The file to write the archive to.
+     * @return The number of archived activities.
+     */
+    @Override
+    public long archivePartition(YearMonth month, Path archiveFile) {
+        String partition = partitionName(month);
+        jdbc.getJdbcTemplate().execute(String.format(DETACH_ACTIVITY_PARTITION_QUERY, partition));
+
+        Long archived = jdbc.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(archiveFile))) {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyOut(String.format(COPY_ACTIVITY_PARTITION_QUERY, partition), output);
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Unable to write the archive " + archiveFile, exception);
+            }
+        });
+
+        jdbc.getJdbcTemplate().execute(String.format(DROP_ACTIVITY_PARTITION_QUERY, partition));
+        return Objects.requireNonNullElse(archived, 0L);
+    }
+
+    private String partitionName(YearMonth month) {
+        return String.format("%sy%04dm%02d", PARTITION_PREFIX, month.getYear(), month.getMonthValue());
+    }
+}
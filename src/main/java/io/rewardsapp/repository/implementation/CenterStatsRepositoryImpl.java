@@ -1,36 +1,85 @@
 package io.rewardsapp.repository.implementation;
 
+import io.rewardsapp.domain.recycling.MaterialAmounts;
 import io.rewardsapp.dto.CenterStatsDTO;
+import io.rewardsapp.enums.StatsBucket;
 import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.provider.MaterialsCatalog;
 import io.rewardsapp.repository.CenterStatsRepository;
-import io.rewardsapp.rowmapper.CenterStatsRowMapper;
 import lombok.AllArgsConstructor;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
+import static io.rewardsapp.query.StatsQuery.GET_CENTER_STATS_SERIES;
 import static io.rewardsapp.query.StatsQuery.GET_CENTER_TOTAL_STATS;
 
 @Repository
 @AllArgsConstructor
 public class CenterStatsRepositoryImpl implements CenterStatsRepository {
     private final NamedParameterJdbcTemplate jdbc;
+    private final MaterialsCatalog materialsCatalog;
 
     @Override
     public CenterStatsDTO getCenterTotalStats(Long centerId) {
         try {
-            SqlParameterSource parameters = buildParameters(centerId);
-            return jdbc.queryForObject(GET_CENTER_TOTAL_STATS, parameters, new CenterStatsRowMapper());
+            return jdbc.query(GET_CENTER_TOTAL_STATS, buildParameters(centerId), resultSet -> {
+                MaterialAmounts amounts = materialsCatalog.newAmounts();
+                long recyclers = 0;
+                long activities = 0;
+
+                while (resultSet.next()) {
+                    recyclers = resultSet.getLong("recyclers");
+                    long materialId = resultSet.getLong("material_id");
+                    if (!resultSet.wasNull()) {
+                        amounts.add(materialId, resultSet.getLong("amount"));
+                        activities += resultSet.getLong("activities");
+                    }
+                }
+
+                return CenterStatsDTO.builder()
+                        .recyclersNumber(recyclers)
+                        .activitiesNumber(activities)
+                        .materialsRecycled(materialsCatalog.toNamedAmounts(amounts))
+                        .build();
+            });
 
         } catch (Exception exception) {
             throw new ApiException("Error retrieving center total stats.");
         }
     }
 
+    /**
+     * Retrieves the amounts recycled at the center in the range, per bucket and material.
+     *
+     * @return The amounts of every bucket with activities, by the first day of the bucket.
+     */
+    @Override
+    public Map<LocalDate, MaterialAmounts> getCenterStatsSeries(Long centerId, StatsBucket bucket, LocalDate startDate, LocalDate endDate) {
+        try {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("centerId", centerId)
+                    .addValue("bucket", bucket.getField())
+                    .addValue("startDate", startDate)
+                    .addValue("endDate", endDate);
+
+            Map<LocalDate, MaterialAmounts> buckets = new HashMap<>();
+            jdbc.query(GET_CENTER_STATS_SERIES, parameters, resultSet -> {
+                buckets.computeIfAbsent(resultSet.getObject("bucket_start", LocalDate.class), start -> materialsCatalog.newAmounts())
+                        .add(resultSet.getLong("material_id"), resultSet.getLong("amount"));
+            });
+            return buckets;
+
+        } catch (Exception exception) {
+            throw new ApiException("Error retrieving center stats series.");
+        }
+    }
+
     private SqlParameterSource buildParameters(Long centerId) {
         Map<String, Object> parameterMap = new HashMap<>();
         parameterMap.put("centerId", centerId);
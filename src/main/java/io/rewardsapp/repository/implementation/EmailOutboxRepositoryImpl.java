@@ -0,0 +1,107 @@
+package io.rewardsapp.repository.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rewardsapp.domain.notification.EmailOutboxMessage;
+import io.rewardsapp.enums.EmailStatus;
+import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.repository.EmailOutboxRepository;
+import io.rewardsapp.rowmapper.EmailOutboxMessageRowMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.rewardsapp.query.EmailOutboxQuery.*;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the email outbox. Pending emails are claimed with {@code FOR UPDATE SKIP LOCKED},
+ * so several application instances can drain the same outbox without sending an email twice.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class EmailOutboxRepositoryImpl implements EmailOutboxRepository {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public void save(EmailOutboxMessage message) {
+        jdbc.update(INSERT_EMAIL_QUERY, getSqlParameterSource(message));
+    }
+
+    @Override
+    public void saveAll(Collection<EmailOutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate(INSERT_EMAIL_QUERY, messages.stream().map(this::getSqlParameterSource).toArray(SqlParameterSource[]::new));
+    }
+
+    @Override
+    public List<EmailOutboxMessage> claimBatch(int batchSize) {
+        return jdbc.query(CLAIM_PENDING_EMAILS_QUERY, of("batchSize", batchSize), new EmailOutboxMessageRowMapper());
+    }
+
+    @Override
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            jdbc.update(MARK_EMAILS_SENT_QUERY, of("ids", ids));
+        }
+    }
+
+    @Override
+    public void reschedule(Long id, EmailStatus status, LocalDateTime nextAttemptAt, String lastError) {
+        jdbc.update(RESCHEDULE_EMAIL_QUERY, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("status", status.name())
+                .addValue("nextAttemptAt", nextAttemptAt)
+                .addValue("lastError", lastError));
+    }
+
+    @Override
+    public int releaseStale(LocalDateTime claimedBefore) {
+        return jdbc.update(RELEASE_STALE_EMAILS_QUERY, of("claimedBefore", claimedBefore));
+    }
+
+    @Override
+    public int deleteSent(LocalDateTime sentBefore) {
+        return jdbc.update(DELETE_SENT_EMAILS_QUERY, of("sentBefore", sentBefore));
+    }
+
+    @Override
+    public Map<EmailStatus, Long> countByStatus() {
+        Map<EmailStatus, Long> counts = new EnumMap<>(EmailStatus.class);
+        jdbc.query(COUNT_EMAILS_BY_STATUS_QUERY, resultSet -> {
+            counts.put(EmailStatus.valueOf(resultSet.getString("status")), resultSet.getLong("total"));
+        });
+        return counts;
+    }
+
+    /* Maps an outbox message to the parameters of the insert query, serializing the template variables as JSON. */
+    private SqlParameterSource getSqlParameterSource(EmailOutboxMessage message) {
+        try {
+            return new MapSqlParameterSource()
+                    .addValue("recipient", message.getRecipient())
+                    .addValue("subject", message.getSubject())
+                    .addValue("template", message.getTemplate())
+                    .addValue("variables", OBJECT_MAPPER.writeValueAsString(message.getVariables()))
+                    .addValue("priority", message.getPriority());
+
+        } catch (JsonProcessingException exception) {
+            log.error("Unable to serialize email variables: {}", exception.getMessage());
+            throw new ApiException("Unable to queue email");
+        }
+    }
+}
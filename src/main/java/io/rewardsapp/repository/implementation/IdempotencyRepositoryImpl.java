@@ -0,0 +1,62 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.domain.IdempotentResponse;
+import io.rewardsapp.repository.IdempotencyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static io.rewardsapp.query.IdempotencyQuery.*;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the idempotency keys table. A key is claimed and its response stored in the transaction
+ * of the request it belongs to, so a key is never visible to other nodes without its response.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRepositoryImpl implements IdempotencyRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Registers the key for the user. Waits for a concurrent transaction holding the same key to finish.
+     *
+     * @return {@code true} if the key was registered, {@code false} if it was already used.
+     */
+    @Override
+    public boolean claim(Long userId, String idempotencyKey, String requestHash) {
+        return jdbc.update(INSERT_IDEMPOTENCY_KEY_QUERY, of(
+                "userId", userId, "idempotencyKey", idempotencyKey, "requestHash", requestHash)) > 0;
+    }
+
+    @Override
+    public void saveResponse(Long userId, String idempotencyKey, int statusCode, String body) {
+        jdbc.update(UPDATE_IDEMPOTENCY_RESPONSE_QUERY, new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("idempotencyKey", idempotencyKey)
+                .addValue("statusCode", statusCode)
+                .addValue("response", body));
+    }
+
+    @Override
+    public Optional<IdempotentResponse> findResponse(Long userId, String idempotencyKey) {
+        return jdbc.query(SELECT_IDEMPOTENCY_KEY_QUERY, of("userId", userId, "idempotencyKey", idempotencyKey),
+                        (resultSet, rowNum) -> IdempotentResponse.builder()
+                                .requestHash(resultSet.getString("request_hash"))
+                                .statusCode(resultSet.getInt("status_code"))
+                                .body(resultSet.getString("response"))
+                                .build())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public int deleteCreatedBefore(LocalDateTime createdBefore) {
+        return jdbc.update(DELETE_EXPIRED_IDEMPOTENCY_KEYS_QUERY, of("createdBefore", createdBefore));
+    }
+}
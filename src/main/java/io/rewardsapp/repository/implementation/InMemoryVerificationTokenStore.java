@@ -0,0 +1,147 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.domain.auth.VerificationTokenEntry;
+import io.rewardsapp.enums.VerificationPurpose;
+import io.rewardsapp.repository.VerificationTokenStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Default, in-memory verification token store. Tokens live in a concurrent map keyed by purpose and token, with a
+ * second map pointing from each user to their current token, so every operation is a constant-time map access.
+ * A token is only inserted if absent, so a code issued to two users never overwrites the entry of the first one.
+ * Expiry is handled by a hashed timing wheel: each token is queued in the slot of the tick it expires in, and every
+ * tick only the keys of a single slot are inspected. Tokens are kept per instance, so this backend suits single-node
+ * deployments; clustered deployments should switch to the {@link JdbcVerificationTokenStore}.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "verification.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryVerificationTokenStore implements VerificationTokenStore {
+
+    public static final int WHEEL_SIZE = 512;
+    public static final long TICK_DURATION = 60_000;
+
+    private final Map<TokenKey, VerificationTokenEntry> tokens = new ConcurrentHashMap<>();
+    private final Map<UserKey, String> tokensByUser = new ConcurrentHashMap<>();
+    private final Queue<TokenKey>[] wheel;
+    private volatile long processedTick;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryVerificationTokenStore() {
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.processedTick = tickOf(Instant.now());
+    }
+
+    @Override
+    public boolean save(VerificationPurpose purpose, Long userId, String token, Instant expiresAt) {
+        TokenKey key = new TokenKey(purpose, token);
+        VerificationTokenEntry entry = new VerificationTokenEntry(userId, token, expiresAt);
+        VerificationTokenEntry existing = tokens.putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!existing.userId().equals(userId) || !tokens.replace(key, existing, entry)) {
+                return false;
+            }
+        }
+
+        String previousToken = tokensByUser.put(new UserKey(purpose, userId), token);
+        if (previousToken != null && !previousToken.equals(token)) {
+            tokens.remove(new TokenKey(purpose, previousToken));
+        }
+        schedule(key, expiresAt);
+        return true;
+    }
+
+    @Override
+    public VerificationTokenEntry find(VerificationPurpose purpose, String token) {
+        return tokens.get(new TokenKey(purpose, token));
+    }
+
+    @Override
+    public void remove(VerificationPurpose purpose, String token) {
+        VerificationTokenEntry entry = tokens.remove(new TokenKey(purpose, token));
+        if (entry != null) {
+            tokensByUser.remove(new UserKey(purpose, entry.userId()), token);
+        }
+    }
+
+    @Override
+    public void removeByUser(VerificationPurpose purpose, Long userId) {
+        String token = tokensByUser.remove(new UserKey(purpose, userId));
+        if (token != null) {
+            tokens.remove(new TokenKey(purpose, token));
+        }
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * Advances the timing wheel up to the current tick, removing the tokens that expired
+     * and re-queueing those that are due in a later rotation of the wheel.
+     */
+    @Scheduled(fixedRate = TICK_DURATION)
+    public synchronized void advance() {
+        long currentTick = tickOf(Instant.now());
+        Instant now = Instant.now();
+        int expired = 0;
+
+        while (processedTick < currentTick) {
+            processedTick++;
+            Queue<TokenKey> slot = wheel[slotOf(processedTick)];
+
+            for (int pending = slot.size(); pending > 0; pending--) {
+                TokenKey key = slot.poll();
+                if (key == null) {
+                    break;
+                }
+
+                VerificationTokenEntry entry = tokens.get(key);
+                if (entry == null) {
+                    continue;
+                }
+
+                if (entry.isExpired(now)) {
+                    remove(key.purpose(), key.token());
+                    expired++;
+                } else {
+                    schedule(key, entry.expiresAt());
+                }
+            }
+        }
+
+        if (expired > 0) {
+            log.debug("Removed {} expired verification tokens", expired);
+        }
+    }
+
+    /* Queues the key in the slot of the tick following its expiration, never in the slot being processed. */
+    private void schedule(TokenKey key, Instant expiresAt) {
+        long tick = Math.max(tickOf(expiresAt) + 1, processedTick + 1);
+        wheel[slotOf(tick)].add(key);
+    }
+
+    private static long tickOf(Instant instant) {
+        return instant.toEpochMilli() / TICK_DURATION;
+    }
+
+    private static int slotOf(long tick) {
+        return (int) (tick % WHEEL_SIZE);
+    }
+
+    private record TokenKey(VerificationPurpose purpose, String token) {}
+
+    private record UserKey(VerificationPurpose purpose, Long userId) {}
+}
@@ -0,0 +1,94 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.dto.ActivityHistoryDTO;
+import io.rewardsapp.form.CreateRecyclingActivityForm;
+import io.rewardsapp.repository.JdbcRecyclingActivityRepository;
+import io.rewardsapp.rowmapper.ActivityHistoryRowMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static io.rewardsapp.query.RecyclingActivityQuery.*;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the bulk operations on recycling activities, used by batch contributions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcRecyclingActivityRepositoryImpl implements JdbcRecyclingActivityRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Inserts the recycling activities with a single JDBC batch.
+     *
+     * @param activities The activities to insert.
+     * @param createdAt  The creation time of every activity.
+     */
+    @Override
+    public void saveAll(List<CreateRecyclingActivityForm> activities, LocalDateTime createdAt) {
+        if (activities.isEmpty()) {
+            return;
+        }
+
+        jdbc.batchUpdate(INSERT_ACTIVITY_QUERY, activities.stream()
+                .map(activity -> new MapSqlParameterSource()
+                        .addValue("userId", activity.userId())
+                        .addValue("centerId", activity.centerId())
+                        .addValue("materialId", activity.materialId())
+                        .addValue("amount", activity.amount())
+                        .addValue("createdAt", createdAt))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Retrieves a page of the user's activities, newest first, optionally limited to one center.
+     *
+     * @param userId           The ID of the user.
+     * @param centerId         The ID of the center, or null for activities at every center.
+     * @param cursorCreatedAt  The creation time of the last activity of the previous page, or null for the first page.
+     * @param cursorActivityId The ID of the last activity of the previous page, or null for the first page.
+     * @param limit            The maximum number of activities to return.
+     * @return The activities of the page.
+     */
+    @Override
+    public List<ActivityHistoryDTO> findHistory(Long userId, Long centerId, LocalDateTime cursorCreatedAt, Long cursorActivityId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("centerId", centerId)
+                .addValue("limit", limit);
+
+        if (cursorCreatedAt == null) {
+            return jdbc.query(SELECT_ACTIVITY_HISTORY_QUERY, parameters, new ActivityHistoryRowMapper());
+        }
+
+        parameters.addValue("cursorCreatedAt", cursorCreatedAt).addValue("cursorActivityId", cursorActivityId);
+        return jdbc.query(SELECT_ACTIVITY_HISTORY_AFTER_CURSOR_QUERY, parameters, new ActivityHistoryRowMapper());
+    }
+
+    @Override
+    public Set<Long> findExistingUserIds(Collection<Long> userIds) {
+        return findExistingIds(SELECT_EXISTING_USER_IDS_QUERY, userIds);
+    }
+
+    @Override
+    public Set<Long> findExistingCenterIds(Collection<Long> centerIds) {
+        return findExistingIds(SELECT_EXISTING_CENTER_IDS_QUERY, centerIds);
+    }
+
+    private Set<Long> findExistingIds(String query, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbc.queryForList(query, of("ids", ids), Long.class));
+    }
+}
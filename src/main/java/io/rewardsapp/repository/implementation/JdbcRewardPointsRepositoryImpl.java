@@ -0,0 +1,72 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.dto.RewardPointsChangeDTO;
+import io.rewardsapp.repository.JdbcRewardPointsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static io.rewardsapp.query.RewardPointsQuery.ADD_REWARD_POINTS_BATCH_QUERY;
+import static io.rewardsapp.query.RewardPointsQuery.ADD_REWARD_POINTS_QUERY;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the reward points balance updates, performed as single atomic statements.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcRewardPointsRepositoryImpl implements JdbcRewardPointsRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Adds points to the user's balance, creating the balance if the user has none, in a single statement.
+     *
+     * @param userId The ID of the user.
+     * @param points The points to add.
+     * @return The balance before and after the points were added.
+     */
+    @Override
+    public RewardPointsChangeDTO addRewardPoints(Long userId, long points) {
+        return jdbc.queryForObject(ADD_REWARD_POINTS_QUERY, of("userId", userId, "points", points),
+                (resultSet, rowNum) -> RewardPointsChangeDTO.builder()
+                        .pointsBefore(resultSet.getLong("points_before"))
+                        .pointsAfter(resultSet.getLong("points_after"))
+                        .build());
+    }
+
+    /**
+     * Adds points to the balances of several users with a single statement.
+     *
+     * @param pointsByUserId The points to add, by user ID.
+     * @return The balance before and after the points were added, by user ID.
+     */
+    @Override
+    public Map<Long, RewardPointsChangeDTO> addRewardPoints(SortedMap<Long, Long> pointsByUserId) {
+        if (pointsByUserId.isEmpty()) {
+            return Map.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = pointsByUserId.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue(), now})
+                .toList();
+
+        Map<Long, RewardPointsChangeDTO> changes = new LinkedHashMap<>();
+        jdbc.query(ADD_REWARD_POINTS_BATCH_QUERY, of("rows", rows), resultSet -> {
+            long userId = resultSet.getLong("user_id");
+            long pointsAfter = resultSet.getLong("total_points");
+            changes.put(userId, RewardPointsChangeDTO.builder()
+                    .pointsBefore(pointsAfter - pointsByUserId.get(userId))
+                    .pointsAfter(pointsAfter)
+                    .build());
+        });
+        return changes;
+    }
+}
@@ -3,14 +3,18 @@ package io.rewardsapp.repository.implementation;
 import io.rewardsapp.domain.auth.Role;
 import io.rewardsapp.domain.auth.User;
 import io.rewardsapp.domain.auth.UserPrincipal;
+import io.rewardsapp.domain.auth.VerificationTokenEntry;
+import io.rewardsapp.domain.scheduling.KeyRange;
 import io.rewardsapp.dto.UserDTO;
-import io.rewardsapp.enums.VerificationType;
 import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.exception.ServiceUnavailableException;
 import io.rewardsapp.form.UpdateUserDetailsForm;
-import io.rewardsapp.query.UserQuery;
 import io.rewardsapp.repository.JdbcUserRepository;
 import io.rewardsapp.repository.RoleRepository;
+import io.rewardsapp.repository.VerificationTokenStore;
+import io.rewardsapp.rowmapper.UserPrincipalRowMapper;
 import io.rewardsapp.rowmapper.UserRowMapper;
+import io.rewardsapp.service.SmsService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,9 +25,10 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -31,20 +36,23 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.Optional;
 
+import static io.rewardsapp.constants.SecurityConstants.VERIFICATION_TOKEN_TTL;
 import static io.rewardsapp.enums.RoleType.ROLE_USER;
 import static io.rewardsapp.enums.VerificationType.ACCOUNT;
+import static io.rewardsapp.enums.VerificationPurpose.MFA_CODE;
+import static io.rewardsapp.enums.VerificationPurpose.PASSWORD_RESET;
 import static io.rewardsapp.enums.VerificationType.PASSWORD;
 import static io.rewardsapp.query.UserQuery.*;
-import static io.rewardsapp.utils.SmsUtils.sendSMS;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Map.of;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.time.DateFormatUtils.format;
-import static org.apache.commons.lang3.time.DateUtils.addDays;
 import static org.hibernate.type.descriptor.java.JdbcDateJavaType.DATE_FORMAT;
 import static org.springframework.web.servlet.support.ServletUriComponentsBuilder.fromCurrentContextPath;
 
@@ -54,11 +62,16 @@ import static org.springframework.web.servlet.support.ServletUriComponentsBuilde
 @Slf4j
 @Repository
 @RequiredArgsConstructor
-public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDetailsService {
+public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDetailsService, UserDetailsPasswordService {
+
+    private static final int VERIFICATION_CODE_ATTEMPTS = 5;
 
     private final NamedParameterJdbcTemplate jdbc;
     private final RoleRepository<Role> roleRepository;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordEncoder encoder;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final VerificationTokenStore verificationTokenStore;
+    private final SmsService smsService;
 
     /**
      * Creates a new user in the database. The user is disabled by default.
@@ -92,6 +105,9 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
             log.info("returning..");
             return user;
 
+        } catch (ServiceUnavailableException exception) {
+            throw exception;
+
         } catch (Exception exception) {
             log.error(exception.getMessage());
             throw new ApiException("An error occurred. Please try again.");
@@ -150,17 +166,34 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User existingUser = getUserByEmail(email);
-        if (existingUser == null) {
-            log.error("User not found in the database");
-            throw new UsernameNotFoundException("User not found in the database");
-        } else {
+        try {
+            UserPrincipal userPrincipal = jdbc.queryForObject(SELECT_USER_WITH_ROLE_BY_EMAIL_QUERY, of("email", email), new UserPrincipalRowMapper());
             log.info("User found in database: {}", email);
-            return new UserPrincipal(existingUser, roleRepository.getRoleByUserId(existingUser.getId()));
+            return userPrincipal;
 
+        } catch (EmptyResultDataAccessException exception) {
+            log.error("User not found in the database");
+            throw new UsernameNotFoundException("User not found in the database");
         }
     }
 
+    /**
+     * Stores a password hash re-encoded with the current hashing settings. This is invoked by
+     * the authentication provider after a successful login whose stored hash needs an upgrade.
+     *
+     * @param user        The authenticated user principal.
+     * @param newPassword The newly encoded password.
+     * @return The user principal carrying the updated password hash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal userPrincipal = (UserPrincipal) user;
+        jdbc.update(UPDATE_USER_PASSWORD_BY_ID_QUERY, of("userId", userPrincipal.user().getId(), "password", newPassword));
+        userPrincipal.user().setPassword(newPassword);
+        log.info("Password hash upgraded for user with ID: {}", userPrincipal.user().getId());
+        return userPrincipal;
+    }
+
     /**
      * Retrieves a user by their email address from the database.
      *
@@ -188,8 +221,8 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
 
     /**
      * Sends an account verification code to the user's phone number. This method generates
-     * a random verification code, associates it with the user in the database, and sends
-     * the code to the user's phone via SMS. The verification code is used for account-related
+     * a random verification code, associates it with the user in the verification token store, and
+     * queues the code to be sent to the user's phone via SMS. The verification code is used for account-related
      * activities, such as registration or password reset.
      *
      * @param user The user DTO containing necessary information.
@@ -197,13 +230,14 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
      */
     @Override
     public void sendAccountVerificationCode(UserDTO user) {
-        String verificationCode = randomAlphabetic(8).toUpperCase();
         try {
-            jdbc.update(DELETE_VERIFICATION_CODE_BY_USER_ID, Map.of("userId", user.id()));
-            jdbc.update(INSERT_VERIFICATION_CODE_QUERY, Map.of("userId", user.id(), "code", verificationCode, "expirationDate", addDays(new Date(), 1)));
-            sendSMS(user.phone(), "From: .MsgRecyclingRewards \nVerification code\n" + verificationCode);
+            String verificationCode = issueVerificationCode(user.id());
+            smsService.sendSms(user.phone(), "From: .MsgRecyclingRewards \nVerification code\n" + verificationCode);
             log.info("Verification Code: {}", verificationCode);
 
+        } catch (ServiceUnavailableException exception) {
+            throw exception;
+
         } catch (Exception e) {
             log.warn("asdasd");
             e.printStackTrace();
@@ -265,24 +299,17 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
      */
     @Override
     public User verifyCode(String email, String code) {
-        if (isVerificationCodeExpired(code)) throw new ApiException("This code has expired. Please login again.");
+        VerificationTokenEntry verificationCode = verificationTokenStore.find(MFA_CODE, code);
+        if (verificationCode == null) throw new ApiException("This code is not valid. Please login again.");
+        if (verificationCode.isExpired(Instant.now())) throw new ApiException("This code has expired. Please login again.");
 
-        try {
-            User userByCode = jdbc.queryForObject(SELECT_USER_BY_USER_CODE_QUERY, Map.of("code", code), new UserRowMapper());
-            User userByEmail = jdbc.queryForObject(SELECT_USER_BY_EMAIL_QUERY, Map.of("email", email), new UserRowMapper());
-
-            if (Objects.requireNonNull(userByCode).getEmail().equalsIgnoreCase(Objects.requireNonNull(userByEmail).getEmail())) {
-                jdbc.update(DELETE_CODE, Map.of("code", code));
-                return userByCode;
-            } else {
-                throw new ApiException("Code is invalid. Please try again.");
-            }
+        User userByCode = get(verificationCode.userId());
 
-        } catch (EmptyResultDataAccessException exception) {
-            throw new ApiException("Could not find record");
-
-        } catch (Exception exception) {
-            throw new ApiException("An error occurred. Please try again.");
+        if (userByCode.getEmail().equalsIgnoreCase(email)) {
+            verificationTokenStore.remove(MFA_CODE, code);
+            return userByCode;
+        } else {
+            throw new ApiException("Code is invalid. Please try again.");
         }
     }
 
@@ -302,8 +329,9 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
         try {
             User user = getUserByEmail(email);
             String verificationUrl = getVerificationUrl(UUID.randomUUID().toString(), PASSWORD.getType());
-            jdbc.update(DELETE_PASSWORD_VERIFICATION_BY_USER_ID_QUERY, Map.of("userId",  user.getId()));
-            jdbc.update(INSERT_PASSWORD_VERIFICATION_QUERY, Map.of("userId",  user.getId(), "url", verificationUrl, "expirationDate", addDays(new Date(), 1)));
+            if (!verificationTokenStore.save(PASSWORD_RESET, user.getId(), verificationUrl, Instant.now().plus(VERIFICATION_TOKEN_TTL))) {
+                throw new ApiException("An error occurred. Please try again.");
+            }
             log.info("Verification URL: {}", verificationUrl);
 
             return verificationUrl;
@@ -323,21 +351,11 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
      */
     @Override
     public User verifyResetPasswordKey(String key) {
-        if (isLinkExpired(key, PASSWORD)) throw new ApiException("This link has expired. Please reset your password again.");
-
-        try {
-            User user = jdbc.queryForObject(SELECT_USER_BY_PASSWORD_URL_QUERY, Map.of("url", getVerificationUrl(key, PASSWORD.getType())), new UserRowMapper());
-            //jdbc.update("DELETE_USER_FROM_PASSWORD_VERIFICATION_QUERY", Map.of("id", user.getId()));
-            return user;
+        VerificationTokenEntry resetLink = verificationTokenStore.find(PASSWORD_RESET, getVerificationUrl(key, PASSWORD.getType()));
+        if (resetLink == null) throw new ApiException("This link is not valid. Please reset your password again.");
+        if (resetLink.isExpired(Instant.now())) throw new ApiException("This link has expired. Please reset your password again.");
 
-        } catch (EmptyResultDataAccessException exception) {
-            log.error(exception.getMessage());
-            throw new ApiException("This link is not valid. Please reset your password again.");
-
-        } catch (Exception exception) {
-            log.error(exception.getMessage());
-            throw new ApiException("An error occurred. Please try again.");
-        }
+        return get(resetLink.userId());
     }
 
     /**
@@ -354,9 +372,11 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
     public void renewPassword(Long userId, String password, String confirmPassword) {
         if (!password.equals(confirmPassword)) throw new ApiException("Passwords don't match. Please try again.");
 
+        String encodedPassword = encoder.encode(password);
+
         try {
-            jdbc.update(UPDATE_USER_PASSWORD_BY_USER_ID_QUERY, Map.of("userId", userId, "password", encoder.encode(password)));
-            jdbc.update(DELETE_PASSWORD_VERIFICATION_BY_USER_ID_QUERY, Map.of("userId", userId));
+            jdbc.update(UPDATE_USER_PASSWORD_BY_USER_ID_QUERY, Map.of("userId", userId, "password", encodedPassword));
+            verificationTokenStore.removeByUser(PASSWORD_RESET, userId);
 
         } catch (Exception exception) {
             log.error(exception.getMessage());
@@ -380,8 +400,10 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
         User user = get(userId);
 
         if (encoder.matches(currentPassword, user.getPassword())) {
+            String encodedPassword = encoder.encode(newPassword);
+
             try {
-                jdbc.update(UPDATE_USER_PASSWORD_BY_ID_QUERY, of("userId", userId, "password", encoder.encode(newPassword)));
+                jdbc.update(UPDATE_USER_PASSWORD_BY_ID_QUERY, of("userId", userId, "password", encodedPassword));
 
             } catch (Exception exception) {
                 throw new ApiException("An error occurred. Please try again.");
@@ -480,71 +502,71 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
         jdbc.update(UPDATE_USER_PROFILE_IMAGE_QUERY, of("imageUrl", userImageUrl, "userId", user.id()));
     }
 
+    /**
+     * Records the login of a user. The timestamp is buffered and written to the database
+     * asynchronously, in batches, by the {@link LastLoginBuffer}.
+     *
+     * @param userId The ID of the user who logged in.
+     */
     @Override
-    @Transactional
     public void updateLastLogin(Long userId) {
-        jdbc.update(UserQuery.UPDATE_LAST_LOGIN_QUERY, of( "userId", userId));
+        lastLoginBuffer.record(userId);
     }
 
     /**
-     * Retrieves a list of inactive users from the database. Users are considered inactive if their last login
-     * is before the specified date (one week ago).
+     * Retrieves the current profile version of a user, which is incremented whenever
+     * the user details, role or account settings change.
      *
-     * @param oneWeekAgo The threshold date for considering users as inactive.
-     * @return A list of inactive users.
-     * @throws ApiException If there is an issue retrieving inactive users.
+     * @param userId The ID of the user.
+     * @return The current profile version.
+     * @throws ApiException If no user is found with the specified ID.
      */
     @Override
-    public List<User> getInactiveUsers(LocalDateTime oneWeekAgo) {
+    public long getProfileVersion(Long userId) {
         try {
-            return jdbc.query(SELECT_INACTIVE_USERS_QUERY, Map.of("lastLogin", oneWeekAgo), new UserRowMapper());
+            Long version = jdbc.queryForObject(SELECT_PROFILE_VERSION_QUERY, of("userId", userId), Long.class);
+            return version == null ? 0L : version;
 
-        } catch (Exception exception) {
-            log.error(exception.getMessage());
-            throw new ApiException("An error occurred while fetching inactive users. Please try again.");
+        } catch (EmptyResultDataAccessException exception) {
+            throw new ApiException("No User found by id: " + userId);
         }
     }
 
     /**
-     * Verifies the expiration status of a given verification link based on the provided key
-     * and verification type.
+     * Retrieves a list of inactive users from the database within a range of user IDs. Users are considered
+     * inactive if their last login is before the specified date (one week ago).
      *
-     * @param key           The verification key.
-     * @param verification  The type of verification (e.g., ACCOUNT).
-     * @return True if the verification link has expired; otherwise, false.
-     * @throws ApiException If there is an issue checking the expiration of the verification link.
+     * @param oneWeekAgo The threshold date for considering users as inactive.
+     * @param fromUserId The first user ID of the range.
+     * @param toUserId   The last user ID of the range.
+     * @return A list of inactive users.
+     * @throws ApiException If there is an issue retrieving inactive users.
      */
-    private Boolean isLinkExpired(String key, VerificationType verification) {
+    @Override
+    public List<User> getInactiveUsers(LocalDateTime oneWeekAgo, long fromUserId, long toUserId) {
         try {
-            return jdbc.queryForObject(SELECT_EXPIRATION_BY_URL, Map.of("url", getVerificationUrl(key, verification.getType())), Boolean.class);
-
-        } catch (EmptyResultDataAccessException exception) {
-            log.error(exception.getMessage());
-            throw new ApiException("This link is not valid. Please reset your password again");
+            lastLoginBuffer.flush();
+            return jdbc.query(SELECT_INACTIVE_USERS_QUERY,
+                    Map.of("lastLogin", oneWeekAgo, "fromUserId", fromUserId, "toUserId", toUserId), new UserRowMapper());
 
         } catch (Exception exception) {
             log.error(exception.getMessage());
-            throw new ApiException("An error occurred. Please try again");
+            throw new ApiException("An error occurred while fetching inactive users. Please try again.");
         }
     }
 
     /**
-     * Verifies the expiration status of a given verification code based on the provided code.
+     * Retrieves the lowest and highest user IDs, used to split jobs over all users into partitions.
      *
-     * @param code The verification code.
-     * @return True if the verification code has expired; otherwise, false.
-     * @throws ApiException If there is an issue checking the expiration of the verification code.
+     * @return The range of user IDs, or an empty optional if there are no users.
      */
-    private Boolean isVerificationCodeExpired(String code) {
-        try {
-            return jdbc.queryForObject(SELECT_CODE_EXPIRATION_QUERY, Map.of("code", code), Boolean.class);
-
-        } catch (EmptyResultDataAccessException exception) {
-            throw new ApiException("This code is not valid. Please login again.");
-
-        } catch (Exception exception) {
-            throw new ApiException("An error occurred. Please try again.");
-        }
+    @Override
+    public Optional<KeyRange> getUserIdRange() {
+        return jdbc.query(SELECT_USER_ID_RANGE_QUERY, resultSet -> {
+            resultSet.next();
+            long start = resultSet.getLong("range_start");
+            return resultSet.wasNull() ? Optional.empty() : Optional.of(new KeyRange(start, resultSet.getLong("range_end")));
+        });
     }
 
     /**
@@ -581,6 +603,24 @@ public class JdbcUserRepositoryImpl implements JdbcUserRepository<User>, UserDet
         return fromCurrentContextPath().path("/user/verify/" + verificationType + "/" + key).toUriString();
     }
 
+    /**
+     * Generates a random verification code and stores it for the user. A code that is already held by another
+     * user is never reused, a new one is generated instead, for a bounded number of attempts.
+     *
+     * @param userId The ID of the user the code is issued for.
+     * @return The stored verification code.
+     * @throws ApiException If no unused code was found.
+     */
+    private String issueVerificationCode(Long userId) {
+        for (int attempt = 0; attempt < VERIFICATION_CODE_ATTEMPTS; attempt++) {
+            String verificationCode = randomAlphabetic(8).toUpperCase();
+            if (verificationTokenStore.save(MFA_CODE, userId, verificationCode, Instant.now().plus(VERIFICATION_TOKEN_TTL))) {
+                return verificationCode;
+            }
+        }
+        throw new ApiException("An error occurred. Please try again.");
+    }
+
     /**
      * Maps a User object to a SqlParameterSource for use in database operations.
      * It transforms a User object into a SqlParameterSource, making it
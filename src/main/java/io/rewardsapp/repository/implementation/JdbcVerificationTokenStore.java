@@ -0,0 +1,104 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.domain.auth.VerificationTokenEntry;
+import io.rewardsapp.enums.VerificationPurpose;
+import io.rewardsapp.repository.VerificationTokenStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static io.rewardsapp.query.VerificationQuery.*;
+import static java.util.Map.of;
+
+/**
+ * Postgres backed verification token store, enabled with {@code verification.store=jdbc}. It keeps the tokens in the
+ * {@code tfa_verifications} and {@code reset_pass_verifications} tables, where a token replaces the previous one of
+ * the same user in a single upsert that skips tokens held by another user, and deletes expired rows on a schedule,
+ * in bounded batches.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "verification.store", havingValue = "jdbc")
+public class JdbcVerificationTokenStore implements VerificationTokenStore {
+
+    public static final int PURGE_BATCH_SIZE = 1000;
+    public static final long PURGE_INTERVAL = 600_000;
+
+    private static final RowMapper<VerificationTokenEntry> ENTRY_ROW_MAPPER = (resultSet, rowNum) -> new VerificationTokenEntry(
+            resultSet.getLong("user_id"),
+            resultSet.getString("token"),
+            resultSet.getTimestamp("expiration_date").toInstant()
+    );
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public boolean save(VerificationPurpose purpose, Long userId, String token, Instant expiresAt) {
+        String query = purpose == VerificationPurpose.MFA_CODE ? UPSERT_TFA_VERIFICATION_QUERY : UPSERT_PASSWORD_VERIFICATION_QUERY;
+        try {
+            return jdbc.update(query, of("userId", userId, "token", token, "expirationDate", Timestamp.from(expiresAt))) > 0;
+
+        } catch (DuplicateKeyException exception) {
+            // another user inserted the same token concurrently
+            return false;
+        }
+    }
+
+    @Override
+    public VerificationTokenEntry find(VerificationPurpose purpose, String token) {
+        String query = purpose == VerificationPurpose.MFA_CODE ? SELECT_TFA_VERIFICATION_QUERY : SELECT_PASSWORD_VERIFICATION_QUERY;
+        try {
+            return jdbc.queryForObject(query, of("token", token), ENTRY_ROW_MAPPER);
+
+        } catch (EmptyResultDataAccessException exception) {
+            return null;
+        }
+    }
+
+    @Override
+    public void remove(VerificationPurpose purpose, String token) {
+        String query = purpose == VerificationPurpose.MFA_CODE ? DELETE_TFA_VERIFICATION_QUERY : DELETE_PASSWORD_VERIFICATION_QUERY;
+        jdbc.update(query, of("token", token));
+    }
+
+    @Override
+    public void removeByUser(VerificationPurpose purpose, Long userId) {
+        String query = purpose == VerificationPurpose.MFA_CODE ? DELETE_TFA_VERIFICATION_BY_USER_ID_QUERY : DELETE_PASSWORD_VERIFICATION_BY_USER_ID_QUERY;
+        jdbc.update(query, of("userId", userId));
+    }
+
+    /**
+     * Deletes the expired MFA codes and password reset links in batches, so that a large
+     * backlog of expired rows never holds locks on the verification tables for long.
+     */
+    @Scheduled(fixedDelay = PURGE_INTERVAL)
+    public void purgeExpired() {
+        int purgedCodes = purge(PURGE_EXPIRED_TFA_VERIFICATIONS_QUERY);
+        int purgedLinks = purge(PURGE_EXPIRED_PASSWORD_VERIFICATIONS_QUERY);
+
+        if (purgedCodes + purgedLinks > 0) {
+            log.info("Purged {} expired MFA codes and {} expired password reset links", purgedCodes, purgedLinks);
+        }
+    }
+
+    /* Runs the batched delete until a batch removes fewer rows than the batch size. */
+    private int purge(String query) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbc.update(query, of("batchSize", PURGE_BATCH_SIZE));
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        return total;
+    }
+}
@@ -0,0 +1,32 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.repository.JdbcVoucherRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static io.rewardsapp.query.VoucherQuery.RESERVE_VOUCHER_CODE_BLOCKS_QUERY;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the voucher operations that Spring Data cannot express.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcVoucherRepositoryImpl implements JdbcVoucherRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Reserves blocks of voucher code numbers from the database sequence with a single statement.
+     *
+     * @param blocks The number of blocks to reserve.
+     * @return The first number of every reserved block.
+     */
+    @Override
+    public List<Long> reserveCodeBlocks(int blocks) {
+        return jdbc.queryForList(RESERVE_VOUCHER_CODE_BLOCKS_QUERY, of("blocks", blocks), Long.class);
+    }
+}
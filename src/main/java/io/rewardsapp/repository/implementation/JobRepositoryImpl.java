@@ -0,0 +1,127 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.repository.JobRepository;
+import io.rewardsapp.rowmapper.JobPartitionRowMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static io.rewardsapp.query.JobQuery.*;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the job coordination tables. A job run is a row of {@code job_runs} unique per job
+ * and schedule tick, and its partitions are rows of {@code job_partitions} leased with {@code FOR UPDATE SKIP LOCKED}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobRepositoryImpl implements JobRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Registers a run of the job for the given schedule tick.
+     *
+     * @return {@code true} if this call created the run, {@code false} if another node already did.
+     */
+    @Override
+    public boolean createRun(String jobName, String runKey, String owner) {
+        return jdbc.update(INSERT_JOB_RUN_QUERY, of("jobName", jobName, "runKey", runKey, "owner", owner)) > 0;
+    }
+
+    @Override
+    public void createPartitions(String jobName, String runKey, List<KeyRange> ranges) {
+        if (ranges.isEmpty()) {
+            return;
+        }
+
+        jdbc.batchUpdate(INSERT_JOB_PARTITION_QUERY, IntStream.range(0, ranges.size())
+                .mapToObj(partitionNo -> new MapSqlParameterSource()
+                        .addValue("jobName", jobName)
+                        .addValue("runKey", runKey)
+                        .addValue("partitionNo", partitionNo)
+                        .addValue("rangeStart", ranges.get(partitionNo).start())
+                        .addValue("rangeEnd", ranges.get(partitionNo).end())
+                        .addValue("lastKey", ranges.get(partitionNo).start() - 1))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * Leases the first partition of the given jobs that is pending or whose lease expired.
+     */
+    @Override
+    public Optional<JobPartition> claimPartition(Collection<String> jobNames, String owner, LocalDateTime leaseUntil) {
+        return jdbc.query(CLAIM_JOB_PARTITION_QUERY, of("jobNames", jobNames, "owner", owner, "leaseUntil", leaseUntil), new JobPartitionRowMapper())
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Moves the partition checkpoint forward and extends its lease, provided the caller still holds the lease
+     * and the checkpoint was not moved by another node. Called in the transaction that processes the chunk,
+     * so the chunk is rolled back if the partition was taken over.
+     *
+     * @return {@code true} if the checkpoint was moved.
+     */
+    @Override
+    public boolean advancePartition(Long partitionId, String owner, long afterKey, long lastKey, LocalDateTime leaseUntil) {
+        return jdbc.update(ADVANCE_JOB_PARTITION_QUERY, new MapSqlParameterSource()
+                .addValue("id", partitionId)
+                .addValue("owner", owner)
+                .addValue("afterKey", afterKey)
+                .addValue("lastKey", lastKey)
+                .addValue("leaseUntil", leaseUntil)) > 0;
+    }
+
+    /**
+     * Marks the partition as processed, provided it is still leased by the given owner.
+     */
+    @Override
+    public boolean completePartition(Long partitionId, String owner) {
+        return jdbc.update(COMPLETE_JOB_PARTITION_QUERY, of("id", partitionId, "owner", owner)) > 0;
+    }
+
+    /**
+     * Leases or renews a run used as a cluster-wide lock, made of a single partition created with
+     * {@link #createPartitions}. The job name of such a run must not be the name of a registered job.
+     *
+     * @return {@code true} if the owner holds the lease until the given time.
+     */
+    @Override
+    public boolean acquireLease(String jobName, String runKey, String owner, LocalDateTime leaseUntil) {
+        return jdbc.update(ACQUIRE_JOB_LEASE_QUERY, of("jobName", jobName, "runKey", runKey, "owner", owner, "leaseUntil", leaseUntil)) > 0;
+    }
+
+    @Override
+    public void releaseLease(String jobName, String runKey, String owner) {
+        jdbc.update(RELEASE_JOB_LEASE_QUERY, of("jobName", jobName, "runKey", runKey, "owner", owner));
+    }
+
+    @Override
+    public List<String> findRunningRunKeys(String jobName) {
+        return jdbc.queryForList(SELECT_RUNNING_JOB_RUNS_QUERY, of("jobName", jobName), String.class);
+    }
+
+    @Override
+    public boolean isRunCompleted(String jobName, String runKey) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(SELECT_JOB_RUN_COMPLETED_QUERY, of("jobName", jobName, "runKey", runKey), Boolean.class));
+    }
+
+    /**
+     * Marks the run as completed once all of its partitions are processed. Only one node can succeed.
+     */
+    @Override
+    public boolean completeRun(String jobName, String runKey) {
+        return jdbc.update(COMPLETE_JOB_RUN_QUERY, of("jobName", jobName, "runKey", runKey)) > 0;
+    }
+}
@@ -0,0 +1,108 @@
+package io.rewardsapp.repository.implementation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.rewardsapp.query.UserQuery.UPDATE_LAST_LOGIN_QUERY;
+
+/**
+ * Write-behind buffer for last-login timestamps. Logins only record the timestamp in memory, coalesced per user,
+ * and the pending timestamps are written to the database in a single JDBC batch either periodically, once the
+ * buffer reaches its size limit, before inactive users are looked up, or when the application shuts down.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class LastLoginBuffer {
+
+    public static final int LAST_LOGIN_FLUSH_SIZE = 500;
+    public static final long LAST_LOGIN_FLUSH_INTERVAL = 5_000;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Records a login for the given user, keeping only the latest timestamp per user.
+     * If the buffer reached its size limit and no flush is in progress, it is flushed right away.
+     *
+     * @param userId The ID of the user who logged in.
+     */
+    public void record(Long userId) {
+        pending.merge(userId, LocalDateTime.now(), LastLoginBuffer::latest);
+
+        if (pending.size() >= LAST_LOGIN_FLUSH_SIZE && flushLock.tryLock()) {
+            try {
+                flushPending();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes all pending last-login timestamps to the database in a single batch.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelay = LAST_LOGIN_FLUSH_INTERVAL)
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    /* Drains the buffer into one batch update, putting the entries back if the batch fails. */
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<SqlParameterSource> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime lastLogin = pending.remove(userId);
+            if (lastLogin != null) {
+                batch.add(new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("lastLogin", lastLogin));
+            }
+        }
+
+        try {
+            jdbc.batchUpdate(UPDATE_LAST_LOGIN_QUERY, batch.toArray(SqlParameterSource[]::new));
+            log.debug("Flushed {} last-login timestamps", batch.size());
+
+        } catch (DataAccessException exception) {
+            log.error("Failed to flush {} last-login timestamps: {}", batch.size(), exception.getMessage());
+            batch.forEach(parameters -> pending.merge(
+                    (Long) parameters.getValue("userId"),
+                    (LocalDateTime) parameters.getValue("lastLogin"),
+                    LastLoginBuffer::latest));
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
@@ -0,0 +1,66 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.domain.recycling.LeaderboardMember;
+import io.rewardsapp.repository.LeaderboardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.rewardsapp.query.LeaderboardQuery.*;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the leaderboard queries. The members are loaded in bulk to build the in-memory leaderboard,
+ * and the profiles of a whole page are loaded with a single query.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LeaderboardRepositoryImpl implements LeaderboardRepository {
+
+    private static final RowMapper<LeaderboardMember> MEMBER_ROW_MAPPER = (resultSet, rowNum) -> new LeaderboardMember(
+            resultSet.getLong("user_id"),
+            resultSet.getString("county"),
+            resultSet.getLong("points")
+    );
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public List<LeaderboardMember> findMembers() {
+        return jdbc.query(SELECT_LEADERBOARD_MEMBERS_QUERY, of(), MEMBER_ROW_MAPPER);
+    }
+
+    @Override
+    public Optional<LeaderboardMember> findMember(long userId) {
+        return jdbc.query(SELECT_LEADERBOARD_MEMBER_QUERY, of("userId", userId), MEMBER_ROW_MAPPER).stream().findFirst();
+    }
+
+    @Override
+    public Map<Long, User> findProfiles(Collection<Long> userIds) {
+        Map<Long, User> profiles = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return profiles;
+        }
+
+        jdbc.query(SELECT_LEADERBOARD_PROFILES_QUERY, of("userIds", userIds), resultSet -> {
+            profiles.put(resultSet.getLong("user_id"), User.builder()
+                    .id(resultSet.getLong("user_id"))
+                    .firstName(resultSet.getString("first_name"))
+                    .lastName(resultSet.getString("last_name"))
+                    .email(resultSet.getString("email"))
+                    .county(resultSet.getString("county"))
+                    .city(resultSet.getString("city"))
+                    .imageUrl(resultSet.getString("image_url"))
+                    .build());
+        });
+        return profiles;
+    }
+}
@@ -0,0 +1,93 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.domain.recycling.PointsLedgerEntry;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.repository.PointsLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.rewardsapp.query.PointsLedgerQuery.*;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the append-only points ledger. Entries are only ever inserted, and the
+ * {@code reward_points} balances are recomputed from them range by range when the ledger is replayed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PointsLedgerRepositoryImpl implements PointsLedgerRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Appends the entries to the ledger with a single JDBC batch.
+     *
+     * @param entries The entries to append.
+     */
+    @Override
+    public void saveAll(Collection<PointsLedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.batchUpdate(INSERT_LEDGER_ENTRY_QUERY, entries.stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("userId", entry.getUserId())
+                        .addValue("entryType", entry.getType().name())
+                        .addValue("points", entry.getPoints())
+                        .addValue("referenceId", entry.getReferenceId())
+                        .addValue("createdAt", entry.getCreatedAt() != null ? entry.getCreatedAt() : now))
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    @Override
+    public Optional<KeyRange> findUserRange() {
+        return jdbc.query(SELECT_LEDGER_USER_RANGE_QUERY, of(), resultSet -> {
+            resultSet.next();
+            long start = resultSet.getLong("range_start");
+            return resultSet.wasNull() ? Optional.empty() : Optional.of(new KeyRange(start, resultSet.getLong("range_end")));
+        });
+    }
+
+    /**
+     * Records the balances that existed before the ledger as {@code ADJUSTMENT} entries, so replaying the ledger
+     * keeps them. Must run in a transaction, which keeps the balance rows of the range locked until it commits.
+     *
+     * @param fromUserId The first user ID of the range.
+     * @param toUserId   The last user ID of the range.
+     * @return The number of opening entries inserted.
+     */
+    @Override
+    public int insertOpeningEntries(long fromUserId, long toUserId) {
+        Map<String, Long> range = of("fromUserId", fromUserId, "toUserId", toUserId);
+
+        jdbc.queryForList(LOCK_BALANCES_QUERY, range, Long.class);
+        return jdbc.update(INSERT_OPENING_ENTRIES_QUERY, range);
+    }
+
+    /**
+     * Recomputes the balances of the users in the range from their ledger entries. Must run in a transaction,
+     * which keeps the balance rows of the range locked until it commits.
+     *
+     * @param fromUserId The first user ID of the range.
+     * @param toUserId   The last user ID of the range.
+     * @return The number of balances that differed from the ledger and were corrected.
+     */
+    @Override
+    public int replayBalances(long fromUserId, long toUserId) {
+        Map<String, Long> range = of("fromUserId", fromUserId, "toUserId", toUserId);
+
+        jdbc.update(INSERT_MISSING_BALANCES_QUERY, range);
+        jdbc.queryForList(LOCK_BALANCES_QUERY, range, Long.class);
+        return jdbc.update(REPLAY_BALANCES_QUERY, range);
+    }
+}
@@ -0,0 +1,73 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.domain.recycling.RewardPointsResetChunk;
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.repository.RewardPointsResetRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static io.rewardsapp.query.RewardPointsResetQuery.*;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the monthly reward points reset. Every step is a set-based statement over the
+ * {@code reward_points_snapshots} table, and the progress of the reset is kept in the job partitions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RewardPointsResetRepositoryImpl implements RewardPointsResetRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public int snapshotBalances(LocalDate period) {
+        return jdbc.update(INSERT_REWARD_POINTS_SNAPSHOT_QUERY, of("period", period));
+    }
+
+    @Override
+    public Optional<KeyRange> findSnapshotUserRange(LocalDate period) {
+        return jdbc.query(SELECT_SNAPSHOT_USER_RANGE_QUERY, of("period", period), resultSet -> {
+            resultSet.next();
+            long start = resultSet.getLong("range_start");
+            return resultSet.wasNull() ? Optional.empty() : Optional.of(new KeyRange(start, resultSet.getLong("range_end")));
+        });
+    }
+
+    /**
+     * Resets the balances of the next chunk of snapshotted users of the partition, in user ID order, and stores
+     * the last user ID of the chunk as the partition checkpoint.
+     *
+     * @return The last user ID of the chunk and the points subtracted from its balances, or an empty optional if the
+     * partition is done or no longer leased by its owner.
+     */
+    @Override
+    public Optional<RewardPointsResetChunk> resetChunk(JobPartition partition, LocalDate period, long afterUserId, int chunkSize, LocalDateTime leaseUntil) {
+        return jdbc.query(RESET_REWARD_POINTS_CHUNK_QUERY, new MapSqlParameterSource()
+                        .addValue("partitionId", partition.getId())
+                        .addValue("owner", partition.getOwner())
+                        .addValue("period", period)
+                        .addValue("afterUserId", afterUserId)
+                        .addValue("rangeEnd", partition.getRangeEnd())
+                        .addValue("chunkSize", chunkSize)
+                        .addValue("leaseUntil", leaseUntil),
+                        (resultSet, rowNum) -> new RewardPointsResetChunk(resultSet.getLong("last_key"), resultSet.getLong("points")))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public int queueNotifications(LocalDate period, String subject, String template, String month) {
+        return jdbc.update(QUEUE_REWARD_POINTS_EMAILS_QUERY, new MapSqlParameterSource()
+                .addValue("period", period)
+                .addValue("subject", subject)
+                .addValue("template", template)
+                .addValue("month", month));
+    }
+}
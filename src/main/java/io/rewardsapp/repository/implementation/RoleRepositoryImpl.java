@@ -94,6 +94,7 @@ public class RoleRepositoryImpl implements RoleRepository<Role> {
             Role role = jdbc.queryForObject(SELECT_ROLE_BY_NAME_QUERY, of("name", roleName), new RoleRowMapper());
             assert role != null;
             jdbc.update(UPDATE_USER_ROLE_QUERY, of("roleId", role.getId(), "userId", userId));
+            jdbc.update(INCREMENT_USER_PROFILE_VERSION_QUERY, of("userId", userId));
         } catch (EmptyResultDataAccessException exception) {
             throw new ApiException("No role found by name: " + roleName);
         } catch (Exception exception) {
@@ -0,0 +1,103 @@
+package io.rewardsapp.repository.implementation;
+
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.form.CreateRecyclingActivityForm;
+import io.rewardsapp.repository.StatsRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.rewardsapp.query.StatsRollupQuery.*;
+import static java.util.Map.of;
+
+/**
+ * JDBC implementation of the daily activity rollups. Contributions increment the rollups of their day in the same
+ * transaction as the activities, and the rollups can be rebuilt from the raw activities range by range.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatsRollupRepositoryImpl implements StatsRollupRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Adds the activities to the user and center rollups of the day, and records the users as recyclers
+     * of the centers, with a single statement.
+     *
+     * @param activities The activities, already saved in the current transaction.
+     * @param day        The day the activities were made.
+     */
+    @Override
+    public void addActivities(List<CreateRecyclingActivityForm> activities, LocalDate day) {
+        if (activities.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = activities.stream()
+                .map(activity -> new Object[]{activity.userId(), activity.centerId(), activity.materialId(), activity.amount()})
+                .toList();
+
+        jdbc.update(ADD_ACTIVITIES_TO_ROLLUPS_QUERY, new MapSqlParameterSource()
+                .addValue("rows", rows)
+                .addValue("day", day));
+    }
+
+    @Override
+    public Optional<KeyRange> findUserRange() {
+        return findRange(SELECT_USER_RANGE_QUERY);
+    }
+
+    @Override
+    public Optional<KeyRange> findCenterRange() {
+        return findRange(SELECT_CENTER_RANGE_QUERY);
+    }
+
+    /**
+     * Recomputes the rollups of the users in the range from their activities. Must run in a transaction,
+     * which keeps the rollup rows of the range locked until it commits.
+     *
+     * @param fromUserId The first user ID of the range.
+     * @param toUserId   The last user ID of the range.
+     * @return The number of rollup rows that differed from the activities and were corrected.
+     */
+    @Override
+    public int rebuildUserRollups(long fromUserId, long toUserId) {
+        Map<String, Long> range = of("fromId", fromUserId, "toId", toUserId);
+
+        jdbc.update(INSERT_MISSING_USER_ROLLUPS_QUERY, range);
+        jdbc.queryForList(LOCK_USER_ROLLUPS_QUERY, range, Long.class);
+        return jdbc.update(REBUILD_USER_ROLLUPS_QUERY, range);
+    }
+
+    /**
+     * Recomputes the rollups and the recyclers of the centers in the range from their activities. Must run in
+     * a transaction, which keeps the rollup rows of the range locked until it commits.
+     *
+     * @param fromCenterId The first center ID of the range.
+     * @param toCenterId   The last center ID of the range.
+     * @return The number of rollup rows that differed from the activities and were corrected.
+     */
+    @Override
+    public int rebuildCenterRollups(long fromCenterId, long toCenterId) {
+        Map<String, Long> range = of("fromId", fromCenterId, "toId", toCenterId);
+
+        jdbc.update(INSERT_MISSING_CENTER_RECYCLERS_QUERY, range);
+        jdbc.update(INSERT_MISSING_CENTER_ROLLUPS_QUERY, range);
+        jdbc.queryForList(LOCK_CENTER_ROLLUPS_QUERY, range, Long.class);
+        return jdbc.update(REBUILD_CENTER_ROLLUPS_QUERY, range);
+    }
+
+    private Optional<KeyRange> findRange(String query) {
+        return jdbc.query(query, of(), resultSet -> {
+            resultSet.next();
+            long start = resultSet.getLong("range_start");
+            return resultSet.wasNull() ? Optional.empty() : Optional.of(new KeyRange(start, resultSet.getLong("range_end")));
+        });
+    }
+}
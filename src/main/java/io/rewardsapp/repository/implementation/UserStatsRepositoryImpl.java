@@ -1,9 +1,10 @@
 package io.rewardsapp.repository.implementation;
 
-import io.rewardsapp.dto.UserStatsDTO;
+import io.rewardsapp.domain.recycling.MaterialAmounts;
+import io.rewardsapp.enums.StatsBucket;
 import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.provider.MaterialsCatalog;
 import io.rewardsapp.repository.UserStatsRepository;
-import io.rewardsapp.rowmapper.UserStatsRowMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -11,32 +12,64 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
 import static io.rewardsapp.query.StatsQuery.GET_USER_STATS_FOR_LAST_MONTH;
+import static io.rewardsapp.query.StatsQuery.GET_USER_STATS_SERIES;
 
 @Repository
 @RequiredArgsConstructor
 public class UserStatsRepositoryImpl implements UserStatsRepository {
     private final NamedParameterJdbcTemplate jdbc;
+    private final MaterialsCatalog materialsCatalog;
 
     @Override
     @Transactional
-    public UserStatsDTO getUserStatsForLastMonth(Long userId) {
+    public MaterialAmounts getUserStatsForLastMonth(Long userId) {
         try {
             SqlParameterSource parameters = buildParameters(userId);
-            return jdbc.queryForObject(GET_USER_STATS_FOR_LAST_MONTH, parameters, new UserStatsRowMapper());
+            MaterialAmounts amounts = materialsCatalog.newAmounts();
+            jdbc.query(GET_USER_STATS_FOR_LAST_MONTH, parameters, resultSet -> {
+                amounts.add(resultSet.getLong("material_id"), resultSet.getLong("amount"));
+            });
+            return amounts;
 
         } catch (Exception exception) {
             throw new ApiException("Error retrieving user stats for last month.");
         }
     }
 
+    /**
+     * Retrieves the amounts recycled by the user in the range, per bucket and material.
+     *
+     * @return The amounts of every bucket with activities, by the first day of the bucket.
+     */
+    @Override
+    public Map<LocalDate, MaterialAmounts> getUserStatsSeries(Long userId, StatsBucket bucket, LocalDate startDate, LocalDate endDate) {
+        try {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("userId", userId)
+                    .addValue("bucket", bucket.getField())
+                    .addValue("startDate", startDate)
+                    .addValue("endDate", endDate);
+
+            Map<LocalDate, MaterialAmounts> buckets = new HashMap<>();
+            jdbc.query(GET_USER_STATS_SERIES, parameters, resultSet -> {
+                buckets.computeIfAbsent(resultSet.getObject("bucket_start", LocalDate.class), start -> materialsCatalog.newAmounts())
+                        .add(resultSet.getLong("material_id"), resultSet.getLong("amount"));
+            });
+            return buckets;
+
+        } catch (Exception exception) {
+            throw new ApiException("Error retrieving user stats series.");
+        }
+    }
+
     private SqlParameterSource buildParameters(Long userId) {
-        LocalDateTime lastMonthStart = LocalDateTime.now().minusMonths(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime lastMonthEnd = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59);
+        LocalDate lastMonthStart = LocalDate.now().minusMonths(1);
+        LocalDate lastMonthEnd = LocalDate.now();
 
         Map<String, Object> parameterMap = new HashMap<>();
         parameterMap.put("userId", userId);
@@ -1,14 +1,16 @@
 package io.rewardsapp.resource;
 
 import io.rewardsapp.domain.*;
-import io.rewardsapp.domain.auth.Role;
 import io.rewardsapp.domain.auth.User;
 import io.rewardsapp.domain.recycling.RecyclingCenter;
 import io.rewardsapp.domain.recycling.UserRecyclingActivity;
 import io.rewardsapp.dto.CenterStatsDTO;
+import io.rewardsapp.dto.ContributionBatchResultDTO;
+import io.rewardsapp.dto.ContributionDTO;
 import io.rewardsapp.dto.UserDTO;
 import io.rewardsapp.exception.ApiException;
 import io.rewardsapp.form.CreateCenterForm;
+import io.rewardsapp.form.CreateRecyclingActivitiesForm;
 import io.rewardsapp.form.CreateRecyclingActivityForm;
 import io.rewardsapp.form.UpdateCenterForm;
 import io.rewardsapp.report.CenterReport;
@@ -32,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 
 import static io.rewardsapp.dto.mapper.UserDTOMapper.toUser;
+import static io.rewardsapp.service.implementation.IdempotencyServiceImpl.IDEMPOTENCY_KEY_HEADER;
 import static io.rewardsapp.utils.ExceptionUtils.handleException;
 import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
 import static org.springframework.http.HttpStatus.CREATED;
@@ -46,12 +49,12 @@ public class CenterResource {
     private final UserService userService;
     private final CenterService centerService;
     private final StatsService statsService;
-    private final RoleService roleService;
     private final MaterialsService materialsService;
     private final RewardPointsService rewardPointsService;
     private final RecyclingActivityService activityService;
     private final TipsService tipsService;
     private final VoucherService voucherService;
+    private final IdempotencyService idempotencyService;
     private final HttpServletRequest request;
     private final HttpServletResponse response;
 
@@ -302,24 +305,28 @@ public class CenterResource {
     }
 
     /**
-     * Records a user's contribution to recycling activities and returns the updated details.
+     * Records a user's contribution to recycling activities and returns its outcome.
+     *
+     * A retry sent with the same Idempotency-Key gets the response of the first request without recording it again.
      *
      * @param authenticatedUser The authenticated user details.
+     * @param idempotencyKey    Key identifying the contribution across retries (optional).
      * @param form              Form containing details for the recycling activity.
-     * @return ResponseEntity with the updated user, center, reward points, and activities details.
+     * @return ResponseEntity with the recorded activity, the points earned, the new balance and the vouchers earned.
      */
     @PostMapping("/contribute")
     public ResponseEntity<HttpResponse> contribute(
             @AuthenticationPrincipal UserDTO authenticatedUser,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody CreateRecyclingActivityForm form
     ) {
-        int vouchersEarned = activityService.createActivity(form);
+        return idempotencyService.execute(authenticatedUser.id(), idempotencyKey, "/centers/contribute", form,
+                () -> recordContribution(form));
+    }
 
-        RecyclingCenter updatedCenter = centerService.getCenter(form.centerId());
-        User user = toUser(userService.getUser(authenticatedUser.id()));
-        Role userRole = roleService.getRoleByUserId(authenticatedUser.id());
-        List<UserRecyclingActivity> activities = activityService.getUserRecyclingActivitiesAtCenter(user, updatedCenter);
-        Long rewardPoints = rewardPointsService.getRewardPointsAmount(authenticatedUser.id());
+    private ResponseEntity<HttpResponse> recordContribution(CreateRecyclingActivityForm form) {
+        ContributionDTO contribution = activityService.createActivity(form);
+        int vouchersEarned = contribution.vouchersEarned();
 
         String voucherMessage = (vouchersEarned == 1) ? "voucher" : "vouchers";
         String contributionMessage = (vouchersEarned > 0)
@@ -329,18 +336,61 @@ public class CenterResource {
         return ResponseEntity.ok(
                 HttpResponse.builder()
                         .timeStamp(LocalDateTime.now().toString())
-                        .data(Map.of(
-                                "user", user,
-                                "userRole", userRole,
-                                "center", updatedCenter,
-                                "rewardPoints", rewardPoints,
-                                "activities", activities))
+                        .data(Map.of("contribution", contribution))
                         .message(contributionMessage)
                         .status(OK)
                         .statusCode(OK.value())
                         .build());
     }
 
+    /**
+     * Retrieves the authenticated user's recycling activities, newest first, one page at a time.
+     * Pages are chained through the cursor returned with each page instead of page numbers.
+     *
+     * @param authenticatedUser The authenticated user details.
+     * @param centerId          ID of the center to limit the history to (optional).
+     * @param cursor            Cursor returned with the previous page (optional, omitted for the first page).
+     * @param size              Number of activities per page.
+     * @return ResponseEntity with the activities of the page and the cursor of the next page.
+     */
+    @GetMapping("/activities/history")
+    public ResponseEntity<HttpResponse> getActivityHistory(
+            @AuthenticationPrincipal UserDTO authenticatedUser,
+            @RequestParam(required = false) Long centerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(
+                HttpResponse.builder()
+                        .timeStamp(LocalDateTime.now().toString())
+                        .data(Map.of("history", activityService.getActivityHistory(authenticatedUser.id(), centerId, cursor, size)))
+                        .message("Activity history retrieved")
+                        .status(OK)
+                        .statusCode(OK.value())
+                        .build());
+    }
+
+    /**
+     * Records a batch of recycling activities, e.g. submitted by a busy recycling center kiosk.
+     * Invalid activities are rejected individually, without failing the rest of the batch.
+     *
+     * @param form Form containing the recycling activities.
+     * @return ResponseEntity with the result of every activity and a summary of every user who earned points.
+     */
+    @PostMapping("/contribute/batch")
+    public ResponseEntity<HttpResponse> contributeBatch(@RequestBody @Valid CreateRecyclingActivitiesForm form) {
+        ContributionBatchResultDTO result = activityService.createActivities(form.activities());
+
+        return ResponseEntity.ok(
+                HttpResponse.builder()
+                        .timeStamp(LocalDateTime.now().toString())
+                        .data(Map.of("batch", result))
+                        .message(String.format("Batch processed: %d contributions accepted, %d rejected.", result.accepted(), result.rejected()))
+                        .status(OK)
+                        .statusCode(OK.value())
+                        .build());
+    }
+
     @GetMapping("/download/report")
     public ResponseEntity<Resource> downloadReport() {
         List<RecyclingCenter> centers = new ArrayList<>();
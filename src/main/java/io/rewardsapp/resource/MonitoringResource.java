@@ -0,0 +1,64 @@
+package io.rewardsapp.resource;
+
+import io.rewardsapp.domain.HttpResponse;
+import io.rewardsapp.service.EmailOutboxService;
+import io.rewardsapp.service.StatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Exposes operational metrics of the background subsystems. Restricted to users holding the READ:ALL authority.
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = "/monitoring")
+@RequiredArgsConstructor
+public class MonitoringResource {
+    private final EmailOutboxService emailOutboxService;
+    private final StatsService statsService;
+
+    /**
+     * Retrieves the email outbox metrics: the queue depth per delivery state and the delivery throughput.
+     *
+     * @return A response entity containing the email outbox metrics.
+     */
+    @GetMapping("/email-outbox")
+    public ResponseEntity<HttpResponse> getEmailOutboxMetrics() {
+        return ResponseEntity.ok(
+                HttpResponse.builder()
+                        .timeStamp(LocalDateTime.now().toString())
+                        .data(Map.of("emailOutbox", emailOutboxService.getMetrics()))
+                        .message("Email outbox metrics retrieved")
+                        .status(OK)
+                        .statusCode(OK.value())
+                        .build()
+        );
+    }
+
+    /**
+     * Retrieves the metrics of the per-user statistics cache: its size, hits, misses, hit rate and evictions.
+     *
+     * @return A response entity containing the user statistics cache metrics.
+     */
+    @GetMapping("/user-stats-cache")
+    public ResponseEntity<HttpResponse> getUserStatsCacheMetrics() {
+        return ResponseEntity.ok(
+                HttpResponse.builder()
+                        .timeStamp(LocalDateTime.now().toString())
+                        .data(Map.of("userStatsCache", statsService.getUserStatsCacheMetrics()))
+                        .message("User stats cache metrics retrieved")
+                        .status(OK)
+                        .statusCode(OK.value())
+                        .build()
+        );
+    }
+}
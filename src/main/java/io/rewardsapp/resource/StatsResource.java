@@ -0,0 +1,103 @@
+package io.rewardsapp.resource;
+
+import io.rewardsapp.domain.HttpResponse;
+import io.rewardsapp.dto.StatsSeriesDTO;
+import io.rewardsapp.dto.UserDTO;
+import io.rewardsapp.enums.StatsBucket;
+import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.service.StatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Exposes the recycling statistics of users and centers as time series, for charts.
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = "/stats")
+@RequiredArgsConstructor
+public class StatsResource {
+    private static final String READ_ALL_PERMISSION = "READ:ALL";
+
+    private final StatsService statsService;
+
+    /**
+     * Retrieves the amounts recycled by a user over time, per material. Users can only read their own series,
+     * unless they hold the READ:ALL authority.
+     *
+     * @param authenticatedUser The authenticated user details.
+     * @param id                The ID of the user.
+     * @param from              The first day of the range (default: one month before the end of the range).
+     * @param to                The last day of the range (default: today).
+     * @param bucket            The size of the buckets: DAY, WEEK or MONTH (default: DAY).
+     * @return ResponseEntity with the series of every material.
+     */
+    @GetMapping("/users/{id}/series")
+    public ResponseEntity<HttpResponse> getUserStatsSeries(
+            @AuthenticationPrincipal UserDTO authenticatedUser,
+            @PathVariable("id") Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") StatsBucket bucket
+    ) {
+        if (!id.equals(authenticatedUser.id()) && !canReadAll(authenticatedUser)) {
+            throw new ApiException("You are not allowed to view the statistics of other users.");
+        }
+
+        LocalDate endDate = to != null ? to : LocalDate.now();
+        LocalDate startDate = from != null ? from : endDate.minusMonths(1);
+        return seriesResponse(statsService.getUserStatsSeries(id, startDate, endDate, bucket), "User stats series retrieved");
+    }
+
+    /**
+     * Retrieves the amounts recycled at a center over time, per material.
+     *
+     * @param id     The ID of the recycling center.
+     * @param from   The first day of the range (default: one month before the end of the range).
+     * @param to     The last day of the range (default: today).
+     * @param bucket The size of the buckets: DAY, WEEK or MONTH (default: DAY).
+     * @return ResponseEntity with the series of every material.
+     */
+    @GetMapping("/centers/{id}/series")
+    public ResponseEntity<HttpResponse> getCenterStatsSeries(
+            @PathVariable("id") Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") StatsBucket bucket
+    ) {
+        LocalDate endDate = to != null ? to : LocalDate.now();
+        LocalDate startDate = from != null ? from : endDate.minusMonths(1);
+        return seriesResponse(statsService.getCenterStatsSeries(id, startDate, endDate, bucket), "Center stats series retrieved");
+    }
+
+    private ResponseEntity<HttpResponse> seriesResponse(StatsSeriesDTO series, String message) {
+        return ResponseEntity.ok(
+                HttpResponse.builder()
+                        .timeStamp(LocalDateTime.now().toString())
+                        .data(Map.of("series", series))
+                        .message(message)
+                        .status(OK)
+                        .statusCode(OK.value())
+                        .build()
+        );
+    }
+
+    private boolean canReadAll(UserDTO user) {
+        return user.permissions() != null && Arrays.asList(user.permissions().split(",")).contains(READ_ALL_PERMISSION);
+    }
+}
@@ -30,7 +30,6 @@ import java.util.Map;
 import static io.rewardsapp.dto.mapper.UserDTOMapper.toUser;
 import static io.rewardsapp.filter.CustomAuthorizationFilter.TOKEN_PREFIX;
 import static io.rewardsapp.utils.ExceptionUtils.handleException;
-import static io.rewardsapp.utils.UserUtils.getLoggedInUser;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.HttpStatus.*;
 import static org.springframework.http.MediaType.IMAGE_PNG_VALUE;
@@ -57,8 +56,9 @@ public class UserResource {
      */
     @PostMapping("/login")
     public ResponseEntity<HttpResponse> login(@RequestBody @Valid UserLoginForm loginForm) {
-        UserDTO user = authenticate(loginForm.email(), loginForm.password());
-        return user.usingMfa() ? sendLoginVerificationCode(user) : sendLoginResponse(user);
+        UserPrincipal userPrincipal = authenticate(loginForm.email(), loginForm.password());
+        UserDTO user = userPrincipal.getUser();
+        return user.usingMfa() ? sendLoginVerificationCode(user) : sendLoginResponse(user, userPrincipal);
     }
 
     /**
@@ -82,7 +82,8 @@ public class UserResource {
     }
 
     /**
-     * Retrieves the profile of the authenticated user.
+     * Retrieves the profile of the authenticated user. The profile is always loaded from the database,
+     * since a principal built from token claims only carries the identity and role related fields.
      *
      * @return ResponseEntity containing the user profile response.
      */
@@ -92,7 +93,7 @@ public class UserResource {
                 HttpResponse.builder()
                         .timeStamp(LocalDateTime.now().toString())
                         .data(Map.of(
-                                "user", authenticatedUser,
+                                "user", userService.getUser(authenticatedUser.id()),
                                 "roles", roleService.getRoles()))
                         .message("Profile retrieved successfully!")
                         .status(OK)
@@ -152,13 +153,14 @@ public class UserResource {
     @GetMapping("/verify/code/{email}/{code}")
     public ResponseEntity<HttpResponse> verifyCode(@PathVariable("email") String email, @PathVariable("code") String code) {
         UserDTO user = userService.verifyCode(email, code);
+        UserPrincipal userPrincipal = getUserPrincipal(user);
         return ResponseEntity.ok().body(
                 HttpResponse.builder()
                         .timeStamp(LocalDateTime.now().toString())
                         .data(Map.of(
                                 "user", user,
-                                "access_token", tokenProvider.createAccessToken(getUserPrincipal(user)),
-                                "refresh_token", tokenProvider.createRefreshToken(getUserPrincipal(user))))
+                                "access_token", tokenProvider.createAccessToken(userPrincipal),
+                                "refresh_token", tokenProvider.createRefreshToken(userPrincipal)))
                         .message("Login successful!")
                         .status(OK)
                         .statusCode(OK.value())
@@ -424,11 +426,12 @@ public class UserResource {
                 .build(), NOT_FOUND);
     }
 
-    private UserDTO authenticate(String email, String password) {
+    /* Authenticates the credentials and returns the principal loaded by the single joined user and role query. */
+    private UserPrincipal authenticate(String email, String password) {
         try {
-            UserDTO loggedInUser = getLoggedInUser(authenticationManager.authenticate(unauthenticated(email, password)));
-            userService.updateLastLogin(loggedInUser.id());
-            return loggedInUser;
+            UserPrincipal userPrincipal = (UserPrincipal) authenticationManager.authenticate(unauthenticated(email, password)).getPrincipal();
+            userService.updateLastLogin(userPrincipal.user().getId());
+            return userPrincipal;
 
         } catch (Exception exception) {
             handleException(request, response, exception);
@@ -445,14 +448,14 @@ public class UserResource {
                 );
     }
 
-    private ResponseEntity<HttpResponse> sendLoginResponse(UserDTO user) {
+    private ResponseEntity<HttpResponse> sendLoginResponse(UserDTO user, UserPrincipal userPrincipal) {
         return ResponseEntity.ok().body(
                 HttpResponse.builder()
                         .timeStamp(LocalDateTime.now().toString())
                         .data(Map.of(
                                 "user", user,
-                                "access_token", tokenProvider.createAccessToken(getUserPrincipal(user)),
-                                "refresh_token", tokenProvider.createRefreshToken(getUserPrincipal(user))))
+                                "access_token", tokenProvider.createAccessToken(userPrincipal),
+                                "refresh_token", tokenProvider.createRefreshToken(userPrincipal)))
                         .message("Login success")
                         .status(OK)
                         .statusCode(OK.value())
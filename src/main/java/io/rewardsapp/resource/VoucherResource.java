@@ -6,6 +6,7 @@ import io.rewardsapp.domain.vouchers.Voucher;
 import io.rewardsapp.domain.vouchers.VoucherType;
 import io.rewardsapp.dto.UserDTO;
 import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.service.IdempotencyService;
 import io.rewardsapp.service.UserService;
 import io.rewardsapp.service.VoucherService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +22,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import static io.rewardsapp.dto.mapper.UserDTOMapper.toUser;
+import static io.rewardsapp.service.implementation.IdempotencyServiceImpl.IDEMPOTENCY_KEY_HEADER;
 import static io.rewardsapp.utils.ExceptionUtils.handleException;
 import static org.springframework.http.HttpStatus.OK;
 
@@ -30,6 +32,7 @@ import static org.springframework.http.HttpStatus.OK;
 public class VoucherResource {
     private final UserService userService;
     private final VoucherService voucherService;
+    private final IdempotencyService idempotencyService;
     private final HttpServletRequest request;
     private final HttpServletResponse response;
 
@@ -133,15 +136,24 @@ public class VoucherResource {
     /**
      * Redeems a voucher for the authenticated user.
      *
+     * A retry sent with the same Idempotency-Key gets the response of the first request instead of an error.
+     *
      * @param authenticatedUser The authenticated user details.
+     * @param idempotencyKey    Key identifying the redemption across retries (optional).
      * @param voucherCode       Code of the voucher to redeem.
      * @return ResponseEntity with the user and redeemed voucher details.
      */
     @PostMapping("/redeem/{code}")
     public ResponseEntity<HttpResponse> redeemVoucher(
             @AuthenticationPrincipal UserDTO authenticatedUser,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @PathVariable("code") String voucherCode
     ) {
+        return idempotencyService.execute(authenticatedUser.id(), idempotencyKey, "/vouchers/redeem", voucherCode,
+                () -> redeem(authenticatedUser, voucherCode));
+    }
+
+    private ResponseEntity<HttpResponse> redeem(UserDTO authenticatedUser, String voucherCode) {
         User user = toUser(userService.getUser(authenticatedUser.id()));
         Voucher voucher = voucherService.redeemVoucher(authenticatedUser, voucherCode);
 
@@ -0,0 +1,26 @@
+package io.rewardsapp.rowmapper;
+
+import io.rewardsapp.dto.ActivityHistoryDTO;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+public class ActivityHistoryRowMapper implements RowMapper<ActivityHistoryDTO> {
+
+    @Override
+    public ActivityHistoryDTO mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        Timestamp createdAt = resultSet.getTimestamp("created_at");
+
+        return ActivityHistoryDTO.builder()
+                .activityId(resultSet.getLong("activity_id"))
+                .centerId(resultSet.getObject("center_id", Long.class))
+                .centerName(resultSet.getString("center_name"))
+                .materialId(resultSet.getObject("material_id", Long.class))
+                .materialName(resultSet.getString("material_name"))
+                .amount(resultSet.getLong("amount"))
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package io.rewardsapp.rowmapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rewardsapp.domain.notification.EmailOutboxMessage;
+import io.rewardsapp.enums.EmailStatus;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * RowMapper implementation for mapping ResultSet rows to EmailOutboxMessage objects.
+ */
+public class EmailOutboxMessageRowMapper implements RowMapper<EmailOutboxMessage> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<>() {};
+
+    @Override
+    public EmailOutboxMessage mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        return EmailOutboxMessage.builder()
+                .id(resultSet.getLong("id"))
+                .recipient(resultSet.getString("recipient"))
+                .subject(resultSet.getString("subject"))
+                .template(resultSet.getString("template"))
+                .variables(readVariables(resultSet.getString("variables")))
+                .priority(resultSet.getInt("priority"))
+                .status(EmailStatus.valueOf(resultSet.getString("status")))
+                .attempts(resultSet.getInt("attempts"))
+                .nextAttemptAt(toLocalDateTime(resultSet.getTimestamp("next_attempt_at")))
+                .lastError(resultSet.getString("last_error"))
+                .createdAt(toLocalDateTime(resultSet.getTimestamp("created_at")))
+                .sentAt(toLocalDateTime(resultSet.getTimestamp("sent_at")))
+                .build();
+    }
+
+    private Map<String, Object> readVariables(String json) throws SQLException {
+        try {
+            return OBJECT_MAPPER.readValue(json, VARIABLES_TYPE);
+        } catch (JsonProcessingException exception) {
+            throw new SQLException("Invalid email template variables", exception);
+        }
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
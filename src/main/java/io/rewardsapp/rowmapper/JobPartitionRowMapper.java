@@ -0,0 +1,33 @@
+package io.rewardsapp.rowmapper;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.enums.PartitionStatus;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * RowMapper implementation for mapping ResultSet rows to JobPartition objects.
+ */
+public class JobPartitionRowMapper implements RowMapper<JobPartition> {
+
+    @Override
+    public JobPartition mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        Timestamp leaseUntil = resultSet.getTimestamp("lease_until");
+
+        return JobPartition.builder()
+                .id(resultSet.getLong("id"))
+                .jobName(resultSet.getString("job_name"))
+                .runKey(resultSet.getString("run_key"))
+                .partitionNo(resultSet.getInt("partition_no"))
+                .rangeStart(resultSet.getLong("range_start"))
+                .rangeEnd(resultSet.getLong("range_end"))
+                .lastKey(resultSet.getLong("last_key"))
+                .status(PartitionStatus.valueOf(resultSet.getString("status")))
+                .owner(resultSet.getString("owner"))
+                .leaseUntil(leaseUntil == null ? null : leaseUntil.toLocalDateTime())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package io.rewardsapp.rowmapper;
+
+import io.rewardsapp.domain.auth.Role;
+import io.rewardsapp.domain.auth.UserPrincipal;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RowMapper implementation for mapping rows of the joined user and role query to UserPrincipal objects.
+ */
+public class UserPrincipalRowMapper implements RowMapper<UserPrincipal> {
+
+    private final UserRowMapper userRowMapper = new UserRowMapper();
+
+    @Override
+    public UserPrincipal mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        Role role = Role.builder()
+                .id(resultSet.getLong("role_id"))
+                .name(resultSet.getString("role_name"))
+                .permission(resultSet.getString("role_permission"))
+                .build();
+
+        return new UserPrincipal(userRowMapper.mapRow(resultSet, rowNum), role);
+    }
+}
@@ -28,6 +28,7 @@ public class UserRowMapper implements RowMapper<User> {
                 .enabled(resultSet.getBoolean("enabled"))
                 .usingMfa(resultSet.getBoolean("using_mfa"))
                 .notLocked(resultSet.getBoolean("non_locked"))
+                .profileVersion(resultSet.getLong("profile_version"))
                 .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
                 .build();
     }
@@ -0,0 +1,123 @@
+package io.rewardsapp.security;
+
+import io.rewardsapp.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Password encoder that runs every BCrypt hash and verification on a dedicated, size-limited pool
+ * instead of the request threads. When both the pool and its queue are full, the call fails fast with a
+ * {@link ServiceUnavailableException} (503) so a burst of logins cannot starve the other endpoints.
+ * Hashes produced with a cost factor other than the configured one are reported as needing an upgrade,
+ * which lets Spring Security transparently rehash them after a successful login.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+    private static final String OVERLOADED_MESSAGE = "The server is busy processing other logins. Please try again shortly.";
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        log.info("Password hashing pool started with {} threads, queue capacity {} and BCrypt strength {}", threads, queueCapacity, strength);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Checks if the encoded password should be rehashed, which is the case for hashes that are not
+     * BCrypt hashes or that were produced with a different cost factor than the configured one.
+     *
+     * @param encodedPassword The stored password hash.
+     * @return True if the password should be encoded again, false otherwise.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return !matcher.matches() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /* Stops the hashing pool when the application context is closed. */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /* Runs the task on the hashing pool and waits for its result, failing fast if the pool is saturated. */
+    private <T> T execute(Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+
+        } catch (RejectedExecutionException exception) {
+            log.warn("Password hashing pool saturated (queue depth: {})", getQueueDepth());
+            throw new ServiceUnavailableException(OVERLOADED_MESSAGE);
+
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(OVERLOADED_MESSAGE);
+
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.rewardsapp.service;
+
+import io.rewardsapp.domain.notification.EmailOutboxMessage;
+import io.rewardsapp.dto.EmailOutboxMetricsDTO;
+
+import java.util.Collection;
+
+public interface EmailOutboxService {
+    void enqueue(EmailOutboxMessage message);
+
+    void enqueueAll(Collection<EmailOutboxMessage> messages);
+
+    void dispatchPending();
+
+    EmailOutboxMetricsDTO getMetrics();
+}
@@ -1,14 +1,14 @@
 package io.rewardsapp.service;
 
+import io.rewardsapp.dto.UserDTO;
 import io.rewardsapp.enums.VerificationType;
-import org.springframework.scheduling.annotation.Async;
+
+import java.util.List;
 
 public interface EmailService {
-    @Async
     void sendVerificationEmail(String firstName, String email, String verificationUrl, VerificationType verificationType);
 
-    @Async
-    void sendInactiveUserEmail(String firstName, String email);
+    void sendInactiveUserEmail(String email, String firstName);
 
-    void sendMonthlyRewardPointsEmail(String email, String s, Long earnedPoints);
+    void sendInactiveUserEmails(List<UserDTO> users);
 }
@@ -0,0 +1,14 @@
+package io.rewardsapp.service;
+
+import io.rewardsapp.domain.HttpResponse;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    ResponseEntity<HttpResponse> execute(Long userId, String idempotencyKey, String operation, Object request,
+                                         Supplier<ResponseEntity<HttpResponse>> action);
+
+    void purgeExpired();
+}
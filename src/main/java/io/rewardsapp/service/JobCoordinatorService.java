@@ -0,0 +1,10 @@
+package io.rewardsapp.service;
+
+public interface JobCoordinatorService {
+
+    boolean startRun(PartitionedJob job, String runKey);
+
+    void processPartitions();
+
+    String getNodeId();
+}
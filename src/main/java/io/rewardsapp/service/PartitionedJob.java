@@ -0,0 +1,34 @@
+package io.rewardsapp.service;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+
+import java.util.Optional;
+
+/**
+ * A scheduled job whose work is split into key ranges processed in parallel by all application instances.
+ * Runs are started through {@link JobCoordinatorService#startRun(PartitionedJob, String)}.
+ */
+public interface PartitionedJob {
+
+    String getName();
+
+    /**
+     * Prepares a run on the single node that wins the schedule tick, in the same transaction that registers the run.
+     *
+     * @param runKey The key of the schedule tick (e.g. the date of the run).
+     * @return The range of keys to split into partitions, or an empty optional if there is nothing to process.
+     */
+    Optional<KeyRange> prepareRun(String runKey);
+
+    /**
+     * Processes one partition. A partition whose lease expired is processed again by another node,
+     * so implementations should resume from {@link JobPartition#getLastKey()}.
+     */
+    void processPartition(JobPartition partition);
+
+    /**
+     * Completes a run once all of its partitions are processed. Called on exactly one node.
+     */
+    void completeRun(String runKey);
+}
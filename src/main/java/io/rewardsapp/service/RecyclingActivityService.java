@@ -3,6 +3,9 @@ package io.rewardsapp.service;
 import io.rewardsapp.domain.recycling.RecyclingCenter;
 import io.rewardsapp.domain.auth.User;
 import io.rewardsapp.domain.recycling.UserRecyclingActivity;
+import io.rewardsapp.dto.ActivityHistoryPageDTO;
+import io.rewardsapp.dto.ContributionBatchResultDTO;
+import io.rewardsapp.dto.ContributionDTO;
 import io.rewardsapp.form.CreateRecyclingActivityForm;
 
 import java.util.List;
@@ -10,5 +13,9 @@ import java.util.List;
 public interface RecyclingActivityService {
     List<UserRecyclingActivity> getUserRecyclingActivitiesAtCenter(User user, RecyclingCenter center);
 
-    int createActivity(CreateRecyclingActivityForm form);
+    ContributionDTO createActivity(CreateRecyclingActivityForm form);
+
+    ContributionBatchResultDTO createActivities(List<CreateRecyclingActivityForm> forms);
+
+    ActivityHistoryPageDTO getActivityHistory(Long userId, Long centerId, String cursor, int size);
 }
@@ -1,22 +1,19 @@
 package io.rewardsapp.service;
 
-import io.rewardsapp.domain.recycling.RecyclableMaterial;
 import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.dto.RewardPointsChangeDTO;
 import jakarta.transaction.Transactional;
 
-import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
 
 public interface RewardPointsService {
 
     Long getRewardPointsAmount(Long userId);
 
     @Transactional
-    void updateUserRewardPoints(User user, Long amountRecycledInUnits, RecyclableMaterial materialRecycled);
+    RewardPointsChangeDTO updateUserRewardPoints(User user, Long amountRecycledInUnits, Long materialId);
 
     @Transactional
-    void restoreRecyclersRewardPoints(List<Long> userIds);
-
-    List<Long> getRecyclersIds();
-
-    List<Long> getRewardPointsAmount(List<Long> userIds);
+    Map<Long, RewardPointsChangeDTO> addRewardPoints(SortedMap<Long, Long> pointsByUserId);
 }
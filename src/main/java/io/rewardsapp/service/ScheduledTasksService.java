@@ -1,6 +1,5 @@
 package io.rewardsapp.service;
 
-import jakarta.transaction.Transactional;
 import org.springframework.scheduling.annotation.Scheduled;
 
 public interface ScheduledTasksService {
@@ -8,7 +7,12 @@ public interface ScheduledTasksService {
     @Scheduled(cron = "0 0 0 * * MON") // to run every Monday at midnight
     void sendEmailToInactiveUsers();
 
-    @Transactional
     @Scheduled(cron = "0 0 0 1 * *")  // to run every 1st day of each month at midnight
     void restoreRecyclersRewardPoints();
+
+    @Scheduled(cron = "0 0 3 * * *")  // to run every day at 3 AM
+    void replayRewardPointsLedger();
+
+    @Scheduled(cron = "0 30 0 * * *")  // to run every day at 00:30
+    void maintainActivityPartitions();
 }
@@ -0,0 +1,5 @@
+package io.rewardsapp.service;
+
+public interface SmsService {
+    void sendSms(String to, String messageBody);
+}
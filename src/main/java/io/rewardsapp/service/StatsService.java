@@ -2,14 +2,29 @@ package io.rewardsapp.service;
 
 import io.rewardsapp.dto.AppStatsDTO;
 import io.rewardsapp.dto.CenterStatsDTO;
+import io.rewardsapp.dto.StatsSeriesDTO;
+import io.rewardsapp.dto.UserStatsCacheMetricsDTO;
 import io.rewardsapp.dto.UserStatsDTO;
+import io.rewardsapp.enums.StatsBucket;
+import io.rewardsapp.form.CreateRecyclingActivityForm;
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDate;
+import java.util.List;
+
 public interface StatsService {
     UserStatsDTO getUserStatsForLastMonth(Long userId);
 
+    void recordContributions(List<CreateRecyclingActivityForm> activities);
+
+    UserStatsCacheMetricsDTO getUserStatsCacheMetrics();
+
     CenterStatsDTO getCenterTotalStats(Long centerId);
 
+    StatsSeriesDTO getUserStatsSeries(Long userId, LocalDate startDate, LocalDate endDate, StatsBucket bucket);
+
+    StatsSeriesDTO getCenterStatsSeries(Long centerId, LocalDate startDate, LocalDate endDate, StatsBucket bucket);
+
     AppStatsDTO getAppStats();
 
 }
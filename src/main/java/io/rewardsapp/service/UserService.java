@@ -1,6 +1,7 @@
 package io.rewardsapp.service;
 
 import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.domain.scheduling.KeyRange;
 import io.rewardsapp.dto.UserDTO;
 import io.rewardsapp.form.UpdateUserDetailsForm;
 import io.rewardsapp.form.UserRegistrationForm;
@@ -8,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 
 public interface UserService {
@@ -46,7 +48,9 @@ public interface UserService {
 
     void updateLastLogin(Long userId);
 
-    List<UserDTO> findInactiveUsers(LocalDateTime oneWeekAgo);
+    List<UserDTO> findInactiveUsers(LocalDateTime oneWeekAgo, long fromUserId, long toUserId);
+
+    Optional<KeyRange> getUserIdRange();
 
     User getJpaManagedUser(Long userId);
 }
\ No newline at end of file
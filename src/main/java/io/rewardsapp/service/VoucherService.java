@@ -3,6 +3,7 @@ package io.rewardsapp.service;
 import io.rewardsapp.domain.auth.User;
 import io.rewardsapp.domain.vouchers.Voucher;
 import io.rewardsapp.domain.vouchers.VoucherType;
+import io.rewardsapp.dto.RewardPointsChangeDTO;
 import io.rewardsapp.dto.UserDTO;
 import org.springframework.data.domain.Page;
 
@@ -25,7 +26,7 @@ public interface VoucherService {
 
     Voucher redeemVoucher(UserDTO authenticatedUser, String voucherCode);
 
-    int checkForEarnedVouchers(User user, long rewardsPointsBeforeActivity);
+    int checkForEarnedVouchers(User user, RewardPointsChangeDTO rewardPointsChange);
 
     List<VoucherType> getVoucherTypes();
 
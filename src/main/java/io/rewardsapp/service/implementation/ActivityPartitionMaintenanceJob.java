@@ -0,0 +1,100 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.repository.ActivityPartitionRepository;
+import io.rewardsapp.service.PartitionedJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains the monthly partitions of {@code user_recycling_activities}. Partitions are created from the previous
+ * month up to the configured number of months ahead, so activities never land in the default partition. When a
+ * retention period is configured, the partitions of the months older than the retention are archived into gzipped
+ * CSV files and dropped. The whole maintenance is done by the node that starts the run, in a single transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActivityPartitionMaintenanceJob implements PartitionedJob {
+
+    public static final String ACTIVITY_PARTITION_MAINTENANCE_JOB = "activity-partition-maintenance";
+
+    @Value("${activities.partitions-ahead:3}")
+    private int partitionsAhead;
+
+    @Value("${activities.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${activities.archive-dir:archive/activities}")
+    private String archiveDir;
+
+    private final ActivityPartitionRepository partitionRepository;
+
+    @Override
+    public String getName() {
+        return ACTIVITY_PARTITION_MAINTENANCE_JOB;
+    }
+
+    /**
+     * Creates the missing partitions and archives the expired ones.
+     *
+     * @param runKey The date of the run, in ISO format.
+     * @return Always empty, the maintenance has no partitions to process.
+     */
+    @Override
+    public Optional<KeyRange> prepareRun(String runKey) {
+        YearMonth currentMonth = YearMonth.from(LocalDate.parse(runKey));
+        List<YearMonth> existingMonths = partitionRepository.findPartitionMonths();
+
+        for (YearMonth month = currentMonth.minusMonths(1); !month.isAfter(currentMonth.plusMonths(partitionsAhead)); month = month.plusMonths(1)) {
+            if (!existingMonths.contains(month)) {
+                partitionRepository.createPartition(month);
+                log.info("Created recycling activities partition for {}", month);
+            }
+        }
+
+        if (retentionMonths > 0) {
+            YearMonth oldestRetained = currentMonth.minusMonths(retentionMonths);
+            existingMonths.stream()
+                    .filter(month -> month.isBefore(oldestRetained))
+                    .forEach(this::archive);
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public void processPartition(JobPartition partition) {
+        // the maintenance is done while the run is prepared, so the run never has partitions
+    }
+
+    @Override
+    public void completeRun(String runKey) {
+        log.info("Recycling activities partitions maintained for the run of {}", runKey);
+    }
+
+    private void archive(YearMonth month) {
+        try {
+            Path directory = Files.createDirectories(Path.of(archiveDir));
+            Path archiveFile = directory.resolve("user_recycling_activities_" + month + ".csv.gz");
+
+            long archived = partitionRepository.archivePartition(month, archiveFile);
+            log.info("Archived {} recycling activities of {} to {}", archived, month, archiveFile);
+
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Unable to create the archive directory " + archiveDir, exception);
+        }
+    }
+}
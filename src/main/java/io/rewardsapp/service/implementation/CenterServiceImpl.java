@@ -5,6 +5,7 @@ import io.rewardsapp.domain.recycling.RecyclingCenter;
 import io.rewardsapp.exception.ApiException;
 import io.rewardsapp.form.CreateCenterForm;
 import io.rewardsapp.form.UpdateCenterForm;
+import io.rewardsapp.provider.MaterialsCatalog;
 import io.rewardsapp.repository.CenterRepository;
 import io.rewardsapp.repository.MaterialsRepository;
 import io.rewardsapp.service.CenterService;
@@ -38,6 +39,7 @@ public class CenterServiceImpl implements CenterService {
 
     private final CenterRepository centerRepository;
     private final MaterialsRepository materialsRepository;
+    private final MaterialsCatalog materialsCatalog;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ss");
 
@@ -175,10 +177,13 @@ public class CenterServiceImpl implements CenterService {
         List<RecyclableMaterial> materials = new ArrayList<>(materialNames.length);
 
         for (String materialName : materialNames) {
-            RecyclableMaterial material = materialsRepository.findFirstByName(materialName)
-                    .orElseThrow(() -> new ApiException("Material not found: " + materialName));
+            Long materialId = materialsCatalog.findIdByName(materialName);
+            if (materialId == null) {
+                throw new ApiException("Material not found: " + materialName);
+            }
 
-            materials.add(material);
+            // the center only needs references to link the materials, so they are not loaded
+            materials.add(materialsRepository.getReferenceById(materialId));
         }
         return materials;
     }
@@ -0,0 +1,85 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.repository.JobRepository;
+import io.rewardsapp.repository.StatsRollupRepository;
+import io.rewardsapp.service.PartitionedJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static io.rewardsapp.service.implementation.JobCoordinatorServiceImpl.JOB_PARTITION_LEASE;
+
+/**
+ * Populates the daily center rollups of {@code center_material_daily_stats} and the {@code center_recyclers} of each
+ * center from the recycling activities. Centers have far more activities than users, so the center ID range is
+ * processed in small chunks, each committed together with the partition checkpoint.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CenterStatsRollupBackfillJob implements PartitionedJob {
+
+    public static final String CENTER_STATS_ROLLUP_BACKFILL_JOB = "center-stats-rollup-backfill";
+    public static final int CENTER_STATS_ROLLUP_BACKFILL_CHUNK_SIZE = 50;
+
+    private final StatsRollupRepository rollupRepository;
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public String getName() {
+        return CENTER_STATS_ROLLUP_BACKFILL_JOB;
+    }
+
+    /**
+     * @return The range of recycling center IDs.
+     */
+    @Override
+    public Optional<KeyRange> prepareRun(String runKey) {
+        return rollupRepository.findCenterRange();
+    }
+
+    /**
+     * Rebuilds the rollups of the partition chunk by chunk, starting after its checkpoint. Stops if another node
+     * took over the partition, in which case the chunk in progress is rolled back.
+     */
+    @Override
+    public void processPartition(JobPartition partition) {
+        long lastCenterId = partition.getLastKey();
+        int corrected = 0;
+
+        while (lastCenterId < partition.getRangeEnd()) {
+            long afterCenterId = lastCenterId;
+            long toCenterId = Math.min(afterCenterId + CENTER_STATS_ROLLUP_BACKFILL_CHUNK_SIZE, partition.getRangeEnd());
+
+            Integer chunkCorrected = transactionTemplate.execute(status -> {
+                if (!jobRepository.advancePartition(partition.getId(), partition.getOwner(), afterCenterId, toCenterId,
+                        LocalDateTime.now().plus(JOB_PARTITION_LEASE))) {
+                    return null;
+                }
+                return rollupRepository.rebuildCenterRollups(afterCenterId + 1, toCenterId);
+            });
+
+            if (chunkCorrected == null) {
+                log.warn("Partition {} of run {} was taken over by another node", partition.getPartitionNo(), partition.getRunKey());
+                return;
+            }
+
+            corrected += chunkCorrected;
+            lastCenterId = toCenterId;
+        }
+
+        log.debug("Rebuilt the rollups of centers {} to {}, corrected {} rollups", partition.getRangeStart(), partition.getRangeEnd(), corrected);
+    }
+
+    @Override
+    public void completeRun(String runKey) {
+        log.info("Center statistics rollups backfilled for the run of {}", runKey);
+    }
+}
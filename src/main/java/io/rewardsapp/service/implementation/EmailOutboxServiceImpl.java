@@ -0,0 +1,288 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.notification.EmailOutboxMessage;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.dto.EmailOutboxMetricsDTO;
+import io.rewardsapp.enums.EmailStatus;
+import io.rewardsapp.repository.EmailOutboxRepository;
+import io.rewardsapp.repository.JobRepository;
+import io.rewardsapp.service.EmailOutboxService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static io.rewardsapp.enums.EmailStatus.FAILED;
+import static io.rewardsapp.enums.EmailStatus.PENDING;
+import static io.rewardsapp.enums.EmailStatus.SENDING;
+import static io.rewardsapp.service.implementation.EmailServiceImpl.UTF_8_ENCODING;
+
+/**
+ * Delivery engine of the email outbox. Emails are stored in the {@code email_outbox} table when they are queued,
+ * so pending mail survives restarts. A single scheduled dispatcher claims due emails in batches, renders their
+ * templates and sends every batch over one SMTP connection, never exceeding the configured rate. Only the instance
+ * holding the dispatch lease in the {@code job_partitions} table sends, so the rate applies to the whole cluster,
+ * and another instance takes over once the lease of a stopped one expires. Failed emails are retried with
+ * exponential backoff until the maximum number of attempts is reached.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    public static final long EMAIL_DISPATCH_INTERVAL = 1_000;
+    public static final long EMAIL_MAINTENANCE_INTERVAL = 300_000;
+    public static final Duration EMAIL_RETRY_BASE_DELAY = Duration.ofMinutes(1);
+    public static final Duration EMAIL_RETRY_MAX_DELAY = Duration.ofHours(1);
+    public static final Duration EMAIL_CLAIM_TIMEOUT = Duration.ofMinutes(10);
+    public static final Duration EMAIL_SENT_RETENTION = Duration.ofDays(7);
+    public static final String EMAIL_DISPATCH_LEASE = "email-outbox-dispatch";
+    public static final String EMAIL_DISPATCH_LEASE_RUN_KEY = "lease";
+    public static final Duration EMAIL_DISPATCH_LEASE_DURATION = Duration.ofSeconds(30);
+
+    private static final int THROUGHPUT_WINDOW_SECONDS = 60;
+
+    @Value("${spring.mail.username}")
+    private String FROM;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.rate-per-second:10}")
+    private int ratePerSecond;
+
+    @Value("${email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JobRepository jobRepository;
+    private final JavaMailSender mailSender;
+    private final TemplateEngine templateEngine;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong sentTotal = new AtomicLong();
+    private final AtomicLong retriedTotal = new AtomicLong();
+    private final AtomicLong failedTotal = new AtomicLong();
+    private final AtomicLongArray sentPerSecond = new AtomicLongArray(THROUGHPUT_WINDOW_SECONDS);
+    private final AtomicLongArray bucketSeconds = new AtomicLongArray(THROUGHPUT_WINDOW_SECONDS);
+
+    /**
+     * Creates the dispatch lease unless another instance already did.
+     */
+    @PostConstruct
+    public void init() {
+        jobRepository.createRun(EMAIL_DISPATCH_LEASE, EMAIL_DISPATCH_LEASE_RUN_KEY, nodeId);
+        jobRepository.createPartitions(EMAIL_DISPATCH_LEASE, EMAIL_DISPATCH_LEASE_RUN_KEY, List.of(new KeyRange(0, 0)));
+    }
+
+    /**
+     * Releases the dispatch lease, so another instance takes over without waiting for it to expire.
+     */
+    @PreDestroy
+    public void shutdown() {
+        jobRepository.releaseLease(EMAIL_DISPATCH_LEASE, EMAIL_DISPATCH_LEASE_RUN_KEY, nodeId);
+    }
+
+    /**
+     * Queues an email for delivery.
+     *
+     * @param message The email to queue.
+     */
+    @Override
+    public void enqueue(EmailOutboxMessage message) {
+        outboxRepository.save(message);
+    }
+
+    /**
+     * Queues several emails for delivery using a single batch insert.
+     *
+     * @param messages The emails to queue.
+     */
+    @Override
+    public void enqueueAll(Collection<EmailOutboxMessage> messages) {
+        outboxRepository.saveAll(messages);
+    }
+
+    /**
+     * Claims due emails in batches and sends them, sending at most {@code email.outbox.rate-per-second}
+     * emails per run. Runs are at least one second apart and only the instance holding the dispatch lease
+     * sends, which keeps the delivery of the whole cluster under the configured rate.
+     */
+    @Override
+    @Scheduled(fixedDelay = EMAIL_DISPATCH_INTERVAL)
+    public void dispatchPending() {
+        if (!jobRepository.acquireLease(EMAIL_DISPATCH_LEASE, EMAIL_DISPATCH_LEASE_RUN_KEY, nodeId, LocalDateTime.now().plus(EMAIL_DISPATCH_LEASE_DURATION))) {
+            return;
+        }
+
+        int budget = ratePerSecond;
+
+        while (budget > 0) {
+            List<EmailOutboxMessage> batch = outboxRepository.claimBatch(Math.min(batchSize, budget));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            deliver(batch);
+            budget -= batch.size();
+        }
+    }
+
+    /**
+     * Puts back emails left in the SENDING state by an instance that stopped mid-batch
+     * and removes delivered emails older than the retention period.
+     */
+    @Scheduled(fixedDelay = EMAIL_MAINTENANCE_INTERVAL)
+    public void maintainOutbox() {
+        int released = outboxRepository.releaseStale(LocalDateTime.now().minus(EMAIL_CLAIM_TIMEOUT));
+        int deleted = outboxRepository.deleteSent(LocalDateTime.now().minus(EMAIL_SENT_RETENTION));
+
+        if (released + deleted > 0) {
+            log.info("Email outbox maintenance: released {} stale emails, deleted {} delivered emails", released, deleted);
+        }
+    }
+
+    @Override
+    public EmailOutboxMetricsDTO getMetrics() {
+        Map<EmailStatus, Long> counts = outboxRepository.countByStatus();
+
+        return EmailOutboxMetricsDTO.builder()
+                .pending(counts.getOrDefault(PENDING, 0L))
+                .sending(counts.getOrDefault(SENDING, 0L))
+                .failed(counts.getOrDefault(FAILED, 0L))
+                .sentTotal(sentTotal.get())
+                .retriedTotal(retriedTotal.get())
+                .failedTotal(failedTotal.get())
+                .sentLastMinute(sentInLastMinute())
+                .build();
+    }
+
+    /* Renders the batch and sends it over a single SMTP connection, rescheduling the emails that failed. */
+    private void deliver(List<EmailOutboxMessage> batch) {
+        Map<MimeMessage, EmailOutboxMessage> prepared = new IdentityHashMap<>();
+
+        for (EmailOutboxMessage message : batch) {
+            try {
+                prepared.put(toMimeMessage(message), message);
+            } catch (Exception exception) {
+                log.error("Unable to render email {} for {}: {}", message.getId(), message.getRecipient(), exception.getMessage());
+                markFailed(message, exception);
+            }
+        }
+
+        if (prepared.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failedMessages = Map.of();
+        try {
+            mailSender.send(prepared.keySet().toArray(MimeMessage[]::new));
+
+        } catch (MailSendException exception) {
+            failedMessages = exception.getFailedMessages();
+
+        } catch (MailException exception) {
+            log.error("Unable to send email batch: {}", exception.getMessage());
+            prepared.values().forEach(message -> retry(message, exception));
+            return;
+        }
+
+        List<Long> sentIds = new ArrayList<>(prepared.size());
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : prepared.entrySet()) {
+            Exception failure = failedMessages.get(entry.getKey());
+            if (failure == null) {
+                sentIds.add(entry.getValue().getId());
+            } else {
+                retry(entry.getValue(), failure);
+            }
+        }
+
+        outboxRepository.markSent(sentIds);
+        sentTotal.addAndGet(sentIds.size());
+        recordSent(sentIds.size());
+        log.debug("Sent {} of {} emails in batch", sentIds.size(), batch.size());
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        Context context = new Context();
+        context.setVariables(message.getVariables());
+        String text = templateEngine.process(message.getTemplate(), context);
+
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, UTF_8_ENCODING);
+        helper.setPriority(message.getPriority());
+        helper.setSubject(message.getSubject());
+        helper.setFrom(FROM);
+        helper.setTo(message.getRecipient());
+        helper.setText(text, true);
+        return mimeMessage;
+    }
+
+    /* Schedules another attempt with exponential backoff, or marks the email as failed after the last attempt. */
+    private void retry(EmailOutboxMessage message, Exception exception) {
+        int attempt = message.getAttempts() + 1;
+        if (attempt >= maxAttempts) {
+            log.error("Giving up on email {} to {} after {} attempts: {}", message.getId(), message.getRecipient(), attempt, exception.getMessage());
+            markFailed(message, exception);
+            return;
+        }
+
+        Duration delay = EMAIL_RETRY_BASE_DELAY.multipliedBy(1L << Math.min(attempt - 1, 20));
+        if (delay.compareTo(EMAIL_RETRY_MAX_DELAY) > 0) {
+            delay = EMAIL_RETRY_MAX_DELAY;
+        }
+
+        outboxRepository.reschedule(message.getId(), PENDING, LocalDateTime.now().plus(delay), exception.getMessage());
+        retriedTotal.incrementAndGet();
+    }
+
+    private void markFailed(EmailOutboxMessage message, Exception exception) {
+        outboxRepository.reschedule(message.getId(), FAILED, LocalDateTime.now(), exception.getMessage());
+        failedTotal.incrementAndGet();
+    }
+
+    /* Adds the sent emails to the per-second bucket of the current second, resetting buckets left from a previous window. */
+    private void recordSent(int count) {
+        long second = System.currentTimeMillis() / 1000;
+        int index = (int) (second % THROUGHPUT_WINDOW_SECONDS);
+
+        if (bucketSeconds.getAndSet(index, second) != second) {
+            sentPerSecond.set(index, 0);
+        }
+        sentPerSecond.addAndGet(index, count);
+    }
+
+    private long sentInLastMinute() {
+        long now = System.currentTimeMillis() / 1000;
+        long total = 0;
+
+        for (int i = 0; i < THROUGHPUT_WINDOW_SECONDS; i++) {
+            if (now - bucketSeconds.get(i) < THROUGHPUT_WINDOW_SECONDS) {
+                total += sentPerSecond.get(i);
+            }
+        }
+        return total;
+    }
+}
@@ -1,139 +1,99 @@
 package io.rewardsapp.service.implementation;
 
+import io.rewardsapp.domain.notification.EmailOutboxMessage;
+import io.rewardsapp.dto.UserDTO;
 import io.rewardsapp.enums.VerificationType;
 import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.service.EmailOutboxService;
 import io.rewardsapp.service.EmailService;
-import jakarta.mail.BodyPart;
-import jakarta.mail.internet.MimeBodyPart;
-import jakarta.mail.internet.MimeMessage;
-import jakarta.mail.internet.MimeMultipart;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Service implementation for handling email-related operations.
+ * Service implementation for handling email-related operations. Emails are not sent directly: they are
+ * queued in the email outbox, which renders and delivers them in the background.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    @Value("${spring.mail.username}")
-    private String FROM;
-
     public static final String UTF_8_ENCODING = "UTF-8";
     public static final String VERIFICATION_EMAIL_TEMPLATE = "verification-email-template";
-    public static final String INACTIVITY_EMAIL_TEMPLATE = "inactivity-email-template";
-    public static final String TEXT_HTML_ENCODING = "text/html";
+    public static final String INACTIVITY_EMAIL_TEMPLATE = "inactivity_email_template";
+    public static final String INACTIVITY_EMAIL_SUBJECT = ".msgRecyclingRewards - Make A Change In The Environment";
+    public static final String MONTHLY_POINTS_EMAIL_TEMPLATE = "monthly_points_email_template";
+    public static final String MONTHLY_POINTS_EMAIL_SUBJECT = ".msgRecyclingRewards - Your Reward Points For ";
 
-    private final JavaMailSender mailSender;
-    private final TemplateEngine templateEngine;
+    private final EmailOutboxService emailOutboxService;
 
     /**
-     * Sends a verification email to the user asynchronously.
+     * Queues a verification email for the user.
      *
      * @param firstName        The first name of the user.
      * @param email            The email address of the user.
      * @param verificationUrl  The verification URL for the user.
      * @param verificationType The type of verification (e.g., PASSWORD or ACCOUNT).
-     * @throws ApiException If there is an issue sending the email.
+     * @throws ApiException If there is an issue queueing the email.
      */
-    @Async
     @Override
     public void sendVerificationEmail(String firstName, String email, String verificationUrl, VerificationType verificationType) {
-        try {
-            MimeMessage message = getMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, UTF_8_ENCODING);
-
-            helper.setPriority(1);
-            helper.setSubject(".msgRecyclingRewards - " + StringUtils.capitalize(verificationType.getType()) + " Verification Email");
-            helper.setFrom(FROM);
-            helper.setTo(email);
-
-            String emailContent = getVerificationEmailMessage(verificationType);
-
-            Context context = new Context();
-            context.setVariable("name", firstName);
-            context.setVariable("url", verificationUrl);
-            context.setVariable("emailContent", emailContent);
-            context.setVariable("verificationType", verificationType.name());
-
-            String text = templateEngine.process(VERIFICATION_EMAIL_TEMPLATE, context);
-
-            MimeMultipart mimeMultipart = new MimeMultipart("related");
-
-            BodyPart messageBodyPart = new MimeBodyPart();
-            messageBodyPart.setContent(text, TEXT_HTML_ENCODING);
-            mimeMultipart.addBodyPart(messageBodyPart);
-
-            message.setContent(mimeMultipart);
-
-            mailSender.send(message);
-
-            log.info("HTML Email with embedded files sent to {}", firstName);
-
-        } catch (Exception exception) {
-            log.error("Error sending verification email to {}: {}", firstName, exception.getMessage());
-            throw new ApiException("Error sending verification email");
-        }
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", firstName);
+        variables.put("url", verificationUrl);
+        variables.put("emailContent", getVerificationEmailMessage(verificationType));
+        variables.put("verificationType", verificationType.name());
+
+        emailOutboxService.enqueue(buildMessage(
+                email,
+                ".msgRecyclingRewards - " + StringUtils.capitalize(verificationType.getType()) + " Verification Email",
+                VERIFICATION_EMAIL_TEMPLATE,
+                1,
+                variables
+        ));
+
+        log.info("Verification email queued for {}", firstName);
     }
 
     /**
-     * Sends an inactive user notification email asynchronously.
+     * Queues an inactive user notification email.
      *
-     * @param email    The email address of the inactive user.
+     * @param email     The email address of the inactive user.
      * @param firstName The first name of the inactive user.
-     * @throws ApiException If there is an issue sending the email.
+     * @throws ApiException If there is an issue queueing the email.
      */
-    @Async
     @Override
     public void sendInactiveUserEmail(String email, String firstName) {
-        try {
-            MimeMessage message = getMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, UTF_8_ENCODING);
-
-            helper.setPriority(2);
-            helper.setSubject(".msgRecyclingRewards - Make A Change In The Environment");
-            helper.setFrom(FROM);
-            helper.setTo(email);
-
-            String emailContent = getInactivityEmailMessage();
-
-            Context context = new Context();
-            context.setVariable("name", firstName);
-            context.setVariable("emailContent", emailContent);
-
-            String text = templateEngine.process(INACTIVITY_EMAIL_TEMPLATE, context);
-
-            MimeMultipart mimeMultipart = new MimeMultipart("related");
-
-            BodyPart messageBodyPart = new MimeBodyPart();
-            messageBodyPart.setContent(text, TEXT_HTML_ENCODING);
-            mimeMultipart.addBodyPart(messageBodyPart);
-
-            message.setContent(mimeMultipart);
-
-            mailSender.send(message);
+        emailOutboxService.enqueue(buildInactivityMessage(email, firstName));
+        log.info("Inactive user notification email queued for {}", firstName);
+    }
 
-            log.info("Inactive user notification email sent to {}", firstName);
+    /**
+     * Queues the inactive user notification emails of several users with a single batch insert.
+     *
+     * @param users The inactive users to notify.
+     */
+    @Override
+    public void sendInactiveUserEmails(List<UserDTO> users) {
+        emailOutboxService.enqueueAll(users.stream()
+                .map(user -> buildInactivityMessage(user.email(), user.firstName()))
+                .toList());
 
-        } catch (Exception exception) {
-            log.error("Error sending inactive user notification email to {}: {}", firstName, exception.getMessage());
-            throw new ApiException("Error sending inactive user notification email");
-        }
+        log.info("Inactive user notification emails queued for {} users", users.size());
     }
 
-    @Override
-    public void sendMonthlyRewardPointsEmail(String email, String s, Long earnedPoints) {
+    private EmailOutboxMessage buildInactivityMessage(String email, String firstName) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", firstName);
+        variables.put("emailContent", getInactivityEmailMessage());
 
+        return buildMessage(email, INACTIVITY_EMAIL_SUBJECT, INACTIVITY_EMAIL_TEMPLATE, 2, variables);
     }
 
     private String getInactivityEmailMessage() {
@@ -154,11 +114,14 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
-    private MimeMessage getMimeMessage() {
-        return mailSender.createMimeMessage();
-    }
-
-    private String getContentId(String filename) {
-        return "<" + filename + ">";
+    /* Builds the outbox entry for an email rendered from the given template. */
+    private EmailOutboxMessage buildMessage(String recipient, String subject, String template, int priority, Map<String, Object> variables) {
+        return EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .template(template)
+                .priority(priority)
+                .variables(variables)
+                .build();
     }
 }
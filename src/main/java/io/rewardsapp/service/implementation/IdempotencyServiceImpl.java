@@ -0,0 +1,186 @@
+package io.rewardsapp.service.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rewardsapp.domain.HttpResponse;
+import io.rewardsapp.domain.IdempotentResponse;
+import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.repository.IdempotencyRepository;
+import io.rewardsapp.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Executes write requests at most once per idempotency key. Recent keys are kept in an in-memory window, so a retry
+ * reaching the same instance waits for the first request and gets its response without touching the database.
+ * Across instances, the key is claimed in the {@code idempotency_keys} table and the response is stored in the same
+ * transaction as the request itself, so a retry handled by another instance either waits for the first transaction
+ * and replays its response, or executes the request if the first transaction rolled back.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+    public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 100;
+    public static final Duration IDEMPOTENCY_WINDOW = Duration.ofMinutes(10);
+    public static final Duration IDEMPOTENCY_KEY_RETENTION = Duration.ofHours(24);
+    public static final long IDEMPOTENCY_PURGE_INTERVAL = 60_000;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, WindowEntry> window = new ConcurrentHashMap<>();
+
+    /**
+     * Executes the action once for the user and idempotency key, returning the stored response to every retry.
+     * Without a key, the action is simply executed. Failed actions are not stored, so they can be retried.
+     *
+     * @param userId         The ID of the authenticated user, keys are scoped per user.
+     * @param idempotencyKey The value of the Idempotency-Key header, or null if the client did not send one.
+     * @param operation      The name of the operation, for example the request path.
+     * @param request        The request payload, whose SHA-256 digest rejects a key reused for a different request.
+     * @param action         The request handler, executed in the transaction that claims the key.
+     * @return The response of the first execution, marked with the Idempotent-Replayed header when replayed.
+     * @throws ApiException If the key is invalid or was used for a different request.
+     */
+    @Override
+    public ResponseEntity<HttpResponse> execute(Long userId, String idempotencyKey, String operation, Object request,
+                                                Supplier<ResponseEntity<HttpResponse>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH) {
+            throw new ApiException("The Idempotency-Key header must have between 1 and " + IDEMPOTENCY_KEY_MAX_LENGTH + " characters.");
+        }
+
+        String requestHash = digest(operation, request);
+        String windowKey = userId + ":" + idempotencyKey;
+        WindowEntry entry = new WindowEntry(requestHash, new CompletableFuture<>(), System.currentTimeMillis());
+
+        WindowEntry existing = window.putIfAbsent(windowKey, entry);
+        if (existing != null) {
+            checkSameRequest(existing.requestHash(), requestHash);
+            return markReplayed(awaitResponse(existing));
+        }
+
+        try {
+            ResponseEntity<HttpResponse> response = transactionTemplate.execute(
+                    status -> executeOnce(userId, idempotencyKey, requestHash, action));
+            entry.response().complete(response);
+            return response;
+
+        } catch (RuntimeException exception) {
+            window.remove(windowKey, entry);
+            entry.response().completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Removes the keys that left the in-memory window and deletes the stored keys older than the retention period.
+     */
+    @Override
+    @Scheduled(fixedDelay = IDEMPOTENCY_PURGE_INTERVAL)
+    public void purgeExpired() {
+        long windowStart = System.currentTimeMillis() - IDEMPOTENCY_WINDOW.toMillis();
+        window.values().removeIf(entry -> entry.response().isDone() && entry.createdAt() < windowStart);
+
+        int deleted = idempotencyRepository.deleteCreatedBefore(LocalDateTime.now().minus(IDEMPOTENCY_KEY_RETENTION));
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    /* Claims the key and executes the action, or replays the response stored by the transaction that claimed it first. */
+    private ResponseEntity<HttpResponse> executeOnce(Long userId, String idempotencyKey, String requestHash,
+                                                     Supplier<ResponseEntity<HttpResponse>> action) {
+        if (!idempotencyRepository.claim(userId, idempotencyKey, requestHash)) {
+            IdempotentResponse stored = idempotencyRepository.findResponse(userId, idempotencyKey)
+                    .orElseThrow(() -> new ApiException("The request with this Idempotency-Key is still being processed."));
+            checkSameRequest(stored.getRequestHash(), requestHash);
+            return markReplayed(ResponseEntity.status(stored.getStatusCode()).body(readBody(stored.getBody())));
+        }
+
+        ResponseEntity<HttpResponse> response = action.get();
+        idempotencyRepository.saveResponse(userId, idempotencyKey, response.getStatusCode().value(), writeBody(response.getBody()));
+        return response;
+    }
+
+    private ResponseEntity<HttpResponse> awaitResponse(WindowEntry entry) {
+        try {
+            return entry.response().join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    private void checkSameRequest(String storedRequestHash, String requestHash) {
+        if (!storedRequestHash.equals(requestHash)) {
+            throw new ApiException("This Idempotency-Key was already used for a different request.");
+        }
+    }
+
+    /* Computes the Base64 encoded SHA-256 digest of the operation and the JSON serialized request. */
+    private String digest(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to digest the request for the idempotency key", exception);
+        }
+    }
+
+    private ResponseEntity<HttpResponse> markReplayed(ResponseEntity<HttpResponse> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.set(IDEMPOTENT_REPLAY_HEADER, "true");
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private String writeBody(HttpResponse body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to store the response for the idempotency key", exception);
+        }
+    }
+
+    private HttpResponse readBody(String body) {
+        try {
+            return objectMapper.readValue(body, HttpResponse.class);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to read the response stored for the idempotency key", exception);
+        }
+    }
+
+    private record WindowEntry(String requestHash, CompletableFuture<ResponseEntity<HttpResponse>> response, long createdAt) {
+    }
+}
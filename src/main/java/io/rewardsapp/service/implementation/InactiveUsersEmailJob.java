@@ -0,0 +1,62 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.dto.UserDTO;
+import io.rewardsapp.service.EmailService;
+import io.rewardsapp.service.PartitionedJob;
+import io.rewardsapp.service.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sends the weekly email to users who did not log in during the week before the run (if they have notifications
+ * enabled). The user IDs are split into partitions, so all nodes look up and queue the emails in parallel.
+ * A partition taken over after its lease expired may queue some of its emails again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InactiveUsersEmailJob implements PartitionedJob {
+
+    public static final String INACTIVE_USERS_EMAIL_JOB = "inactive-users-email";
+
+    private final UserService userService;
+    private final EmailService emailService;
+
+    @Override
+    public String getName() {
+        return INACTIVE_USERS_EMAIL_JOB;
+    }
+
+    @Override
+    public Optional<KeyRange> prepareRun(String runKey) {
+        return userService.getUserIdRange();
+    }
+
+    /**
+     * Queues the emails of the inactive users of the partition.
+     *
+     * @param partition The partition, whose run key is the day of the run in ISO format.
+     */
+    @Override
+    public void processPartition(JobPartition partition) {
+        LocalDateTime oneWeekAgo = LocalDate.parse(partition.getRunKey()).minusWeeks(1).atStartOfDay();
+        List<UserDTO> inactiveUsers = userService.findInactiveUsers(oneWeekAgo, partition.getRangeStart(), partition.getRangeEnd());
+
+        emailService.sendInactiveUserEmails(inactiveUsers.stream()
+                .filter(UserDTO::notificationsEnabled)
+                .toList());
+    }
+
+    @Override
+    public void completeRun(String runKey) {
+        log.info("Inactive user emails queued for the run of {}", runKey);
+    }
+}
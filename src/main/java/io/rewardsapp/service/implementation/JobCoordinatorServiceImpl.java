@@ -0,0 +1,201 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.repository.JobRepository;
+import io.rewardsapp.service.JobCoordinatorService;
+import io.rewardsapp.service.PartitionedJob;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coordinates scheduled jobs across application instances through the {@code job_runs} and {@code job_partitions}
+ * tables. Every instance fires the same schedule, but only the instance that registers the run for a tick prepares
+ * it and splits its key range into partitions. All instances then lease partitions and process them in parallel.
+ * A partition leased by an instance that stopped is taken over once its lease expires, and the run is completed
+ * by exactly one instance after its last partition is processed. Partitions are processed by a small pool of job
+ * workers, so long runs never hold the scheduler threads shared by the other scheduled tasks.
+ */
+@Slf4j
+@Service
+public class JobCoordinatorServiceImpl implements JobCoordinatorService {
+
+    public static final Duration JOB_PARTITION_LEASE = Duration.ofMinutes(5);
+    public static final long JOB_PARTITION_POLL_INTERVAL = 10_000;
+    public static final long JOB_WORKERS_SHUTDOWN_TIMEOUT = 10_000;
+
+    @Value("${scheduled-jobs.partitions:16}")
+    private int partitionCount;
+
+    @Value("${scheduled-jobs.workers:2}")
+    private int workerCount;
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, PartitionedJob> jobs;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private ThreadPoolExecutor workers;
+
+    public JobCoordinatorServiceImpl(JobRepository jobRepository, TransactionTemplate transactionTemplate, List<PartitionedJob> jobs) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jobs = jobs.stream().collect(Collectors.toMap(PartitionedJob::getName, Function.identity()));
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger workerNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(
+                workerCount,
+                workerCount,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount),
+                runnable -> new Thread(runnable, "job-worker-" + workerNumber.incrementAndGet()),
+                new ThreadPoolExecutor.DiscardPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+
+        // interrupted chunks roll back, and their partitions are resumed by any node once their lease expires
+        if (!workers.awaitTermination(JOB_WORKERS_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts a run of the job for the given schedule tick, unless another instance already started it,
+     * and then hands the processing of its partitions to the job workers.
+     *
+     * @param job    The job to run.
+     * @param runKey The key of the schedule tick, identical on every instance.
+     * @return {@code true} if this instance started the run.
+     */
+    @Override
+    public boolean startRun(PartitionedJob job, String runKey) {
+        Boolean started = transactionTemplate.execute(status -> {
+            if (!jobRepository.createRun(job.getName(), runKey, nodeId)) {
+                return false;
+            }
+
+            job.prepareRun(runKey).ifPresent(range ->
+                    jobRepository.createPartitions(job.getName(), runKey, split(range)));
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(started)) {
+            log.info("Started run {} of job {} on node {}", runKey, job.getName(), nodeId);
+        } else {
+            log.info("Run {} of job {} was already started by another node", runKey, job.getName());
+        }
+
+        dispatchPartitions();
+        return Boolean.TRUE.equals(started);
+    }
+
+    /**
+     * Asks a job worker to process the pending partitions. The request is dropped while every worker is busy and
+     * as many requests are already queued, since each queued request processes every partition left.
+     */
+    @Scheduled(fixedDelay = JOB_PARTITION_POLL_INTERVAL)
+    public void dispatchPartitions() {
+        workers.execute(() -> {
+            try {
+                processPartitions();
+            } catch (Exception exception) {
+                log.error("Error processing the partitions of scheduled jobs", exception);
+            }
+        });
+    }
+
+    /**
+     * Leases and processes partitions of the registered jobs until none are left, then completes the runs
+     * whose partitions are all processed.
+     */
+    @Override
+    public void processPartitions() {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        Optional<JobPartition> partition;
+        while ((partition = jobRepository.claimPartition(jobs.keySet(), nodeId, LocalDateTime.now().plus(JOB_PARTITION_LEASE))).isPresent()) {
+            process(partition.get());
+        }
+
+        jobs.values().forEach(this::completeRuns);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void process(JobPartition partition) {
+        PartitionedJob job = jobs.get(partition.getJobName());
+
+        try {
+            job.processPartition(partition);
+
+            if (!jobRepository.completePartition(partition.getId(), nodeId)) {
+                log.warn("Lease of partition {} of job {} expired before it was completed", partition.getPartitionNo(), job.getName());
+            }
+
+        } catch (Exception exception) {
+            // the partition stays leased and is retried by any node once the lease expires
+            log.error("Error processing partition {} of job {} run {}", partition.getPartitionNo(), job.getName(), partition.getRunKey(), exception);
+        }
+    }
+
+    /* Completes the runs of the job whose partitions are all processed, running the completion step in the same transaction. */
+    private void completeRuns(PartitionedJob job) {
+        for (String runKey : jobRepository.findRunningRunKeys(job.getName())) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (jobRepository.completeRun(job.getName(), runKey)) {
+                        job.completeRun(runKey);
+                        log.info("Completed run {} of job {}", runKey, job.getName());
+                    }
+                });
+
+            } catch (Exception exception) {
+                log.error("Error completing run {} of job {}", runKey, job.getName(), exception);
+            }
+        }
+    }
+
+    /* Splits the key range into at most the configured number of partitions of equal width. */
+    private List<KeyRange> split(KeyRange range) {
+        long span = range.end() - range.start() + 1;
+        long width = (span + partitionCount - 1) / partitionCount;
+
+        List<KeyRange> partitions = new ArrayList<>(partitionCount);
+        for (long start = range.start(); start <= range.end(); start += width) {
+            partitions.add(new KeyRange(start, Math.min(start + width - 1, range.end())));
+        }
+        return partitions;
+    }
+}
@@ -3,27 +3,33 @@ package io.rewardsapp.service.implementation;
 import io.rewardsapp.domain.auth.User;
 import io.rewardsapp.dto.LeaderboardEntryDTO;
 import io.rewardsapp.exception.ApiException;
-import io.rewardsapp.repository.JpaUserRepository;
+import io.rewardsapp.provider.LeaderboardIndex;
+import io.rewardsapp.provider.LeaderboardIndex.RankedMember;
+import io.rewardsapp.provider.LeaderboardIndex.Slice;
+import io.rewardsapp.repository.LeaderboardRepository;
 import io.rewardsapp.service.LeaderboardService;
-import io.rewardsapp.service.RoleService;
-import io.rewardsapp.specs.LeaderboardSpecification;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
+/**
+ * Serves the leaderboard from the in-memory {@link LeaderboardIndex}, which ranks the users by reward points
+ * and excludes administrators. The ranks are global to the requested leaderboard, and the profiles of the users
+ * of a page are read with a single query.
+ */
 @Service
 @RequiredArgsConstructor
 public class LeaderboardServiceImpl implements LeaderboardService {
-    private final JpaUserRepository userRepository;
-    private final RoleService roleService;
+    private static final String SORT_BY_REWARD_POINTS = "rewardPoints";
+
+    private final LeaderboardIndex leaderboardIndex;
+    private final LeaderboardRepository leaderboardRepository;
 
     /**
      * Retrieves a paginated list of leaderboard entries based on specified criteria.
@@ -31,61 +37,50 @@ public class LeaderboardServiceImpl implements LeaderboardService {
      * @param county     The county for which the leaderboard entries are to be fetched.
      * @param page       The page number (zero-based) of the leaderboard results to retrieve.
      * @param size       The number of leaderboard entries to retrieve per page.
-     * @param sortBy     The field by which the results should be sorted.
+     * @param sortBy     The field by which the results should be sorted, only rewardPoints is supported.
      * @param sortOrder  The order in which the results should be sorted (asc or desc).
      * @return A paginated list of leaderboard entries.
-     * @throws ApiException If an error occurs during the retrieval process.
+     * @throws ApiException If the criteria are invalid or an error occurs during the retrieval process.
      */
     @Override
     public Page<LeaderboardEntryDTO> getLeaderboard(String county, int page, int size, String sortBy, String sortOrder) {
-        try {
-            Pageable pageable = PageRequest.of(page, size);
-            Specification<User> specification = LeaderboardSpecification.buildLeaderboardSpecification(county, sortBy, sortOrder);
-
-            Page<User> userPage = userRepository.findAll(specification, pageable);
-
-            List<LeaderboardEntryDTO> leaderboardEntries = userPage.getContent().stream()
-                    .map(this::mapToLeaderboardEntryDTO)
-                    .collect(Collectors.toList());
+        if (!SORT_BY_REWARD_POINTS.equals(sortBy)) {
+            throw new ApiException("The leaderboard can only be sorted by " + SORT_BY_REWARD_POINTS + ".");
+        }
+        if (page < 0 || size < 1) {
+            throw new ApiException("Invalid leaderboard page.");
+        }
 
-            if ("rewardPoints".equals(sortBy)) {
-                Comparator<LeaderboardEntryDTO> comparator = Comparator.comparing(LeaderboardEntryDTO::getRewardPoints);
-                if ("desc".equalsIgnoreCase(sortOrder)) {
-                    comparator = comparator.reversed();
-                }
-                leaderboardEntries.sort(comparator);
-            }
+        try {
+            Slice slice = leaderboardIndex.getSlice(county, (int) Math.min(Integer.MAX_VALUE, (long) page * size), size,
+                    "asc".equalsIgnoreCase(sortOrder));
+            Map<Long, User> profiles = leaderboardRepository.findProfiles(slice.members().stream().map(RankedMember::userId).toList());
 
-            calculateRank(leaderboardEntries);
+            List<LeaderboardEntryDTO> leaderboardEntries = slice.members().stream()
+                    .map(member -> mapToLeaderboardEntryDTO(member, profiles.get(member.userId())))
+                    .filter(Objects::nonNull)
+                    .toList();
 
-            return PageableExecutionUtils.getPage(leaderboardEntries, pageable, userPage::getTotalElements);
+            return new PageImpl<>(leaderboardEntries, PageRequest.of(page, size), slice.total());
 
         } catch (Exception exception) {
             throw new ApiException("Error occurred while fetching leaderboard. Please try again later." + exception.getMessage());
         }
     }
 
-    private void calculateRank(List<LeaderboardEntryDTO> leaderboardEntries) {
-        List<LeaderboardEntryDTO> sortedEntries = leaderboardEntries.stream()
-                .sorted((entry1, entry2) -> Long.compare(entry2.getRewardPoints(), entry1.getRewardPoints()))
-                .toList();
-
-        long rank = 1L;
-        for (LeaderboardEntryDTO entry : sortedEntries) {
-            if (!entry.isAdministration()) {
-                entry.setRank(rank++);
-            }
-        }
-    }
-
     /**
-     * Maps a User entity to a LeaderboardEntryDTO.
+     * Maps a ranked user and their profile to a LeaderboardEntryDTO.
      *
-     * @param user The user entity to be mapped.
-     * @return The leaderboard entry DTO representing the user.
+     * @param member The ranked user.
+     * @param user   The profile of the user, missing if the user was deleted since it was ranked.
+     * @return The leaderboard entry DTO representing the user, or null without a profile.
      */
-    private LeaderboardEntryDTO mapToLeaderboardEntryDTO(User user) {
-        return LeaderboardEntryDTO.builder()
+    private LeaderboardEntryDTO mapToLeaderboardEntryDTO(RankedMember member, User user) {
+        if (user == null) {
+            return null;
+        }
+
+        LeaderboardEntryDTO entry = LeaderboardEntryDTO.builder()
                 .userId(user.getId())
                 .firstName(user.getFirstName())
                 .lastName(user.getLastName())
@@ -93,10 +88,10 @@ public class LeaderboardServiceImpl implements LeaderboardService {
                 .county(user.getCounty())
                 .city(user.getCity())
                 .imageUrl(user.getImageUrl())
-                .rewardPoints(user.getRewardPoints() != null
-                        ? user.getRewardPoints().getTotalPoints()
-                        : 0L)
-                .administration(roleService.checkIfIsAdministrative(user.getId()))
+                .rewardPoints(member.points())
+                .administration(false)
                 .build();
+        entry.setRank(member.rank());
+        return entry;
     }
 }
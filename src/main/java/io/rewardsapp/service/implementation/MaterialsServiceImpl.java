@@ -1,7 +1,7 @@
 package io.rewardsapp.service.implementation;
 
 import io.rewardsapp.domain.recycling.RecyclableMaterial;
-import io.rewardsapp.repository.MaterialsRepository;
+import io.rewardsapp.provider.MaterialsCatalog;
 import io.rewardsapp.service.MaterialsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -11,11 +11,11 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class MaterialsServiceImpl implements MaterialsService {
-    private final MaterialsRepository materialsRepository;
+    private final MaterialsCatalog materialsCatalog;
 
     @Override
     public List<RecyclableMaterial> getAllMaterials() {
-        return materialsRepository.findAll();
+        return materialsCatalog.getMaterials();
     }
 
 }
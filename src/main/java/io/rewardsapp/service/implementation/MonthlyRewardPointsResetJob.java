@@ -0,0 +1,97 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.recycling.RewardPointsResetChunk;
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.provider.AppStatsCounters;
+import io.rewardsapp.provider.LeaderboardIndex;
+import io.rewardsapp.repository.RewardPointsResetRepository;
+import io.rewardsapp.service.PartitionedJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Optional;
+
+import static io.rewardsapp.service.implementation.EmailServiceImpl.MONTHLY_POINTS_EMAIL_SUBJECT;
+import static io.rewardsapp.service.implementation.EmailServiceImpl.MONTHLY_POINTS_EMAIL_TEMPLATE;
+import static io.rewardsapp.service.implementation.JobCoordinatorServiceImpl.JOB_PARTITION_LEASE;
+import static io.rewardsapp.utils.TransactionUtils.runAfterCommit;
+
+/**
+ * Resets the reward points earned during a month. The node that starts the run copies every balance into the
+ * monthly snapshot table with a single statement. The snapshotted users are then split into user ID partitions that
+ * all nodes reset in parallel, in chunks that each commit together with the partition checkpoint. Once every
+ * partition is reset, the notification emails are queued straight from the snapshot table.
+ * Points earned while the reset runs are kept, since only the snapshotted amount is subtracted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlyRewardPointsResetJob implements PartitionedJob {
+
+    public static final String MONTHLY_RESET_JOB = "monthly-reward-points-reset";
+    public static final int MONTHLY_RESET_CHUNK_SIZE = 2000;
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
+
+    private final RewardPointsResetRepository resetRepository;
+    private final AppStatsCounters appStatsCounters;
+    private final LeaderboardIndex leaderboardIndex;
+
+    @Override
+    public String getName() {
+        return MONTHLY_RESET_JOB;
+    }
+
+    /**
+     * Copies the balances of the month into the snapshot table.
+     *
+     * @param runKey The first day of the month, in ISO format.
+     * @return The range of snapshotted user IDs.
+     */
+    @Override
+    public Optional<KeyRange> prepareRun(String runKey) {
+        LocalDate period = LocalDate.parse(runKey);
+        int snapshots = resetRepository.snapshotBalances(period);
+        log.info("Saved {} reward points snapshots for {}", snapshots, period);
+
+        return resetRepository.findSnapshotUserRange(period);
+    }
+
+    /**
+     * Resets the snapshotted balances of the partition chunk by chunk, starting after its checkpoint.
+     */
+    @Override
+    public void processPartition(JobPartition partition) {
+        LocalDate period = LocalDate.parse(partition.getRunKey());
+        long lastUserId = partition.getLastKey();
+
+        Optional<RewardPointsResetChunk> chunk;
+        while ((chunk = resetRepository.resetChunk(partition, period, lastUserId, MONTHLY_RESET_CHUNK_SIZE,
+                LocalDateTime.now().plus(JOB_PARTITION_LEASE))).isPresent()) {
+            lastUserId = chunk.get().lastUserId();
+            appStatsCounters.recordRewardPoints(-chunk.get().points());
+        }
+
+        log.debug("Reset reward points of users {} to {} for {}", partition.getRangeStart(), partition.getRangeEnd(), period);
+    }
+
+    /**
+     * Queues the monthly reward points emails of the users who enabled notifications, and rebuilds the leaderboard
+     * from the reset balances.
+     */
+    @Override
+    public void completeRun(String runKey) {
+        LocalDate period = LocalDate.parse(runKey);
+        String month = MONTH_FORMATTER.format(period);
+
+        int queued = resetRepository.queueNotifications(period, MONTHLY_POINTS_EMAIL_SUBJECT + month, MONTHLY_POINTS_EMAIL_TEMPLATE, month);
+        log.info("Queued {} monthly reward points emails for {}", queued, period);
+        runAfterCommit(leaderboardIndex::rebuild);
+    }
+}
@@ -0,0 +1,86 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.repository.JobRepository;
+import io.rewardsapp.repository.PointsLedgerRepository;
+import io.rewardsapp.service.PartitionedJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static io.rewardsapp.service.implementation.JobCoordinatorServiceImpl.JOB_PARTITION_LEASE;
+
+/**
+ * Records the {@code reward_points} balances that existed before the points ledger as opening {@code ADJUSTMENT}
+ * entries, so that replaying the ledger does not wipe them. The user ID range is split into partitions that all
+ * nodes process in parallel, in chunks of user IDs that each commit together with the partition checkpoint.
+ * The ledger replay only runs once this backfill completed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PointsLedgerOpeningBackfillJob implements PartitionedJob {
+
+    public static final String POINTS_LEDGER_OPENING_BACKFILL_JOB = "points-ledger-opening-backfill";
+    public static final int POINTS_LEDGER_OPENING_BACKFILL_CHUNK_SIZE = 2000;
+
+    private final PointsLedgerRepository ledgerRepository;
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public String getName() {
+        return POINTS_LEDGER_OPENING_BACKFILL_JOB;
+    }
+
+    /**
+     * @return The range of user IDs that have ledger entries or a balance.
+     */
+    @Override
+    public Optional<KeyRange> prepareRun(String runKey) {
+        return ledgerRepository.findUserRange();
+    }
+
+    /**
+     * Inserts the opening entries of the partition chunk by chunk, starting after its checkpoint. Stops if another
+     * node took over the partition, in which case the chunk in progress is rolled back.
+     */
+    @Override
+    public void processPartition(JobPartition partition) {
+        long lastUserId = partition.getLastKey();
+        int inserted = 0;
+
+        while (lastUserId < partition.getRangeEnd()) {
+            long afterUserId = lastUserId;
+            long toUserId = Math.min(afterUserId + POINTS_LEDGER_OPENING_BACKFILL_CHUNK_SIZE, partition.getRangeEnd());
+
+            Integer chunkInserted = transactionTemplate.execute(status -> {
+                if (!jobRepository.advancePartition(partition.getId(), partition.getOwner(), afterUserId, toUserId,
+                        LocalDateTime.now().plus(JOB_PARTITION_LEASE))) {
+                    return null;
+                }
+                return ledgerRepository.insertOpeningEntries(afterUserId + 1, toUserId);
+            });
+
+            if (chunkInserted == null) {
+                log.warn("Partition {} of run {} was taken over by another node", partition.getPartitionNo(), partition.getRunKey());
+                return;
+            }
+
+            inserted += chunkInserted;
+            lastUserId = toUserId;
+        }
+
+        log.debug("Recorded {} opening ledger entries for users {} to {}", inserted, partition.getRangeStart(), partition.getRangeEnd());
+    }
+
+    @Override
+    public void completeRun(String runKey) {
+        log.info("Opening points ledger entries backfilled for the run of {}", runKey);
+    }
+}
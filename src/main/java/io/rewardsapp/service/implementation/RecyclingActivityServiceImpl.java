@@ -4,32 +4,61 @@ import io.rewardsapp.domain.auth.User;
 import io.rewardsapp.domain.recycling.RecyclableMaterial;
 import io.rewardsapp.domain.recycling.RecyclingCenter;
 import io.rewardsapp.domain.recycling.UserRecyclingActivity;
+import io.rewardsapp.dto.ActivityHistoryDTO;
+import io.rewardsapp.dto.ActivityHistoryPageDTO;
+import io.rewardsapp.dto.ContributionBatchResultDTO;
+import io.rewardsapp.dto.ContributionDTO;
+import io.rewardsapp.dto.ContributionResultDTO;
+import io.rewardsapp.dto.ContributorSummaryDTO;
+import io.rewardsapp.dto.RewardPointsChangeDTO;
 import io.rewardsapp.exception.ApiException;
 import io.rewardsapp.form.CreateRecyclingActivityForm;
+import io.rewardsapp.provider.MaterialsCatalog;
 import io.rewardsapp.repository.*;
 import io.rewardsapp.service.RecyclingActivityService;
 import io.rewardsapp.service.RewardPointsService;
+import io.rewardsapp.service.StatsService;
 import io.rewardsapp.service.VoucherService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static io.rewardsapp.utils.RewardPointsUtils.computeRewardPointsByUnitsRecycled;
 
 @Service
 @RequiredArgsConstructor
 public class RecyclingActivityServiceImpl implements RecyclingActivityService {
 
+    public static final int ACTIVITY_HISTORY_MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = "_";
+
     // Services
     private final RewardPointsService rewardPointsService;
     private final VoucherService voucherService;
+    private final StatsService statsService;
+
+    private final MaterialsCatalog materialsCatalog;
 
     // Repositories
     private final UserRecyclingActivityRepository activityRepository;
     private final JpaUserRepository userRepository;
     private final CenterRepository centerRepository;
     private final MaterialsRepository materialsRepository;
+    private final JdbcRecyclingActivityRepository activityJdbcRepository;
+    private final StatsRollupRepository statsRollupRepository;
 
     /**
      * Retrieves recycling activities of a user at a specific recycling center.
@@ -47,12 +76,12 @@ public class RecyclingActivityServiceImpl implements RecyclingActivityService {
      * Creates a new recycling activity based on the provided form.
      *
      * @param form The form containing recycling activity details.
-     * @return
+     * @return The recorded activity, the points it earned, the new balance and the number of vouchers earned.
      * @throws ApiException if the user, recycling center, or recyclable material is not found.
      */
     @Override
     @Transactional
-    public int createActivity(CreateRecyclingActivityForm form) {
+    public ContributionDTO createActivity(CreateRecyclingActivityForm form) {
         User user = userRepository.findById(form.userId()).orElseThrow(
                 () -> new ApiException("User not found")
         );
@@ -60,8 +89,10 @@ public class RecyclingActivityServiceImpl implements RecyclingActivityService {
         RecyclingCenter recyclingCenter = centerRepository.findById(form.centerId())
                 .orElseThrow(() -> new ApiException("Recycling center not found"));
 
-        RecyclableMaterial material = materialsRepository.findById(form.materialId())
-                .orElseThrow(() -> new ApiException("Recyclable material not found"));
+        if (!materialsCatalog.contains(form.materialId())) {
+            throw new ApiException("Recyclable material not found");
+        }
+        RecyclableMaterial material = materialsRepository.getReferenceById(form.materialId());
 
         UserRecyclingActivity activity = UserRecyclingActivity.builder()
                 .user(user)
@@ -72,12 +103,155 @@ public class RecyclingActivityServiceImpl implements RecyclingActivityService {
                 .build();
 
         activityRepository.save(activity);
+        statsRollupRepository.addActivities(List.of(form), activity.getCreatedAt().toLocalDate());
+        statsService.recordContributions(List.of(form));
+
+        RewardPointsChangeDTO rewardPointsChange = rewardPointsService.updateUserRewardPoints(user, form.amount(), form.materialId());
+
+        return ContributionDTO.builder()
+                .activityId(activity.getActivityId())
+                .pointsEarned(rewardPointsChange.pointsAfter() - rewardPointsChange.pointsBefore())
+                .rewardPoints(rewardPointsChange.pointsAfter())
+                .vouchersEarned(voucherService.checkForEarnedVouchers(user, rewardPointsChange))
+                .build();
+    }
+
+    /**
+     * Creates several recycling activities at once. Users and centers are looked up in bulk, materials are read from the catalog, the valid activities are
+     * inserted with a single JDBC batch and added to the daily statistics rollups with a single statement, the points earned by each user are summed and
+     * applied with a single statement, and vouchers are checked once per user. Invalid activities are rejected without failing the batch.
+     *
+     * @param forms The recycling activities to create.
+     * @return The result of every activity, in the order they were submitted, and a summary per user.
+     */
+    @Override
+    @Transactional
+    public ContributionBatchResultDTO createActivities(List<CreateRecyclingActivityForm> forms) {
+        Set<Long> userIds = activityJdbcRepository.findExistingUserIds(collectIds(forms, CreateRecyclingActivityForm::userId));
+        Set<Long> centerIds = activityJdbcRepository.findExistingCenterIds(collectIds(forms, CreateRecyclingActivityForm::centerId));
+
+        List<ContributionResultDTO> results = new ArrayList<>(forms.size());
+        List<CreateRecyclingActivityForm> acceptedActivities = new ArrayList<>(forms.size());
+        SortedMap<Long, Long> pointsByUserId = new TreeMap<>();
+
+        for (int index = 0; index < forms.size(); index++) {
+            CreateRecyclingActivityForm form = forms.get(index);
+            String error = validateActivity(form, userIds, centerIds);
+
+            if (error != null) {
+                results.add(ContributionResultDTO.builder().index(index).userId(form.userId()).accepted(false).error(error).build());
+                continue;
+            }
+
+            long points = computeRewardPointsByUnitsRecycled(form.amount(), materialsCatalog.getRewardPoints(form.materialId()));
+            acceptedActivities.add(form);
+            pointsByUserId.merge(form.userId(), points, Long::sum);
+            results.add(ContributionResultDTO.builder().index(index).userId(form.userId()).accepted(true).pointsEarned(points).build());
+        }
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        activityJdbcRepository.saveAll(acceptedActivities, createdAt);
+        statsRollupRepository.addActivities(acceptedActivities, createdAt.toLocalDate());
+        statsService.recordContributions(acceptedActivities);
 
-        long rewardPointsBeforeActivity = rewardPointsService.getRewardPointsAmount(form.userId());
+        List<ContributorSummaryDTO> contributors = rewardPointsService.addRewardPoints(pointsByUserId).entrySet().stream()
+                .map(change -> ContributorSummaryDTO.builder()
+                        .userId(change.getKey())
+                        .rewardPoints(change.getValue().pointsAfter())
+                        // only the ID of the user is needed to attach the new vouchers, so the user is not loaded
+                        .vouchersEarned(voucherService.checkForEarnedVouchers(User.builder().id(change.getKey()).build(), change.getValue()))
+                        .build())
+                .toList();
 
-        rewardPointsService.updateUserRewardPoints(user, form.amount(), material);
+        return ContributionBatchResultDTO.builder()
+                .accepted(acceptedActivities.size())
+                .rejected(forms.size() - acceptedActivities.size())
+                .results(results)
+                .contributors(contributors)
+                .build();
+    }
+
+    /**
+     * Retrieves a page of the user's recycling activities, newest first, using keyset pagination on the creation
+     * time and ID of the activities, so every page costs the same regardless of how far the user scrolled.
+     *
+     * @param userId   The ID of the user.
+     * @param centerId The ID of the center to limit the history to (optional).
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @param size     The maximum number of activities of the page.
+     * @return The activities of the page and the cursor of the next page.
+     * @throws ApiException If the cursor or the page size is invalid.
+     */
+    @Override
+    public ActivityHistoryPageDTO getActivityHistory(Long userId, Long centerId, String cursor, int size) {
+        if (size <= 0 || size > ACTIVITY_HISTORY_MAX_PAGE_SIZE) {
+            throw new ApiException("Invalid page size, it must be between 1 and " + ACTIVITY_HISTORY_MAX_PAGE_SIZE);
+        }
+
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorActivityId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorCreatedAt = LocalDateTime.parse(parts[0]);
+            cursorActivityId = Long.parseLong(parts[1]);
+        }
+
+        // one extra activity is read to know whether there is a next page
+        List<ActivityHistoryDTO> activities = activityJdbcRepository.findHistory(userId, centerId, cursorCreatedAt, cursorActivityId, size + 1);
+        if (activities.size() <= size) {
+            return ActivityHistoryPageDTO.builder().activities(activities).build();
+        }
 
-        return voucherService.checkForEarnedVouchers(user, rewardPointsBeforeActivity);
+        List<ActivityHistoryDTO> page = activities.subList(0, size);
+        ActivityHistoryDTO last = page.get(size - 1);
+        return ActivityHistoryPageDTO.builder()
+                .activities(page)
+                .nextCursor(encodeCursor(last.createdAt(), last.activityId()))
+                .build();
+    }
+
+    /* Encodes the position of an activity as an opaque URL-safe cursor. */
+    private String encodeCursor(LocalDateTime createdAt, Long activityId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + CURSOR_SEPARATOR + activityId).getBytes(StandardCharsets.UTF_8));
     }
 
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(CURSOR_SEPARATOR);
+            if (parts.length != 2) {
+                throw new ApiException("Invalid activity history cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new ApiException("Invalid activity history cursor");
+        }
+    }
+
+    /* Returns the reason the activity cannot be accepted, or null if it is valid. */
+    private String validateActivity(CreateRecyclingActivityForm form, Set<Long> userIds, Set<Long> centerIds) {
+        if (!userIds.contains(form.userId())) {
+            return "User not found";
+        }
+        if (!centerIds.contains(form.centerId())) {
+            return "Recycling center not found";
+        }
+        if (!materialsCatalog.contains(form.materialId())) {
+            return "Recyclable material not found";
+        }
+        if (form.amount() == null || form.amount() <= 0) {
+            return "Please provide a positive amount in UNITS for recycling.";
+        }
+        return null;
+    }
+
+    private Set<Long> collectIds(List<CreateRecyclingActivityForm> forms, Function<CreateRecyclingActivityForm, Long> idExtractor) {
+        return forms.stream()
+                .map(idExtractor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
 }
@@ -0,0 +1,94 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.repository.JobRepository;
+import io.rewardsapp.repository.PointsLedgerRepository;
+import io.rewardsapp.service.PartitionedJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static io.rewardsapp.service.implementation.JobCoordinatorServiceImpl.JOB_PARTITION_LEASE;
+import static io.rewardsapp.service.implementation.PointsLedgerOpeningBackfillJob.POINTS_LEDGER_OPENING_BACKFILL_JOB;
+import static io.rewardsapp.service.implementation.ScheduledTasksServiceImpl.POINTS_LEDGER_OPENING_BACKFILL_RUN_KEY;
+
+/**
+ * Rebuilds the {@code reward_points} balances from the points ledger. The user ID range of the ledger is split into
+ * partitions that all nodes replay in parallel, in chunks of user IDs that each commit together with the partition
+ * checkpoint. Balances that drifted from the sum of their ledger entries are corrected, and contributions made
+ * while the replay runs are kept, since they wait for the chunk lock and apply on top of the replayed balance.
+ * Runs are skipped until {@link PointsLedgerOpeningBackfillJob} recorded the balances older than the ledger.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RewardPointsReplayJob implements PartitionedJob {
+
+    public static final String REWARD_POINTS_REPLAY_JOB = "reward-points-replay";
+    public static final int REWARD_POINTS_REPLAY_CHUNK_SIZE = 2000;
+
+    private final PointsLedgerRepository ledgerRepository;
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public String getName() {
+        return REWARD_POINTS_REPLAY_JOB;
+    }
+
+    /**
+     * @return The range of user IDs that have ledger entries or a balance, or an empty optional while the balances
+     * that existed before the ledger are not recorded in it yet, since replaying them would reset them to 0.
+     */
+    @Override
+    public Optional<KeyRange> prepareRun(String runKey) {
+        if (!jobRepository.isRunCompleted(POINTS_LEDGER_OPENING_BACKFILL_JOB, POINTS_LEDGER_OPENING_BACKFILL_RUN_KEY)) {
+            log.warn("Skipping the reward points replay of {} until the opening ledger entries are backfilled", runKey);
+            return Optional.empty();
+        }
+        return ledgerRepository.findUserRange();
+    }
+
+    /**
+     * Replays the balances of the partition chunk by chunk, starting after its checkpoint. Stops if another node
+     * took over the partition, in which case the chunk in progress is rolled back.
+     */
+    @Override
+    public void processPartition(JobPartition partition) {
+        long lastUserId = partition.getLastKey();
+        int corrected = 0;
+
+        while (lastUserId < partition.getRangeEnd()) {
+            long afterUserId = lastUserId;
+            long toUserId = Math.min(afterUserId + REWARD_POINTS_REPLAY_CHUNK_SIZE, partition.getRangeEnd());
+
+            Integer chunkCorrected = transactionTemplate.execute(status -> {
+                if (!jobRepository.advancePartition(partition.getId(), partition.getOwner(), afterUserId, toUserId,
+                        LocalDateTime.now().plus(JOB_PARTITION_LEASE))) {
+                    return null;
+                }
+                return ledgerRepository.replayBalances(afterUserId + 1, toUserId);
+            });
+
+            if (chunkCorrected == null) {
+                log.warn("Partition {} of run {} was taken over by another node", partition.getPartitionNo(), partition.getRunKey());
+                return;
+            }
+
+            corrected += chunkCorrected;
+            lastUserId = toUserId;
+        }
+
+        log.debug("Replayed reward points of users {} to {}, corrected {} balances", partition.getRangeStart(), partition.getRangeEnd(), corrected);
+    }
+
+    @Override
+    public void completeRun(String runKey) {
+        log.info("Reward points balances replayed from the ledger for the run of {}", runKey);
+    }
+}
@@ -1,18 +1,19 @@
 package io.rewardsapp.service.implementation;
 
-import io.rewardsapp.domain.recycling.RecyclableMaterial;
-import io.rewardsapp.domain.recycling.RewardPoints;
 import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.dto.RewardPointsChangeDTO;
+import io.rewardsapp.provider.AppStatsCounters;
+import io.rewardsapp.provider.LeaderboardIndex;
+import io.rewardsapp.provider.MaterialsCatalog;
+import io.rewardsapp.repository.JdbcRewardPointsRepository;
 import io.rewardsapp.repository.RewardPointsRepository;
 import io.rewardsapp.service.RewardPointsService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.SortedMap;
 
 import static io.rewardsapp.utils.RewardPointsUtils.computeRewardPointsByUnitsRecycled;
 
@@ -20,6 +21,10 @@ import static io.rewardsapp.utils.RewardPointsUtils.computeRewardPointsByUnitsRe
 @RequiredArgsConstructor
 public class RewardPointsServiceImpl implements RewardPointsService {
     private final RewardPointsRepository rewardPointsRepository;
+    private final JdbcRewardPointsRepository jdbcRewardPointsRepository;
+    private final MaterialsCatalog materialsCatalog;
+    private final AppStatsCounters appStatsCounters;
+    private final LeaderboardIndex leaderboardIndex;
 
     @Override
     public Long getRewardPointsAmount(Long userId) {
@@ -27,63 +32,36 @@ public class RewardPointsServiceImpl implements RewardPointsService {
     }
 
     /**
-     * Updates the user's reward points based on the recycling activity.
+     * Adds the reward points earned by a recycling activity to the user's balance. The balance is incremented by a
+     * single atomic statement, so concurrent activities of the same user never overwrite each other's points.
      *
      * @param user                    The user for whom reward points are updated.
      * @param amountRecycledInUnits  The amount recycled in units.
-     * @param materialRecycled        The recyclable material being recycled.
+     * @param materialId              The ID of the recyclable material being recycled.
+     * @return The user's balance before and after the activity.
      */
     @Override
     @Transactional
-    public void updateUserRewardPoints(User user, Long amountRecycledInUnits, RecyclableMaterial materialRecycled) {
-        Long additionalRewardPoints = computeRewardPointsByUnitsRecycled(amountRecycledInUnits, materialRecycled.getRewardPoints());
-
-        // Check if the user has existing reward points
-        RewardPoints existingRewardPoints = rewardPointsRepository.findRewardPointsByUserId(user.getId());
-
-        if (existingRewardPoints == null) {
-            // If the user doesn't have reward points entry, create a new one
-            RewardPoints newRewardPoints = RewardPoints.builder()
-                    .user(user)
-                    .totalPoints(additionalRewardPoints)
-                    .lastUpdated(LocalDateTime.now())
-                    .build();
-
-            rewardPointsRepository.save(newRewardPoints);
-
-        } else {
-            // If the user has existing reward points entry, update it
-            existingRewardPoints.setTotalPoints(existingRewardPoints.getTotalPoints() + additionalRewardPoints);
-            existingRewardPoints.setLastUpdated(LocalDateTime.now());
-
-            rewardPointsRepository.save(existingRewardPoints);
-        }
-    }
-
-    @Override
-    @Transactional
-    public void restoreRecyclersRewardPoints(List<Long> userIds) {
-        rewardPointsRepository.resetRewardPointsByUserIds(userIds);
-    }
-
-    @Override
-    public List<Long> getRecyclersIds() {
-        return rewardPointsRepository.findUserIdsOfRecyclers();
+    public RewardPointsChangeDTO updateUserRewardPoints(User user, Long amountRecycledInUnits, Long materialId) {
+        long additionalRewardPoints = computeRewardPointsByUnitsRecycled(amountRecycledInUnits, materialsCatalog.getRewardPoints(materialId));
+        RewardPointsChangeDTO change = jdbcRewardPointsRepository.addRewardPoints(user.getId(), additionalRewardPoints);
+        appStatsCounters.recordRewardPoints(additionalRewardPoints);
+        leaderboardIndex.recordPoints(user.getId(), change.pointsAfter());
+        return change;
     }
 
+    /**
+     * Adds points to the balances of several users with a single atomic statement.
+     *
+     * @param pointsByUserId The points to add, by user ID.
+     * @return The balance of every user before and after the points were added, by user ID.
+     */
     @Override
     @Transactional
-    public List<Long> getRewardPointsAmount(List<Long> userIds) {
-        Map<Long, Long> rewardPointsMap = rewardPointsRepository.findTotalPointsByUserIds(userIds)
-                .stream()
-                .collect(Collectors.toMap(
-                        RewardPoints::getUserId,
-                        RewardPoints::getTotalPoints,
-                        (existing, replacement) -> existing));
-
-        return userIds.stream()
-                .map(userId -> rewardPointsMap.getOrDefault(userId, 0L))
-                .collect(Collectors.toList());
+    public Map<Long, RewardPointsChangeDTO> addRewardPoints(SortedMap<Long, Long> pointsByUserId) {
+        Map<Long, RewardPointsChangeDTO> changes = jdbcRewardPointsRepository.addRewardPoints(pointsByUserId);
+        appStatsCounters.recordRewardPoints(pointsByUserId.values().stream().mapToLong(Long::longValue).sum());
+        changes.forEach((userId, change) -> leaderboardIndex.recordPoints(userId, change.pointsAfter()));
+        return changes;
     }
-
 }
@@ -1,133 +1,130 @@
 package io.rewardsapp.service.implementation;
 
-import io.rewardsapp.dto.UserDTO;
-import io.rewardsapp.service.EmailService;
-import io.rewardsapp.service.RewardPointsService;
+import io.rewardsapp.service.JobCoordinatorService;
 import io.rewardsapp.service.ScheduledTasksService;
-import io.rewardsapp.service.UserService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
 
+/**
+ * Schedules the recurring jobs of the application. Every instance fires the same schedules, and the job coordinator
+ * makes sure each tick runs once, with its work shared among all instances.
+ */
 @Slf4j
 @Service
 @EnableScheduling
 @RequiredArgsConstructor
 public class ScheduledTasksServiceImpl implements ScheduledTasksService {
 
-    public static final int EMAIL_THREAD_POOL_SIZE = 15;
+    public static final String STATS_ROLLUP_BACKFILL_RUN_KEY = "initial";
+    public static final String POINTS_LEDGER_OPENING_BACKFILL_RUN_KEY = "initial";
 
-    private final UserService userService;
+    private final JobCoordinatorService jobCoordinatorService;
 
-    private final RewardPointsService rewardPointsService;
+    private final InactiveUsersEmailJob inactiveUsersEmailJob;
 
-    private final EmailService emailService;
+    private final MonthlyRewardPointsResetJob monthlyRewardPointsResetJob;
 
-    private final ExecutorService emailThreadPool = Executors.newFixedThreadPool(EMAIL_THREAD_POOL_SIZE);
+    private final RewardPointsReplayJob rewardPointsReplayJob;
 
+    private final PointsLedgerOpeningBackfillJob pointsLedgerOpeningBackfillJob;
+
+    private final ActivityPartitionMaintenanceJob activityPartitionMaintenanceJob;
+
+    private final UserStatsRollupBackfillJob userStatsRollupBackfillJob;
+
+    private final CenterStatsRollupBackfillJob centerStatsRollupBackfillJob;
 
     /**
      * Sends email notifications to inactive users (if they have notifications enabled).
      * Inactive users are identified based on their activity one week prior to the current date.
+     * The emails are queued in the email outbox and delivered in the background.
      */
     @Override
     @Scheduled(cron = "0 0 0 * * MON")  // to run every Monday at midnight
     public void sendEmailToInactiveUsers() {
-        LocalDateTime oneWeekAgo = LocalDateTime.now().minusWeeks(1);
-        List<UserDTO> inactiveUsers = userService.findInactiveUsers(oneWeekAgo);
-
-        CompletableFuture<?>[] futures = inactiveUsers.stream()
-                .filter(UserDTO::notificationsEnabled)
-                .map(user -> CompletableFuture.runAsync(
-                        () -> emailService.sendInactiveUserEmail(user.firstName(), user.lastName()),
-                        emailThreadPool))
-                .toArray(CompletableFuture[]::new);
-
-        CompletableFuture.allOf(futures).join();
+        jobCoordinatorService.startRun(inactiveUsersEmailJob, LocalDate.now().toString());
     }
 
     /**
-     * Restores reward points for recyclers. It retrieves a list of recycler IDs and processes
-     * them in batches, sending emails and restoring points accordingly.
+     * Resets the reward points earned by recyclers during the previous month. The balances are snapshotted
+     * with a single statement, reset in user ID order in chunks that each commit with their partition checkpoint,
+     * and the notification emails are queued straight from the snapshot table.
      */
     @Override
-    @Transactional
     @Scheduled(cron = "0 0 0 1 * *")  // to run every 1st day of each month at midnight
     public void restoreRecyclersRewardPoints() {
         log.info("Starting restoreRecyclersRewardPoints task...");
-
-        List<Long> recyclersIds = rewardPointsService.getRecyclersIds();
-        int batchSize = 2000;
-
-        for (int i = 0; i < recyclersIds.size(); i += batchSize) {
-            List<Long> batchIds = recyclersIds.subList(i, Math.min(i + batchSize, recyclersIds.size()));
-
-            processBatch(batchIds);
-        }
-
-        log.info("Completed restoreRecyclersRewardPoints task.");
+        jobCoordinatorService.startRun(monthlyRewardPointsResetJob, YearMonth.now().minusMonths(1).atDay(1).toString());
+        log.info("Started restoreRecyclersRewardPoints task, its partitions are processed by the job workers.");
     }
 
     /**
-     * Processes a batch of recycler IDs for the purpose of restoring reward points.
-     * For each user ID, it sends an email with the earned points and then performs
-     * the actual reward points restoration.
-     *
-     * @param batchIds the list of user IDs to process
+     * Rebuilds the reward points balances from the points ledger, correcting any balance that drifted from
+     * the sum of its entries. The replay is split into user ID partitions processed by all instances.
      */
-    private void processBatch(List<Long> batchIds) {
-        try {
-            List<Long> earnedPoints = rewardPointsService.getRewardPointsAmount(batchIds);
-
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-
-            for (int j = 0; j < batchIds.size(); j++) {
-                Long userId = batchIds.get(j);
-                Long points = earnedPoints.get(j);
+    @Override
+    @Scheduled(cron = "0 0 3 * * *")  // to run every day at 3 AM
+    public void replayRewardPointsLedger() {
+        jobCoordinatorService.startRun(rewardPointsReplayJob, LocalDate.now().toString());
+    }
 
-                CompletableFuture<Void> emailFuture = CompletableFuture.runAsync(
-                        () -> sendRewardPointsEmail(userId, points),
-                        emailThreadPool);
-                futures.add(emailFuture);
-            }
+    /**
+     * Records the balances that existed before the points ledger as opening entries. The backfill has a single run,
+     * and the ledger replay is skipped until it completed.
+     */
+    public void backfillPointsLedgerOpenings() {
+        jobCoordinatorService.startRun(pointsLedgerOpeningBackfillJob, POINTS_LEDGER_OPENING_BACKFILL_RUN_KEY);
+    }
 
-            // to wait for all emails in the batch to be sent before proceeding
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    /**
+     * Creates the upcoming monthly partitions of the recycling activities and archives the expired ones.
+     */
+    @Override
+    @Scheduled(cron = "0 30 0 * * *")  // to run every day at 00:30
+    public void maintainActivityPartitions() {
+        jobCoordinatorService.startRun(activityPartitionMaintenanceJob, LocalDate.now().toString());
+    }
 
-            // to perform the actual reward points restoration in a batch
-            rewardPointsService.restoreRecyclersRewardPoints(batchIds);
-        } catch (Exception e) {
-            log.error("Error processing batch", e);
-        }
+    /**
+     * Populates the daily statistics rollups from the activities recorded before the rollups existed. The backfill
+     * has a single run, so once it completed, the rollups are only maintained by the contributions themselves.
+     */
+    public void backfillStatsRollups() {
+        jobCoordinatorService.startRun(userStatsRollupBackfillJob, STATS_ROLLUP_BACKFILL_RUN_KEY);
+        jobCoordinatorService.startRun(centerStatsRollupBackfillJob, STATS_ROLLUP_BACKFILL_RUN_KEY);
     }
 
     /**
-     * Checks if the user has enabled notifications and, if yes, then sends
-     * an email with the monthly reward points.
-     *
-     * @param userId        the ID of the user to which the email should be sent
-     * @param earnedPoints  the amount of reward points earned last month
+     * Starts the runs due today in case the application was down when they were scheduled. Runs already started
+     * are not repeated, and their unfinished partitions are resumed by the job coordinator.
      */
-    private void sendRewardPointsEmail(Long userId, Long earnedPoints) {
+    @EventListener(ApplicationReadyEvent.class)
+    public void runMissedTasks() {
+        LocalDate today = LocalDate.now();
+
         try {
-            UserDTO user = userService.getUser(userId);
+            maintainActivityPartitions();
+            backfillStatsRollups();
+            backfillPointsLedgerOpenings();
 
-            if (user.notificationsEnabled()) {
-                emailService.sendMonthlyRewardPointsEmail(user.email(), user.firstName(), earnedPoints);
+            if (today.getDayOfWeek() == DayOfWeek.MONDAY) {
+                sendEmailToInactiveUsers();
+            }
+            if (today.getDayOfMonth() == 1) {
+                restoreRecyclersRewardPoints();
             }
 
         } catch (Exception e) {
-            log.error("Error sending reward points email for user with ID " + userId, e);
+            log.error("Error running missed scheduled tasks", e);
         }
     }
 }
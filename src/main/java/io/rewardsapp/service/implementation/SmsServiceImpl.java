@@ -0,0 +1,128 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.exception.ServiceUnavailableException;
+import io.rewardsapp.provider.SmsSender;
+import io.rewardsapp.service.SmsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service implementation for dispatching SMS messages asynchronously. Messages are queued in a bounded queue and
+ * delivered by a fixed number of worker threads through the configured {@link SmsSender}; transient failures are
+ * retried with exponential backoff and jitter. Callers return as soon as the message is queued.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SmsServiceImpl implements SmsService {
+
+    public static final int SMS_MAX_ATTEMPTS = 4;
+    public static final long SMS_INITIAL_BACKOFF = 1_000;
+    public static final long SMS_SHUTDOWN_TIMEOUT = 10_000;
+
+    @Value("${mfa.sms.workers:2}")
+    private int workerCount;
+
+    @Value("${mfa.sms.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private final SmsSender smsSender;
+
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService retryScheduler;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger workerNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(
+                workerCount,
+                workerCount,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "sms-worker-" + workerNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "sms-retry"));
+    }
+
+    /**
+     * Queues an SMS message for delivery.
+     *
+     * @param to          The recipient phone number.
+     * @param messageBody The text of the message.
+     * @throws ServiceUnavailableException If the SMS queue is full.
+     */
+    @Override
+    public void sendSms(String to, String messageBody) {
+        try {
+            workers.execute(() -> deliver(to, messageBody, 1));
+
+        } catch (RejectedExecutionException exception) {
+            log.warn("SMS queue is full ({} pending messages)", workers.getQueue().size());
+            throw new ServiceUnavailableException("Unable to send the verification code right now. Please try again shortly.");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+
+        if (!workers.awaitTermination(SMS_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+            log.warn("{} SMS messages were not delivered before shutdown", workers.shutdownNow().size());
+        }
+    }
+
+    /* Sends the message, scheduling another attempt with exponential backoff on transient failures. */
+    private void deliver(String to, String messageBody, int attempt) {
+        try {
+            smsSender.send(to, messageBody);
+
+        } catch (IllegalArgumentException exception) {
+            log.error("SMS to {} was rejected: {}", mask(to), exception.getMessage());
+
+        } catch (RuntimeException exception) {
+            if (attempt >= SMS_MAX_ATTEMPTS) {
+                log.error("SMS to {} failed after {} attempts: {}", mask(to), attempt, exception.getMessage());
+                return;
+            }
+
+            long backoff = SMS_INITIAL_BACKOFF << (attempt - 1);
+            long delay = backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+            log.warn("SMS to {} failed (attempt {}), retrying in {} ms: {}", mask(to), attempt, delay, exception.getMessage());
+
+            try {
+                retryScheduler.schedule(() -> retry(to, messageBody, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                log.error("SMS to {} dropped, the application is shutting down", mask(to));
+            }
+        }
+    }
+
+    /* Puts a retried message back on the worker queue. */
+    private void retry(String to, String messageBody, int attempt) {
+        try {
+            workers.execute(() -> deliver(to, messageBody, attempt));
+        } catch (RejectedExecutionException exception) {
+            log.error("SMS to {} dropped, the SMS queue is full", mask(to));
+        }
+    }
+
+    private static String mask(String phone) {
+        return phone == null || phone.length() < 4 ? "***" : "***" + phone.substring(phone.length() - 3);
+    }
+}
@@ -1,31 +1,126 @@
 package io.rewardsapp.service.implementation;
 
+import io.rewardsapp.domain.recycling.MaterialAmounts;
 import io.rewardsapp.dto.AppStatsDTO;
 import io.rewardsapp.dto.CenterStatsDTO;
+import io.rewardsapp.dto.StatsSeriesDTO;
+import io.rewardsapp.dto.UserStatsCacheMetricsDTO;
 import io.rewardsapp.dto.UserStatsDTO;
-import io.rewardsapp.repository.AppStatsRepository;
+import io.rewardsapp.enums.StatsBucket;
+import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.form.CreateRecyclingActivityForm;
+import io.rewardsapp.provider.AppStatsCounters;
+import io.rewardsapp.provider.MaterialsCatalog;
 import io.rewardsapp.repository.CenterStatsRepository;
 import io.rewardsapp.repository.UserStatsRepository;
 import io.rewardsapp.service.StatsService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static io.rewardsapp.utils.TransactionUtils.runAfterCommit;
+
 /**
  * Implementation of the StatsService interface providing methods for retrieving statistics.
+ * The last month statistics of each user are cached until the end of the day, since the window moves daily,
+ * and kept up to date by the user's contributions. Every contribution bumps the generation of the user's stripe
+ * before and after it commits, so statistics read while a contribution was in flight are never cached.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StatsServiceImpl implements StatsService {
 
+    public static final int USER_STATS_CACHE_MAX_SIZE = 10_000;
+    public static final int STATS_SERIES_MAX_POINTS = 120;
+    public static final int STATS_SERIES_CACHE_MAX_SIZE = 1_000;
+    public static final Duration STATS_SERIES_CACHE_TTL = Duration.ofMinutes(1);
+    private static final int GENERATION_STRIPES = 64;
+    private static final String USER_SERIES = "user";
+    private static final String CENTER_SERIES = "center";
+
     private final UserStatsRepository userStatsRepository;
     private final CenterStatsRepository centerStatsRepository;
-    private final AppStatsRepository appStatsRepository;
 
+    private final MaterialsCatalog materialsCatalog;
+    private final AppStatsCounters appStatsCounters;
+
+    private final Map<Long, CachedUserStats> userStatsCache = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong cacheEvictions = new AtomicLong();
+
+    private final Map<SeriesKey, CachedSeries> seriesCache = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the statistics of the user for the last month, from the cache when they were computed today.
+     *
+     * @param userId The ID of the user.
+     * @return The amounts recycled by the user during the last month, per material.
+     */
     @Override
     @Transactional
     public UserStatsDTO getUserStatsForLastMonth(Long userId) {
-        return userStatsRepository.getUserStatsForLastMonth(userId);
+        LocalDate today = LocalDate.now();
+        CachedUserStats cached = userStatsCache.get(userId);
+        if (cached != null && cached.day().equals(today)) {
+            cacheHits.incrementAndGet();
+            return toUserStats(cached.amounts());
+        }
+
+        cacheMisses.incrementAndGet();
+        long generation = generations.get(stripe(userId));
+        MaterialAmounts amounts = userStatsRepository.getUserStatsForLastMonth(userId);
+
+        if (userStatsCache.size() >= USER_STATS_CACHE_MAX_SIZE) {
+            evict(today);
+        }
+        userStatsCache.compute(userId, (id, current) -> generations.get(stripe(id)) == generation
+                ? new CachedUserStats(amounts, today, generation)
+                : current);
+        return toUserStats(amounts);
+    }
+
+    /**
+     * Applies the contributions to the cached statistics of their users once the current transaction commits,
+     * or right away when there is no transaction. Contributions rolled back leave the cache untouched.
+     *
+     * @param activities The recycling activities saved in the current transaction.
+     */
+    @Override
+    public void recordContributions(List<CreateRecyclingActivityForm> activities) {
+        for (CreateRecyclingActivityForm activity : activities) {
+            long generation = generations.incrementAndGet(stripe(activity.userId()));
+            runAfterCommit(() -> applyContribution(activity, generation));
+        }
+    }
+
+    @Override
+    public UserStatsCacheMetricsDTO getUserStatsCacheMetrics() {
+        long hits = cacheHits.get();
+        long misses = cacheMisses.get();
+
+        return UserStatsCacheMetricsDTO.builder()
+                .size(userStatsCache.size())
+                .hits(hits)
+                .misses(misses)
+                .hitRate(hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+                .evictions(cacheEvictions.get())
+                .build();
     }
 
     @Override
@@ -34,8 +129,147 @@ public class StatsServiceImpl implements StatsService {
         return centerStatsRepository.getCenterTotalStats(centerId);
     }
 
+    /**
+     * Retrieves the app-wide statistics from the in-memory counters, without querying the database.
+     *
+     * @return The number of recyclers and the reward points earned by all of them this month.
+     */
     @Override
     public AppStatsDTO getAppStats() {
-        return appStatsRepository.getAppTotalStats();
+        return AppStatsDTO.builder()
+                .activeRecyclersNumber(appStatsCounters.getRecyclers())
+                .monthlyRewardPoints(appStatsCounters.getRewardPoints())
+                .build();
+    }
+
+    /**
+     * Retrieves the amounts recycled by the user over time, per material. Results are cached for a short time.
+     *
+     * @param userId    The ID of the user.
+     * @param startDate The first day of the range.
+     * @param endDate   The last day of the range.
+     * @param bucket    The size of the buckets.
+     * @return The series of every material, with at most {@link #STATS_SERIES_MAX_POINTS} points.
+     * @throws ApiException If the range is invalid.
+     */
+    @Override
+    public StatsSeriesDTO getUserStatsSeries(Long userId, LocalDate startDate, LocalDate endDate, StatsBucket bucket) {
+        return getSeries(new SeriesKey(USER_SERIES, userId, startDate, endDate, bucket),
+                () -> userStatsRepository.getUserStatsSeries(userId, bucket, startDate, endDate));
+    }
+
+    /**
+     * Retrieves the amounts recycled at the center over time, per material. Results are cached for a short time.
+     *
+     * @param centerId  The ID of the recycling center.
+     * @param startDate The first day of the range.
+     * @param endDate   The last day of the range.
+     * @param bucket    The size of the buckets.
+     * @return The series of every material, with at most {@link #STATS_SERIES_MAX_POINTS} points.
+     * @throws ApiException If the range is invalid.
+     */
+    @Override
+    public StatsSeriesDTO getCenterStatsSeries(Long centerId, LocalDate startDate, LocalDate endDate, StatsBucket bucket) {
+        return getSeries(new SeriesKey(CENTER_SERIES, centerId, startDate, endDate, bucket),
+                () -> centerStatsRepository.getCenterStatsSeries(centerId, bucket, startDate, endDate));
+    }
+
+    private StatsSeriesDTO getSeries(SeriesKey key, Supplier<Map<LocalDate, MaterialAmounts>> loader) {
+        if (key.startDate().isAfter(key.endDate())) {
+            throw new ApiException("The start date of the range must not be after its end date.");
+        }
+
+        long now = System.currentTimeMillis();
+        CachedSeries cached = seriesCache.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.series();
+        }
+
+        StatsSeriesDTO series = buildSeries(key, loader.get());
+        if (seriesCache.size() >= STATS_SERIES_CACHE_MAX_SIZE) {
+            seriesCache.values().removeIf(entry -> entry.expiresAt() <= now);
+            Iterator<SeriesKey> iterator = seriesCache.keySet().iterator();
+            while (seriesCache.size() >= STATS_SERIES_CACHE_MAX_SIZE && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        seriesCache.put(key, new CachedSeries(series, now + STATS_SERIES_CACHE_TTL.toMillis()));
+        return series;
+    }
+
+    /* Lays the buckets out as dense series, merging adjacent buckets into one point when the range has too many of them. */
+    private StatsSeriesDTO buildSeries(SeriesKey key, Map<LocalDate, MaterialAmounts> buckets) {
+        StatsBucket bucket = key.bucket();
+        LocalDate firstBucket = bucket.truncate(key.startDate());
+        long bucketCount = bucket.between(firstBucket, bucket.truncate(key.endDate())) + 1;
+        int bucketsPerPoint = (int) ((bucketCount + STATS_SERIES_MAX_POINTS - 1) / STATS_SERIES_MAX_POINTS);
+        int pointCount = (int) ((bucketCount + bucketsPerPoint - 1) / bucketsPerPoint);
+
+        List<LocalDate> points = IntStream.range(0, pointCount)
+                .mapToObj(point -> bucket.plus(firstBucket, (long) point * bucketsPerPoint))
+                .toList();
+
+        Map<String, long[]> series = new LinkedHashMap<>();
+        materialsCatalog.toNamedAmounts(materialsCatalog.newAmounts()).keySet()
+                .forEach(material -> series.put(material, new long[pointCount]));
+
+        buckets.forEach((bucketStart, amounts) -> {
+            int point = (int) (bucket.between(firstBucket, bucketStart) / bucketsPerPoint);
+            materialsCatalog.toNamedAmounts(amounts).forEach((material, amount) ->
+                    series.computeIfAbsent(material, name -> new long[pointCount])[point] += amount);
+        });
+
+        return StatsSeriesDTO.builder()
+                .bucket(bucket)
+                .bucketsPerPoint(bucketsPerPoint)
+                .points(points)
+                .materialsRecycled(series)
+                .build();
+    }
+
+    /* Adds the committed activity to the cached statistics read before it started, and drops the ones that may already include it. */
+    private void applyContribution(CreateRecyclingActivityForm activity, long generation) {
+        LocalDate today = LocalDate.now();
+
+        userStatsCache.compute(activity.userId(), (id, current) -> {
+            generations.incrementAndGet(stripe(id));
+            if (current == null || !current.day().equals(today) || current.generation() >= generation) {
+                return null;
+            }
+            return new CachedUserStats(current.amounts().plus(activity.materialId(), activity.amount()), today, current.generation());
+        });
+    }
+
+    private UserStatsDTO toUserStats(MaterialAmounts amounts) {
+        return UserStatsDTO.builder().materialsRecycled(materialsCatalog.toNamedAmounts(amounts)).build();
+    }
+
+    /* Removes the statistics computed before today first and then arbitrary ones until there is room for a new entry. */
+    private void evict(LocalDate today) {
+        int sizeBefore = userStatsCache.size();
+        userStatsCache.values().removeIf(entry -> !entry.day().equals(today));
+
+        Iterator<Long> iterator = userStatsCache.keySet().iterator();
+        while (userStatsCache.size() >= USER_STATS_CACHE_MAX_SIZE && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        cacheEvictions.addAndGet(Math.max(0, sizeBefore - userStatsCache.size()));
+        log.debug("User stats cache evicted down to {} entries", userStatsCache.size());
+    }
+
+    private static int stripe(Long userId) {
+        return (int) (userId & (GENERATION_STRIPES - 1));
+    }
+
+    private record SeriesKey(String type, Long id, LocalDate startDate, LocalDate endDate, StatsBucket bucket) {
+    }
+
+    private record CachedSeries(StatsSeriesDTO series, long expiresAt) {
+    }
+
+    private record CachedUserStats(MaterialAmounts amounts, LocalDate day, long generation) {
     }
-}
\ No newline at end of file
+}
@@ -2,11 +2,15 @@ package io.rewardsapp.service.implementation;
 
 import io.rewardsapp.domain.auth.Role;
 import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.domain.scheduling.KeyRange;
 import io.rewardsapp.dto.UserDTO;
 import io.rewardsapp.dto.mapper.UserDTOMapper;
 import io.rewardsapp.exception.ApiException;
 import io.rewardsapp.form.UpdateUserDetailsForm;
 import io.rewardsapp.form.UserRegistrationForm;
+import io.rewardsapp.provider.AppStatsCounters;
+import io.rewardsapp.provider.LeaderboardIndex;
+import io.rewardsapp.provider.ProfileVersionRegistry;
 import io.rewardsapp.repository.JdbcUserRepository;
 import io.rewardsapp.repository.JpaUserRepository;
 import io.rewardsapp.repository.RoleRepository;
@@ -18,6 +22,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static io.rewardsapp.enums.VerificationType.ACCOUNT;
@@ -34,6 +39,9 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository<Role> roleRepository;
 
     private final EmailUtils emailUtils;
+    private final ProfileVersionRegistry profileVersionRegistry;
+    private final AppStatsCounters appStatsCounters;
+    private final LeaderboardIndex leaderboardIndex;
 
     /**
      * Creates a new user and sends an account verification code.
@@ -56,6 +64,8 @@ public class UserServiceImpl implements UserService {
                 .password(form.password())
                 .build();
         UserDTO createdUser = mapToUserDTO(jdbcUserRepository.create(newUser));
+        appStatsCounters.recordRegistration();
+        leaderboardIndex.refreshMember(createdUser.id());
         String accountEnableUrl = jdbcUserRepository.createEnableAccountUrl(newUser);
 
         emailUtils.sendEmail(form.firstName(), form.email(), accountEnableUrl, ACCOUNT);
@@ -103,7 +113,10 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserDTO updateUserDetails(UpdateUserDetailsForm updateUserDetailsForm) {
-        return mapToUserDTO(jdbcUserRepository.updateUserDetails(updateUserDetailsForm));
+        UserDTO updatedUser = mapToUserDTO(jdbcUserRepository.updateUserDetails(updateUserDetailsForm));
+        profileVersionRegistry.evict(updateUserDetailsForm.id());
+        leaderboardIndex.refreshMember(updateUserDetailsForm.id());
+        return updatedUser;
     }
 
     /**
@@ -199,6 +212,8 @@ public class UserServiceImpl implements UserService {
     @Override
     public void updateUserRole(Long userId, String roleName) {
         roleRepository.updateUserRole(userId, roleName);
+        profileVersionRegistry.evict(userId);
+        leaderboardIndex.refreshMember(userId);
     }
 
     /**
@@ -211,6 +226,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public void updateAccountSettings(Long userId, Boolean enabled, Boolean notLocked) {
         jdbcUserRepository.updateAccountSettings(userId, enabled, notLocked);
+        profileVersionRegistry.evict(userId);
     }
 
     /**
@@ -241,8 +257,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserDTO> findInactiveUsers(LocalDateTime oneWeekAgo) {
-        List<User> inactiveUsers = jdbcUserRepository.getInactiveUsers(oneWeekAgo);
+    public List<UserDTO> findInactiveUsers(LocalDateTime oneWeekAgo, long fromUserId, long toUserId) {
+        List<User> inactiveUsers = jdbcUserRepository.getInactiveUsers(oneWeekAgo, fromUserId, toUserId);
 
         return inactiveUsers.stream()
                 .filter(user -> user.isEnabled() && user.isNotificationsEnabled() && user.isNotLocked())
@@ -250,6 +266,11 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Optional<KeyRange> getUserIdRange() {
+        return jdbcUserRepository.getUserIdRange();
+    }
+
     @Override
     public User getJpaManagedUser(Long userId) {
         return jpaUserRepository.findUserById(userId).orElseThrow(
@@ -0,0 +1,86 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.scheduling.JobPartition;
+import io.rewardsapp.domain.scheduling.KeyRange;
+import io.rewardsapp.repository.JobRepository;
+import io.rewardsapp.repository.StatsRollupRepository;
+import io.rewardsapp.service.PartitionedJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static io.rewardsapp.service.implementation.JobCoordinatorServiceImpl.JOB_PARTITION_LEASE;
+
+/**
+ * Populates the daily user rollups of {@code user_material_daily_stats} from the recycling activities. The user ID
+ * range is split into partitions that all nodes process in parallel, in chunks of user IDs that each commit together
+ * with the partition checkpoint. Contributions made while the backfill runs are kept, since they wait for the chunk
+ * lock and add their activity on top of the rebuilt rollups.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserStatsRollupBackfillJob implements PartitionedJob {
+
+    public static final String USER_STATS_ROLLUP_BACKFILL_JOB = "user-stats-rollup-backfill";
+    public static final int USER_STATS_ROLLUP_BACKFILL_CHUNK_SIZE = 1000;
+
+    private final StatsRollupRepository rollupRepository;
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public String getName() {
+        return USER_STATS_ROLLUP_BACKFILL_JOB;
+    }
+
+    /**
+     * @return The range of user IDs.
+     */
+    @Override
+    public Optional<KeyRange> prepareRun(String runKey) {
+        return rollupRepository.findUserRange();
+    }
+
+    /**
+     * Rebuilds the rollups of the partition chunk by chunk, starting after its checkpoint. Stops if another node
+     * took over the partition, in which case the chunk in progress is rolled back.
+     */
+    @Override
+    public void processPartition(JobPartition partition) {
+        long lastUserId = partition.getLastKey();
+        int corrected = 0;
+
+        while (lastUserId < partition.getRangeEnd()) {
+            long afterUserId = lastUserId;
+            long toUserId = Math.min(afterUserId + USER_STATS_ROLLUP_BACKFILL_CHUNK_SIZE, partition.getRangeEnd());
+
+            Integer chunkCorrected = transactionTemplate.execute(status -> {
+                if (!jobRepository.advancePartition(partition.getId(), partition.getOwner(), afterUserId, toUserId,
+                        LocalDateTime.now().plus(JOB_PARTITION_LEASE))) {
+                    return null;
+                }
+                return rollupRepository.rebuildUserRollups(afterUserId + 1, toUserId);
+            });
+
+            if (chunkCorrected == null) {
+                log.warn("Partition {} of run {} was taken over by another node", partition.getPartitionNo(), partition.getRunKey());
+                return;
+            }
+
+            corrected += chunkCorrected;
+            lastUserId = toUserId;
+        }
+
+        log.debug("Rebuilt the rollups of users {} to {}, corrected {} rollups", partition.getRangeStart(), partition.getRangeEnd(), corrected);
+    }
+
+    @Override
+    public void completeRun(String runKey) {
+        log.info("User statistics rollups backfilled for the run of {}", runKey);
+    }
+}
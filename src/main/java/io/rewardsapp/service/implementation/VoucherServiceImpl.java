@@ -1,12 +1,17 @@
 package io.rewardsapp.service.implementation;
 
 import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.domain.recycling.PointsLedgerEntry;
 import io.rewardsapp.domain.vouchers.Voucher;
 import io.rewardsapp.domain.vouchers.VoucherType;
+import io.rewardsapp.dto.RewardPointsChangeDTO;
 import io.rewardsapp.dto.UserDTO;
+import io.rewardsapp.enums.LedgerEntryType;
 import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.provider.VoucherCodeAllocator;
+import io.rewardsapp.provider.VoucherTypeCatalog;
+import io.rewardsapp.repository.PointsLedgerRepository;
 import io.rewardsapp.repository.VoucherRepository;
-import io.rewardsapp.repository.VoucherTypeRepository;
 import io.rewardsapp.service.RewardPointsService;
 import io.rewardsapp.service.VoucherService;
 import io.rewardsapp.specs.VoucherSpecification;
@@ -24,8 +29,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-
-import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import java.util.stream.IntStream;
 
 @Service
 @AllArgsConstructor
@@ -35,7 +39,11 @@ public class VoucherServiceImpl implements VoucherService {
 
     // Repositories
     private final VoucherRepository voucherRepository;
-    private final VoucherTypeRepository voucherTypeRepository;
+    private final PointsLedgerRepository ledgerRepository;
+
+    // Providers
+    private final VoucherTypeCatalog voucherTypeCatalog;
+    private final VoucherCodeAllocator voucherCodeAllocator;
 
     private static final int VOUCHER_LIFETIME_IN_DAYS = 30;
 
@@ -126,23 +134,33 @@ public class VoucherServiceImpl implements VoucherService {
 
     /**
      * Checks for earned vouchers based on user activity and updates the user's vouchers accordingly.
+     * Every issued voucher is recorded in the points ledger, without changing the balance.
      *
-     * @param user                     The user for whom to check earned vouchers.
-     * @param rewardsPointsBeforeActivity The user's rewards points balance before the activity.
+     * @param user               The user for whom to check earned vouchers.
+     * @param rewardPointsChange The user's rewards points balance before and after the activity.
      * @return The count of newly earned vouchers.
      */
     @Override
     @Transactional
-    public int checkForEarnedVouchers(User user, long rewardsPointsBeforeActivity) {
-        long rewardPointsAfterActivity = rewardPointsService.getRewardPointsAmount(user.getId());
-        List<VoucherType> earnedVoucherTypes = voucherTypeRepository.findVoucherTypesByThresholdPointsBetween(rewardsPointsBeforeActivity, rewardPointsAfterActivity);
+    public int checkForEarnedVouchers(User user, RewardPointsChangeDTO rewardPointsChange) {
+        List<VoucherType> earnedVoucherTypes = voucherTypeCatalog.findCrossed(
+                rewardPointsChange.pointsBefore(), rewardPointsChange.pointsAfter());
 
         if (!earnedVoucherTypes.isEmpty()) {
-            List<Voucher> newVouchers = earnedVoucherTypes.stream()
-                    .map(type -> buildVoucher(user, type))
+            List<String> codes = voucherCodeAllocator.nextCodes(earnedVoucherTypes.size());
+            List<Voucher> newVouchers = IntStream.range(0, earnedVoucherTypes.size())
+                    .mapToObj(i -> buildVoucher(user, earnedVoucherTypes.get(i), codes.get(i)))
                     .collect(Collectors.toList());
 
             List<Voucher> savedVouchers = voucherRepository.saveAll(newVouchers);
+            ledgerRepository.saveAll(savedVouchers.stream()
+                    .map(voucher -> PointsLedgerEntry.builder()
+                            .userId(user.getId())
+                            .type(LedgerEntryType.VOUCHER_ISSUED)
+                            .referenceId(voucher.getVoucherId())
+                            .createdAt(voucher.getCreatedAt())
+                            .build())
+                    .toList());
             return savedVouchers.size();
         }
 
@@ -151,13 +169,13 @@ public class VoucherServiceImpl implements VoucherService {
 
     @Override
     public List<VoucherType> getVoucherTypes() {
-        return voucherTypeRepository.findAll();
+        return voucherTypeCatalog.getVoucherTypes();
     }
 
     @Override
     public Long getPointsUntilNextVoucher(Long userId) {
         Long currentRewardPoints = rewardPointsService.getRewardPointsAmount(userId);
-        Long threshold = voucherTypeRepository.findThresholdForNextRedeemableVoucher(currentRewardPoints).orElse(0L);
+        long threshold = voucherTypeCatalog.findNextThreshold(currentRewardPoints).orElse(0L);
         if (currentRewardPoints >= threshold) {
             return 0L;
         }
@@ -181,31 +199,17 @@ public class VoucherServiceImpl implements VoucherService {
      *
      * @param user The user for whom to create the voucher.
      * @param type The voucher type.
+     * @param code The unique code allocated for the voucher.
      * @return The newly created voucher.
      */
-    private Voucher buildVoucher(User user, VoucherType type) {
+    private Voucher buildVoucher(User user, VoucherType type, String code) {
         return Voucher.builder()
                 .voucherType(type)
                 .user(user)
                 .createdAt(LocalDateTime.now())
                 .expiresAt(LocalDateTime.now().plusDays(VOUCHER_LIFETIME_IN_DAYS))
-                .uniqueCode(generateValidUniqueCode())
+                .uniqueCode(code)
                 .build();
     }
 
-    /**
-     * Generates a valid unique code for a voucher, ensuring uniqueness in the repository.
-     *
-     * @return A valid unique code for a voucher.
-     */
-    private String generateValidUniqueCode() {
-        String generatedUniqueCode;
-
-        do {
-            generatedUniqueCode = randomAlphanumeric(8).toUpperCase();;
-        } while (voucherRepository.existsByUniqueCode(generatedUniqueCode));
-
-        return generatedUniqueCode;
-    }
-
 }
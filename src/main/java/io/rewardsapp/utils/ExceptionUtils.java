@@ -5,6 +5,7 @@ import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.rewardsapp.domain.HttpResponse;
 import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.exception.ServiceUnavailableException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -34,7 +35,10 @@ public class ExceptionUtils {
      * @param exception  The exception to be processed.
      */
     public static void handleException(HttpServletRequest request, HttpServletResponse response, Exception exception) {
-        if (isClientError(exception)) {
+        if (exception instanceof ServiceUnavailableException) {
+            HttpResponse unavailableResponse = buildClientErrorResponse(exception.getMessage(), SERVICE_UNAVAILABLE);
+            sendResponse(response, unavailableResponse);
+        } else if (isClientError(exception)) {
             HttpResponse clientErrorResponse = buildClientErrorResponse(exception.getMessage(), BAD_REQUEST);
             sendResponse(response, clientErrorResponse);
         } else if (isTokenExpiredException(exception)) {
@@ -2,7 +2,7 @@ package io.rewardsapp.utils;
 
 public class RewardPointsUtils {
 
-    public static Long computeRewardPointsByUnitsRecycled(Long amountRecycled, Long materialRewardPoints) {
+    public static long computeRewardPointsByUnitsRecycled(long amountRecycled, long materialRewardPoints) {
         return amountRecycled * materialRewardPoints;
     }
 }
@@ -19,7 +19,18 @@ DROP TABLE IF EXISTS    rewards_app.users,
                         rewards_app.reward_points,
                         rewards_app.vouchers,
                         rewards_app.voucher_types,
-                        rewards_app.educational_resources;
+                        rewards_app.educational_resources,
+                        rewards_app.email_outbox,
+                        rewards_app.points_ledger,
+                        rewards_app.reward_points_snapshots,
+                        rewards_app.job_runs,
+                        rewards_app.job_partitions,
+                        rewards_app.idempotency_keys,
+                        rewards_app.user_material_daily_stats,
+                        rewards_app.center_material_daily_stats,
+                        rewards_app.center_recyclers;
+
+DROP SEQUENCE IF EXISTS rewards_app.voucher_code_seq;
 
 -- Users Table
 CREATE TABLE users (
@@ -39,7 +50,8 @@ CREATE TABLE users (
     using_mfa      BOOLEAN DEFAULT FALSE,
     created_at     TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_login     TIMESTAMP,
-    image_url      VARCHAR(255)
+    image_url      VARCHAR(255),
+    profile_version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Roles Table
@@ -121,17 +133,52 @@ CREATE TABLE materials_to_recycle (
     PRIMARY KEY(center_id, material_id)
 );
 
--- User Recycling Activities Table
+-- User Recycling Activities Table (range partitioned by month, partitions are managed by the partition maintenance job)
 CREATE TABLE user_recycling_activities (
-    activity_id     BIGSERIAL PRIMARY KEY,
+    activity_id     BIGSERIAL,
     user_id         BIGINT REFERENCES users(user_id) ON DELETE CASCADE,
     center_id       BIGINT REFERENCES recycling_centers(center_id) ON DELETE SET NULL,
     material_id     BIGINT REFERENCES materials(material_id) ON DELETE SET NULL,
     amount          BIGINT NOT NULL,
-    created_at      TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (activity_id, created_at),
     CONSTRAINT fk_user_recycling_activities_user_id FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE ON UPDATE CASCADE,
     CONSTRAINT fk_user_recycling_activities_center_id FOREIGN KEY (center_id) REFERENCES recycling_centers(center_id) ON DELETE SET NULL,
     CONSTRAINT fk_user_recycling_activities_material_id FOREIGN KEY (material_id) REFERENCES materials(material_id) ON DELETE SET NULL
+) PARTITION BY RANGE (created_at);
+
+-- Catches activities outside of the monthly partitions, its rows are moved when their month partition is created
+CREATE TABLE user_recycling_activities_default PARTITION OF user_recycling_activities DEFAULT;
+
+-- Daily Activity Rollup Tables (amount recycled and number of activities per day and material, updated with every
+-- contribution, so statistics read a few rows per day instead of every activity)
+CREATE TABLE user_material_daily_stats (
+    user_id         BIGINT NOT NULL,
+    day             DATE NOT NULL,
+    material_id     BIGINT NOT NULL,
+    amount          BIGINT NOT NULL DEFAULT 0,
+    activities      BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, day, material_id),
+    CONSTRAINT fk_user_material_daily_stats_user_id FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+CREATE TABLE center_material_daily_stats (
+    center_id       BIGINT NOT NULL,
+    day             DATE NOT NULL,
+    material_id     BIGINT NOT NULL,
+    amount          BIGINT NOT NULL DEFAULT 0,
+    activities      BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (center_id, day, material_id),
+    CONSTRAINT fk_center_material_daily_stats_center_id FOREIGN KEY (center_id) REFERENCES recycling_centers(center_id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- Distinct recyclers of each center
+CREATE TABLE center_recyclers (
+    center_id       BIGINT NOT NULL,
+    user_id         BIGINT NOT NULL,
+    PRIMARY KEY (center_id, user_id),
+    CONSTRAINT fk_center_recyclers_center_id FOREIGN KEY (center_id) REFERENCES recycling_centers(center_id) ON DELETE CASCADE ON UPDATE CASCADE,
+    CONSTRAINT fk_center_recyclers_user_id FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE ON UPDATE CASCADE
 );
 
 -- Reward Points Table
@@ -142,6 +189,61 @@ CREATE TABLE reward_points (
     CONSTRAINT fk_reward_points_user_id FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE ON UPDATE CASCADE
 );
 
+-- Points Ledger Table (append-only history of every balance change, reward_points holds its per-user sum)
+CREATE TABLE points_ledger (
+    entry_id        BIGSERIAL PRIMARY KEY,
+    user_id         BIGINT NOT NULL,
+    entry_type      VARCHAR(30) NOT NULL,
+    points          BIGINT NOT NULL,
+    reference_id    BIGINT,
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_points_ledger_user_id FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- Reward Points Snapshots Table (balances at the end of each month, copied before the monthly reset)
+CREATE TABLE reward_points_snapshots (
+    period          DATE NOT NULL,
+    user_id         BIGINT NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    points          BIGINT NOT NULL,
+    notified        BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at      TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (period, user_id)
+);
+
+-- Job Runs Table (one row per job and schedule tick, so a tick runs once across all instances)
+CREATE TABLE job_runs (
+    job_name        VARCHAR(100) NOT NULL,
+    run_key         VARCHAR(50) NOT NULL,
+    owner           VARCHAR(100) NOT NULL,
+    status          VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    started_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at    TIMESTAMP,
+    PRIMARY KEY (job_name, run_key)
+);
+
+-- Job Partitions Table (key ranges of a job run, leased by the instances that process them)
+CREATE TABLE job_partitions (
+    id              BIGSERIAL PRIMARY KEY,
+    job_name        VARCHAR(100) NOT NULL,
+    run_key         VARCHAR(50) NOT NULL,
+    partition_no    INT NOT NULL,
+    range_start     BIGINT NOT NULL,
+    range_end       BIGINT NOT NULL,
+    last_key        BIGINT NOT NULL,
+    status          VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    owner           VARCHAR(100),
+    lease_until     TIMESTAMP,
+    UNIQUE (job_name, run_key, partition_no),
+    CONSTRAINT fk_job_partitions_run FOREIGN KEY (job_name, run_key) REFERENCES job_runs(job_name, run_key) ON DELETE CASCADE
+);
+
+-- Voucher Types Table
+CREATE TABLE voucher_types (
+    voucher_type_id   BIGSERIAL PRIMARY KEY,
+    name              VARCHAR(50) NOT NULL,
+    threshold_points  INTEGER NOT NULL
+);
+
 -- Vouchers Table
 CREATE TABLE vouchers (
     voucher_id      BIGSERIAL PRIMARY KEY,
@@ -156,14 +258,16 @@ CREATE TABLE vouchers (
     CONSTRAINT fk_vouchers_voucher_type_id FOREIGN KEY (voucher_type_id) REFERENCES voucher_types(voucher_type_id) ON DELETE RESTRICT ON UPDATE CASCADE
 );
 
--- Voucher Types Table
-CREATE TABLE voucher_types (
-    voucher_type_id   BIGSERIAL PRIMARY KEY,
-    name              VARCHAR(50) NOT NULL,
-    threshold_points  INTEGER NOT NULL
-);
+-- Voucher Code Sequence, each call reserves a block of VoucherCodeAllocator.VOUCHER_CODE_BLOCK_SIZE numbers
+CREATE SEQUENCE voucher_code_seq MINVALUE 0 START WITH 0 INCREMENT BY 100;
 
 
+-- Educational Resource Content Types Table
+CREATE TABLE content_types (
+    content_type_id BIGSERIAL PRIMARY KEY,
+    type_name      VARCHAR(50) NOT NULL UNIQUE
+);
+
 -- Educational Resources Table
 CREATE TABLE educational_resources (
     resource_id     BIGSERIAL PRIMARY KEY,
@@ -176,12 +280,6 @@ CREATE TABLE educational_resources (
     created_at      TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
--- Educational Resource Content Types Table
-CREATE TABLE content_types (
-    content_type_id BIGSERIAL PRIMARY KEY,
-    type_name      VARCHAR(50) NOT NULL UNIQUE
-);
-
 
 -- Educational Resource Categories Table
 CREATE TABLE categories (
@@ -215,10 +313,47 @@ CREATE TABLE user_engagement (
     CONSTRAINT fk_user_engagement_resource_id FOREIGN KEY (resource_id) REFERENCES educational_resources(resource_id) ON DELETE CASCADE ON UPDATE CASCADE
 );
 
+-- Email Outbox Table
+CREATE TABLE email_outbox (
+    id                BIGSERIAL PRIMARY KEY,
+    recipient         VARCHAR(100) NOT NULL,
+    subject           VARCHAR(255) NOT NULL,
+    template          VARCHAR(100) NOT NULL,
+    variables         TEXT NOT NULL,
+    priority          INT NOT NULL DEFAULT 3,
+    status            VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts          INT NOT NULL DEFAULT 0,
+    next_attempt_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_at        TIMESTAMP,
+    last_error        TEXT,
+    created_at        TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    sent_at           TIMESTAMP
+);
+
+
+-- Idempotency Keys Table (responses of write requests, replayed when a client retries with the same key)
+CREATE TABLE idempotency_keys (
+    user_id          BIGINT NOT NULL,
+    idempotency_key  VARCHAR(100) NOT NULL,
+    request_hash     VARCHAR(44) NOT NULL,
+    status_code      INTEGER NOT NULL DEFAULT 0,
+    response         TEXT,
+    created_at       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, idempotency_key)
+);
 
 -- Index creation
-CREATE INDEX idx_user_recycling_activities_user_id ON user_recycling_activities(user_id);
+CREATE INDEX idx_user_recycling_activities_user_history ON user_recycling_activities(user_id, created_at, activity_id);
 CREATE INDEX idx_users_email ON users(email);
+CREATE INDEX idx_tfa_verifications_expiration_date ON tfa_verifications(expiration_date);
+CREATE INDEX idx_reset_pass_verifications_expiration_date ON reset_pass_verifications(expiration_date);
+CREATE INDEX idx_email_outbox_pending ON email_outbox(priority, next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_email_outbox_status ON email_outbox(status);
+CREATE INDEX idx_points_ledger_user_id ON points_ledger(user_id, entry_id);
+CREATE INDEX idx_reward_points_snapshots_pending ON reward_points_snapshots(period) WHERE notified = FALSE;
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys(created_at);
+CREATE INDEX idx_job_partitions_open ON job_partitions(job_name, id) WHERE status <> 'DONE';
+CREATE INDEX idx_job_runs_running ON job_runs(job_name) WHERE status = 'RUNNING';
 CREATE INDEX idx_user_recycling_activities_center_id ON user_recycling_activities(center_id);
 CREATE INDEX idx_user_recycling_activities_material_id ON user_recycling_activities(material_id);
 
@@ -0,0 +1,140 @@
+package io.rewardsapp.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import io.rewardsapp.domain.auth.Role;
+import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.domain.auth.UserPrincipal;
+import io.rewardsapp.domain.auth.VerifiedToken;
+import io.rewardsapp.dto.UserDTO;
+import io.rewardsapp.provider.ProfileVersionRegistry;
+import io.rewardsapp.provider.TokenProvider;
+import io.rewardsapp.provider.VerifiedTokenCache;
+import io.rewardsapp.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.auth0.jwt.algorithms.Algorithm.HMAC512;
+import static io.rewardsapp.constants.SecurityConstants.AUTHORITIES;
+import static io.rewardsapp.constants.SecurityConstants.MSG_SYSTEMS_ROMANIA;
+import static io.rewardsapp.filter.CustomAuthorizationFilter.TOKEN_PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Measures the requests per second through {@link CustomAuthorizationFilter} with the previous token verification,
+ * which verified the token three times with a new verifier each time, and with the current single verification,
+ * without and with the verified token cache. Tagged {@code benchmark}, so it only runs with
+ * {@code mvn test -Pbenchmark}, and the throughputs are published as report entries of the test.
+ */
+@Tag("benchmark")
+class CustomAuthorizationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 100_000;
+
+    private static UserService userService;
+
+    @BeforeAll
+    static void setUp() {
+        ((Logger) LoggerFactory.getLogger(CustomAuthorizationFilter.class)).setLevel(Level.WARN);
+
+        userService = mock(UserService.class, withSettings().stubOnly());
+        when(userService.getUser(anyLong())).thenReturn(UserDTO.builder().id(1L).email("recycler@rewards.io").build());
+    }
+
+    @Test
+    void singleVerificationServesMoreRequestsThanTripleVerification(TestReporter reporter) throws Exception {
+        TokenProvider uncachedProvider = init(new TokenProvider(userService, new VerifiedTokenCache(0), mock(ProfileVersionRegistry.class)));
+        TokenProvider cachedProvider = init(new TokenProvider(userService, new VerifiedTokenCache(), mock(ProfileVersionRegistry.class)));
+        TokenProvider legacyProvider = init(new LegacyTokenProvider(userService));
+        String token = uncachedProvider.createAccessToken(principal());
+
+        double legacy = measure(new CustomAuthorizationFilter(legacyProvider), token);
+        double singlePass = measure(new CustomAuthorizationFilter(uncachedProvider), token);
+        double cached = measure(new CustomAuthorizationFilter(cachedProvider), token);
+
+        reporter.publishEntry("legacyRequestsPerSecond", String.format("%.0f", legacy));
+        reporter.publishEntry("singlePassRequestsPerSecond", String.format("%.0f", singlePass));
+        reporter.publishEntry("cachedRequestsPerSecond", String.format("%.0f", cached));
+
+        assertThat(singlePass).isGreaterThan(legacy);
+        assertThat(cached).isGreaterThan(singlePass);
+    }
+
+    /* Runs the warmup requests, then returns the throughput of the measured requests. */
+    private double measure(CustomAuthorizationFilter filter, String token) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            filterOnce(filter, token);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            filterOnce(filter, token);
+        }
+        return MEASURED_REQUESTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private void filterOnce(CustomAuthorizationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/centers/list-nearby");
+        request.addHeader(AUTHORIZATION, TOKEN_PREFIX + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        SecurityContextHolder.clearContext();
+    }
+
+    private static TokenProvider init(TokenProvider tokenProvider) {
+        ReflectionTestUtils.setField(tokenProvider, "SECRET", SECRET);
+        tokenProvider.init();
+        return tokenProvider;
+    }
+
+    private static UserPrincipal principal() {
+        User user = User.builder().id(1L).email("recycler@rewards.io").enabled(true).notLocked(true).build();
+        Role role = Role.builder().id(1L).name("ROLE_USER").permission("READ:VOUCHERS,READ:CENTERS,CREATE:ACTIVITY").build();
+        return new UserPrincipal(user, role);
+    }
+
+    /* Reproduces the previous verification: subject, expiration and authorities each verified the token with a new verifier. */
+    private static final class LegacyTokenProvider extends TokenProvider {
+
+        private LegacyTokenProvider(UserService userService) {
+            super(userService, new VerifiedTokenCache(0), mock(ProfileVersionRegistry.class));
+        }
+
+        @Override
+        public VerifiedToken verifyToken(String token, HttpServletRequest request) {
+            Long subject = Long.valueOf(verifier().verify(token).getSubject());
+            String[] claims = verifier().verify(token).getClaim(AUTHORITIES).asArray(String.class);
+            List<GrantedAuthority> authorities = Arrays.stream(claims).<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+            return new VerifiedToken(subject, authorities, verifier().verify(token).getExpiresAt().toInstant(), null, true);
+        }
+
+        private JWTVerifier verifier() {
+            return JWT.require(HMAC512(SECRET.getBytes())).withIssuer(MSG_SYSTEMS_ROMANIA).build();
+        }
+    }
+}
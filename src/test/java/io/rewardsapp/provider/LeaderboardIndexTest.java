@@ -0,0 +1,100 @@
+package io.rewardsapp.provider;
+
+import io.rewardsapp.domain.recycling.LeaderboardMember;
+import io.rewardsapp.provider.LeaderboardIndex.RankedMember;
+import io.rewardsapp.provider.LeaderboardIndex.Slice;
+import io.rewardsapp.repository.LeaderboardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the slices of the leaderboard in both orders, the shared ranks of tied users, the county leaderboards,
+ * pages past the end, and the balance changes applied outside of a transaction.
+ */
+class LeaderboardIndexTest {
+
+    private final LeaderboardRepository leaderboardRepository = mock(LeaderboardRepository.class);
+    private final LeaderboardIndex leaderboardIndex = new LeaderboardIndex(leaderboardRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(leaderboardRepository.findMembers()).thenReturn(List.of(
+                new LeaderboardMember(1, "Cluj", 50),
+                new LeaderboardMember(2, " cluj ", 40),
+                new LeaderboardMember(3, "Iasi", 40),
+                new LeaderboardMember(4, "Iasi", 40),
+                new LeaderboardMember(5, "Cluj", 10),
+                new LeaderboardMember(6, null, 0)
+        ));
+        leaderboardIndex.rebuild();
+    }
+
+    @Test
+    void descendingPagesShareRanksOfTiedUsersAcrossPages() {
+        Slice firstPage = leaderboardIndex.getSlice("", 0, 3, false);
+        Slice secondPage = leaderboardIndex.getSlice("", 3, 3, false);
+
+        assertThat(firstPage.total()).isEqualTo(6);
+        assertThat(firstPage.members()).containsExactly(ranked(1, 50, 1), ranked(2, 40, 2), ranked(3, 40, 2));
+        assertThat(secondPage.members()).containsExactly(ranked(4, 40, 2), ranked(5, 10, 5), ranked(6, 0, 6));
+    }
+
+    @Test
+    void ascendingPagesStartWithFewestPointsAndKeepDescendingRanks() {
+        assertThat(leaderboardIndex.getSlice("", 0, 2, true).members()).containsExactly(ranked(6, 0, 6), ranked(5, 10, 5));
+        assertThat(leaderboardIndex.getSlice("", 2, 2, true).members()).containsExactly(ranked(4, 40, 2), ranked(3, 40, 2));
+        assertThat(leaderboardIndex.getSlice("", 4, 4, true).members()).containsExactly(ranked(2, 40, 2), ranked(1, 50, 1));
+    }
+
+    @Test
+    void pagesPastTheEndAreEmpty() {
+        Slice descending = leaderboardIndex.getSlice("", 6, 3, false);
+        Slice ascending = leaderboardIndex.getSlice("", 8, 4, true);
+
+        assertThat(descending.members()).isEmpty();
+        assertThat(descending.total()).isEqualTo(6);
+        assertThat(ascending.members()).isEmpty();
+        assertThat(ascending.total()).isEqualTo(6);
+    }
+
+    @Test
+    void countyLeaderboardsIgnoreCaseAndRankWithinTheCounty() {
+        Slice cluj = leaderboardIndex.getSlice("CLUJ", 0, 10, false);
+
+        assertThat(cluj.total()).isEqualTo(3);
+        assertThat(cluj.members()).containsExactly(ranked(1, 50, 1), ranked(2, 40, 2), ranked(5, 10, 3));
+        assertThat(leaderboardIndex.getSlice("Timis", 0, 10, false)).isEqualTo(new Slice(List.of(), 0));
+    }
+
+    @Test
+    void recordedPointsMoveTheUser() {
+        leaderboardIndex.recordPoints(5, 45);
+
+        assertThat(leaderboardIndex.getSlice("", 0, 3, false).members()).containsExactly(ranked(1, 50, 1), ranked(5, 45, 2), ranked(2, 40, 3));
+        assertThat(leaderboardIndex.getSlice("cluj", 0, 3, false).members()).containsExactly(ranked(1, 50, 1), ranked(5, 45, 2), ranked(2, 40, 3));
+    }
+
+    @Test
+    void recordedPointsOfUnknownUserReloadTheUser() {
+        when(leaderboardRepository.findMember(7)).thenReturn(Optional.of(new LeaderboardMember(7, "Iasi", 60)));
+        when(leaderboardRepository.findMember(8)).thenReturn(Optional.empty());
+
+        leaderboardIndex.recordPoints(7, 60);
+        leaderboardIndex.recordPoints(8, 100);
+
+        Slice slice = leaderboardIndex.getSlice("", 0, 1, false);
+        assertThat(slice.total()).isEqualTo(7);
+        assertThat(slice.members()).containsExactly(ranked(7, 60, 1));
+    }
+
+    private static RankedMember ranked(long userId, long points, long rank) {
+        return new RankedMember(userId, points, rank);
+    }
+}
@@ -0,0 +1,97 @@
+package io.rewardsapp.provider;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the ranked skip list against a sorted list under random inserts and removals: its size, the users
+ * of any range of positions and the number of users above any balance.
+ */
+class RankedSkipListTest {
+
+    private static final int OPERATIONS = 50_000;
+    private static final int USERS = 2_000;
+    private static final int MAX_POINTS = 300;
+    private static final int CHECK_EVERY = 250;
+
+    @Test
+    void matchesSortedListUnderRandomInsertsAndRemovals() {
+        Random random = new Random(42);
+        RankedSkipList list = new RankedSkipList();
+        Map<Long, Long> pointsByUserId = new HashMap<>();
+
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            long userId = random.nextInt(USERS);
+            Long current = pointsByUserId.remove(userId);
+            if (current != null) {
+                assertThat(list.remove(current, userId)).isTrue();
+            }
+            if (random.nextInt(3) > 0) {
+                long points = random.nextInt(MAX_POINTS);
+                list.insert(points, userId);
+                pointsByUserId.put(userId, points);
+            }
+
+            if (operation % CHECK_EVERY == 0) {
+                assertMatches(list, sorted(pointsByUserId), random);
+            }
+        }
+        assertMatches(list, sorted(pointsByUserId), random);
+    }
+
+    @Test
+    void removingMissingUserLeavesListUnchanged() {
+        RankedSkipList list = new RankedSkipList();
+        list.insert(10, 1);
+
+        assertThat(list.remove(10, 2)).isFalse();
+        assertThat(list.remove(20, 1)).isFalse();
+        assertThat(list.size()).isEqualTo(1);
+    }
+
+    @Test
+    void copyingOutsideListCopiesNothing() {
+        RankedSkipList list = new RankedSkipList();
+        list.insert(10, 1);
+        long[] points = new long[2];
+        long[] userIds = new long[2];
+
+        assertThat(list.copyRange(1, 2, points, userIds)).isZero();
+        assertThat(list.copyRange(-1, 2, points, userIds)).isZero();
+        assertThat(new RankedSkipList().copyRange(0, 2, points, userIds)).isZero();
+    }
+
+    private void assertMatches(RankedSkipList list, List<long[]> expected, Random random) {
+        assertThat(list.size()).isEqualTo(expected.size());
+
+        int offset = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+        int limit = 1 + random.nextInt(64);
+        long[] points = new long[limit];
+        long[] userIds = new long[limit];
+        int copied = list.copyRange(offset, limit, points, userIds);
+
+        assertThat(copied).isEqualTo(Math.max(0, Math.min(limit, expected.size() - offset)));
+        for (int i = 0; i < copied; i++) {
+            assertThat(new long[]{points[i], userIds[i]}).containsExactly(expected.get(offset + i));
+        }
+
+        long threshold = random.nextInt(MAX_POINTS + 1) - 1;
+        assertThat(list.countAbove(threshold)).isEqualTo(expected.stream().filter(entry -> entry[0] > threshold).count());
+    }
+
+    /* The (points, user ID) pairs in leaderboard order, most points first and then by user ID. */
+    private static List<long[]> sorted(Map<Long, Long> pointsByUserId) {
+        List<long[]> entries = new ArrayList<>();
+        pointsByUserId.forEach((userId, points) -> entries.add(new long[]{points, userId}));
+        entries.sort(Comparator.<long[]>comparingLong(entry -> -entry[0]).thenComparingLong(entry -> entry[1]));
+        return entries;
+    }
+}
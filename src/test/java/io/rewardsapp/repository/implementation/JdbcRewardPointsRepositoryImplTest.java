@@ -0,0 +1,113 @@
+package io.rewardsapp.repository.implementation;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.rewardsapp.dto.RewardPointsChangeDTO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Map.of;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the atomic reward points increment against a Postgres container created from {@code schema.sql}, to verify
+ * that parallel contributions of the same user lose no points and that every caller gets its own balance window.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class JdbcRewardPointsRepositoryImplTest {
+
+    private static final int CONTRIBUTIONS = 200;
+    private static final int THREADS = 16;
+    private static final long POINTS = 30L;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static HikariDataSource dataSource;
+    private static NamedParameterJdbcTemplate jdbc;
+    private static JdbcRewardPointsRepositoryImpl repository;
+
+    private long userId;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(POSTGRES.getJdbcUrl() + "&currentSchema=rewards_app");
+        dataSource.setUsername(POSTGRES.getUsername());
+        dataSource.setPassword(POSTGRES.getPassword());
+        dataSource.setMaximumPoolSize(THREADS);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        repository = new JdbcRewardPointsRepositoryImpl(jdbc);
+    }
+
+    @AfterAll
+    static void closeDataSource() {
+        dataSource.close();
+    }
+
+    @BeforeEach
+    void createUser() {
+        userId = jdbc.queryForObject("INSERT INTO users (first_name, last_name, email, password, county, city) " +
+                        "VALUES ('Test', 'Recycler', :email, 'secret', 'Cluj', 'Cluj-Napoca') RETURNING user_id",
+                of("email", "recycler" + System.nanoTime() + "@rewards.io"), Long.class);
+    }
+
+    @Test
+    void parallelContributionsLoseNoPointsAndGetDisjointBalanceWindows() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RewardPointsChangeDTO>> futures = new ArrayList<>(CONTRIBUTIONS);
+
+        try {
+            for (int i = 0; i < CONTRIBUTIONS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return repository.addRewardPoints(userId, POINTS);
+                }));
+            }
+            start.countDown();
+
+            List<RewardPointsChangeDTO> changes = new ArrayList<>(CONTRIBUTIONS);
+            for (Future<RewardPointsChangeDTO> future : futures) {
+                changes.add(future.get());
+            }
+
+            long total = CONTRIBUTIONS * POINTS;
+            assertThat(jdbc.queryForObject("SELECT total_points FROM reward_points WHERE user_id = :userId", of("userId", userId), Long.class))
+                    .isEqualTo(total);
+            assertThat(jdbc.queryForObject("SELECT SUM(points) FROM points_ledger WHERE user_id = :userId", of("userId", userId), Long.class))
+                    .isEqualTo(total);
+
+            // the windows must chain from zero to the final balance with no gap or overlap
+            changes.sort(Comparator.comparingLong(RewardPointsChangeDTO::pointsBefore));
+            long expectedBefore = 0;
+            for (RewardPointsChangeDTO change : changes) {
+                assertThat(change.pointsBefore()).isEqualTo(expectedBefore);
+                assertThat(change.pointsAfter()).isEqualTo(change.pointsBefore() + POINTS);
+                expectedBefore = change.pointsAfter();
+            }
+            assertThat(expectedBefore).isEqualTo(total);
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package io.rewardsapp.resource;
+
+import io.rewardsapp.domain.HttpResponse;
+import io.rewardsapp.domain.auth.Role;
+import io.rewardsapp.form.UserLoginForm;
+import io.rewardsapp.provider.AppStatsCounters;
+import io.rewardsapp.provider.LeaderboardIndex;
+import io.rewardsapp.provider.ProfileVersionRegistry;
+import io.rewardsapp.provider.TokenProvider;
+import io.rewardsapp.provider.VerifiedTokenCache;
+import io.rewardsapp.repository.JpaUserRepository;
+import io.rewardsapp.repository.RoleRepository;
+import io.rewardsapp.repository.VerificationTokenStore;
+import io.rewardsapp.repository.implementation.JdbcUserRepositoryImpl;
+import io.rewardsapp.repository.implementation.LastLoginBuffer;
+import io.rewardsapp.service.RoleService;
+import io.rewardsapp.service.SmsService;
+import io.rewardsapp.service.implementation.UserServiceImpl;
+import io.rewardsapp.utils.EmailUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static io.rewardsapp.query.UserQuery.SELECT_USER_WITH_ROLE_BY_EMAIL_QUERY;
+import static io.rewardsapp.query.UserQuery.UPDATE_LAST_LOGIN_QUERY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that a password login issues exactly one read (user joined with role) and that the
+ * last-login write is deferred to a single, coalesced batch.
+ */
+class UserResourceLoginTest {
+
+    private static final String EMAIL = "recycler@rewards.io";
+    private static final String PASSWORD = "recycle-all-the-things";
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loginIssuesOneJoinedQueryAndDefersLastLoginWrite() throws Exception {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
+        ResultSet resultSet = userWithRoleRow(encoder.encode(PASSWORD));
+        when(jdbc.queryForObject(eq(SELECT_USER_WITH_ROLE_BY_EMAIL_QUERY), anyMap(), any(RowMapper.class)))
+                .thenAnswer(invocation -> invocation.getArgument(2, RowMapper.class).mapRow(resultSet, 0));
+
+        RoleRepository<Role> roleRepository = mock(RoleRepository.class);
+        RoleService roleService = mock(RoleService.class);
+        LastLoginBuffer lastLoginBuffer = new LastLoginBuffer(jdbc);
+        JdbcUserRepositoryImpl userRepository = new JdbcUserRepositoryImpl(jdbc, roleRepository, encoder, lastLoginBuffer,
+                mock(VerificationTokenStore.class), mock(SmsService.class));
+        UserServiceImpl userService = new UserServiceImpl(userRepository, mock(JpaUserRepository.class), roleRepository,
+                mock(EmailUtils.class), mock(ProfileVersionRegistry.class), mock(AppStatsCounters.class), mock(LeaderboardIndex.class));
+
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(userRepository);
+        authenticationProvider.setUserDetailsPasswordService(userRepository);
+        authenticationProvider.setPasswordEncoder(encoder);
+
+        TokenProvider tokenProvider = new TokenProvider(userService, new VerifiedTokenCache(), mock(ProfileVersionRegistry.class));
+        ReflectionTestUtils.setField(tokenProvider, "SECRET", "login-test-secret-login-test-secret");
+        tokenProvider.init();
+
+        UserResource userResource = new UserResource(userService, roleService, tokenProvider,
+                new MockHttpServletRequest(), new MockHttpServletResponse(), new ProviderManager(authenticationProvider));
+
+        ResponseEntity<HttpResponse> response = userResource.login(new UserLoginForm(EMAIL, PASSWORD));
+
+        assertThat(response.getBody()).isNotNull();
+        assertThat((Map<String, Object>) response.getBody().getData()).containsKeys("user", "access_token", "refresh_token");
+        assertThat(executedQueries(jdbc)).containsExactly(SELECT_USER_WITH_ROLE_BY_EMAIL_QUERY);
+        verifyNoInteractions(roleRepository, roleService);
+
+        userResource.login(new UserLoginForm(EMAIL, PASSWORD));
+        assertThat(lastLoginBuffer.size()).isEqualTo(1);
+
+        lastLoginBuffer.flush();
+        assertThat(executedQueries(jdbc)).containsExactly(
+                SELECT_USER_WITH_ROLE_BY_EMAIL_QUERY, SELECT_USER_WITH_ROLE_BY_EMAIL_QUERY, UPDATE_LAST_LOGIN_QUERY);
+        assertThat(lastLoginBuffer.size()).isZero();
+    }
+
+    private List<String> executedQueries(NamedParameterJdbcTemplate jdbc) {
+        Collection<Invocation> statements = mockingDetails(jdbc).getInvocations();
+        return statements.stream().map(invocation -> invocation.getArgument(0, String.class)).toList();
+    }
+
+    /* Stubs a single row of the joined user and role query. */
+    private ResultSet userWithRoleRow(String passwordHash) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(anyString())).thenReturn(0L);
+        when(resultSet.getString(anyString())).thenReturn(null);
+        when(resultSet.getBoolean(anyString())).thenReturn(false);
+        when(resultSet.getLong("user_id")).thenReturn(1L);
+        when(resultSet.getLong("role_id")).thenReturn(1L);
+        when(resultSet.getString("email")).thenReturn(EMAIL);
+        when(resultSet.getString("password")).thenReturn(passwordHash);
+        when(resultSet.getString("county")).thenReturn("Timis");
+        when(resultSet.getString("city")).thenReturn("Timisoara");
+        when(resultSet.getString("role_name")).thenReturn("ROLE_USER");
+        when(resultSet.getString("role_permission")).thenReturn("READ:VOUCHERS,READ:CENTERS,CREATE:ACTIVITY");
+        when(resultSet.getBoolean("enabled")).thenReturn(true);
+        when(resultSet.getBoolean("non_locked")).thenReturn(true);
+        when(resultSet.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+        return resultSet;
+    }
+}
@@ -0,0 +1,235 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.auth.User;
+import io.rewardsapp.domain.recycling.RecyclableMaterial;
+import io.rewardsapp.domain.recycling.RecyclingCenter;
+import io.rewardsapp.dto.ContributionBatchResultDTO;
+import io.rewardsapp.dto.ContributionResultDTO;
+import io.rewardsapp.dto.ContributorSummaryDTO;
+import io.rewardsapp.dto.RewardPointsChangeDTO;
+import io.rewardsapp.form.CreateRecyclingActivityForm;
+import io.rewardsapp.provider.AppStatsCounters;
+import io.rewardsapp.provider.LeaderboardIndex;
+import io.rewardsapp.provider.MaterialsCatalog;
+import io.rewardsapp.repository.AppStatsRepository;
+import io.rewardsapp.repository.CenterRepository;
+import io.rewardsapp.repository.JdbcRecyclingActivityRepository;
+import io.rewardsapp.repository.JdbcRewardPointsRepository;
+import io.rewardsapp.repository.JpaUserRepository;
+import io.rewardsapp.repository.MaterialsRepository;
+import io.rewardsapp.repository.RewardPointsRepository;
+import io.rewardsapp.repository.StatsRollupRepository;
+import io.rewardsapp.repository.UserRecyclingActivityRepository;
+import io.rewardsapp.service.StatsService;
+import io.rewardsapp.service.VoucherService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that parallel contributions of the same user hand voucher evaluation the balance window returned by
+ * the atomic increment, without separate balance reads, and that batch contributions apply the points of every
+ * user in one statement. The increment itself is stubbed here, its atomicity against a real database is covered
+ * by {@link io.rewardsapp.repository.implementation.JdbcRewardPointsRepositoryImplTest}.
+ */
+class RecyclingActivityServiceImplTest {
+
+    private static final long USER_ID = 1L;
+    private static final long UNITS = 3L;
+    private static final long POINTS_PER_UNIT = 10L;
+    private static final int CONTRIBUTIONS = 200;
+    private static final int THREADS = 16;
+
+    @Test
+    void parallelContributionsUseTheBalanceWindowsReturnedByTheIncrement() throws Exception {
+        AtomicRewardPointsRepository jdbcRewardPointsRepository = new AtomicRewardPointsRepository();
+        AppStatsCounters appStatsCounters = new AppStatsCounters(mock(AppStatsRepository.class));
+
+        RewardPointsRepository rewardPointsRepository = mock(RewardPointsRepository.class);
+        ConcurrentLinkedQueue<RewardPointsChangeDTO> evaluatedChanges = new ConcurrentLinkedQueue<>();
+        VoucherService voucherService = mock(VoucherService.class);
+        when(voucherService.checkForEarnedVouchers(any(User.class), any(RewardPointsChangeDTO.class))).thenAnswer(invocation -> {
+            evaluatedChanges.add(invocation.getArgument(1, RewardPointsChangeDTO.class));
+            return 0;
+        });
+
+        RecyclingActivityServiceImpl activityService = new RecyclingActivityServiceImpl(
+                new RewardPointsServiceImpl(rewardPointsRepository, jdbcRewardPointsRepository, materialsCatalog(), appStatsCounters, mock(LeaderboardIndex.class)),
+                voucherService,
+                mock(StatsService.class),
+                materialsCatalog(),
+                mock(UserRecyclingActivityRepository.class),
+                userRepository(),
+                centerRepository(),
+                mock(MaterialsRepository.class),
+                mock(JdbcRecyclingActivityRepository.class),
+                mock(StatsRollupRepository.class));
+
+        runInParallel(() -> activityService.createActivity(new CreateRecyclingActivityForm(1L, USER_ID, 1L, UNITS, null)));
+
+        long expectedTotal = CONTRIBUTIONS * UNITS * POINTS_PER_UNIT;
+        assertThat(jdbcRewardPointsRepository.balance(USER_ID)).isEqualTo(expectedTotal);
+        assertThat(appStatsCounters.getRewardPoints()).isEqualTo(expectedTotal);
+        assertThat(evaluatedChanges).hasSize(CONTRIBUTIONS);
+
+        // the balance windows handed to voucher evaluation must tile [0, total] without gaps or overlaps
+        List<RewardPointsChangeDTO> windows = new ArrayList<>(evaluatedChanges);
+        windows.sort(Comparator.comparingLong(RewardPointsChangeDTO::pointsBefore));
+        long expectedBefore = 0;
+        for (RewardPointsChangeDTO window : windows) {
+            assertThat(window.pointsBefore()).isEqualTo(expectedBefore);
+            assertThat(window.pointsAfter() - window.pointsBefore()).isEqualTo(UNITS * POINTS_PER_UNIT);
+            expectedBefore = window.pointsAfter();
+        }
+        assertThat(expectedBefore).isEqualTo(expectedTotal);
+
+        // no separate balance reads are needed around the increment
+        verifyNoInteractions(rewardPointsRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchSumsPointsPerUserAndChecksVouchersOncePerUser() {
+        AtomicRewardPointsRepository jdbcRewardPointsRepository = new AtomicRewardPointsRepository();
+        JdbcRecyclingActivityRepository activityJdbcRepository = mock(JdbcRecyclingActivityRepository.class);
+        when(activityJdbcRepository.findExistingUserIds(any())).thenReturn(Set.of(1L, 2L));
+        when(activityJdbcRepository.findExistingCenterIds(any())).thenReturn(Set.of(1L));
+        StatsRollupRepository statsRollupRepository = mock(StatsRollupRepository.class);
+        VoucherService voucherService = mock(VoucherService.class);
+        when(voucherService.checkForEarnedVouchers(any(User.class), any(RewardPointsChangeDTO.class))).thenReturn(1);
+
+        RecyclingActivityServiceImpl activityService = new RecyclingActivityServiceImpl(
+                new RewardPointsServiceImpl(mock(RewardPointsRepository.class), jdbcRewardPointsRepository, materialsCatalog(), mock(AppStatsCounters.class), mock(LeaderboardIndex.class)),
+                voucherService,
+                mock(StatsService.class),
+                materialsCatalog(),
+                mock(UserRecyclingActivityRepository.class),
+                mock(JpaUserRepository.class),
+                mock(CenterRepository.class),
+                mock(MaterialsRepository.class),
+                activityJdbcRepository,
+                statsRollupRepository);
+
+        ContributionBatchResultDTO result = activityService.createActivities(List.of(
+                new CreateRecyclingActivityForm(1L, 1L, 1L, 2L, null),
+                new CreateRecyclingActivityForm(1L, 2L, 1L, 1L, null),
+                new CreateRecyclingActivityForm(1L, 3L, 1L, 1L, null),
+                new CreateRecyclingActivityForm(1L, 1L, 1L, 5L, null)));
+
+        assertThat(result.accepted()).isEqualTo(3);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.results()).extracting(ContributionResultDTO::accepted).containsExactly(true, true, false, true);
+        assertThat(result.results().get(2).error()).isEqualTo("User not found");
+        assertThat(result.contributors()).containsExactlyInAnyOrder(
+                new ContributorSummaryDTO(1L, 7 * POINTS_PER_UNIT, 1),
+                new ContributorSummaryDTO(2L, POINTS_PER_UNIT, 1));
+
+        ArgumentCaptor<List<CreateRecyclingActivityForm>> inserted = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<LocalDateTime> createdAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(activityJdbcRepository).saveAll(inserted.capture(), createdAt.capture());
+        assertThat(inserted.getValue()).hasSize(3);
+        verify(statsRollupRepository).addActivities(inserted.getValue(), createdAt.getValue().toLocalDate());
+        assertThat(jdbcRewardPointsRepository.batchCalls()).isEqualTo(1);
+        verify(voucherService, times(2)).checkForEarnedVouchers(any(User.class), any(RewardPointsChangeDTO.class));
+    }
+
+    private void runInParallel(Runnable contribution) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>(CONTRIBUTIONS);
+            for (int i = 0; i < CONTRIBUTIONS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    contribution.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private JpaUserRepository userRepository() {
+        JpaUserRepository userRepository = mock(JpaUserRepository.class);
+        when(userRepository.findById(eq(USER_ID))).thenReturn(Optional.of(User.builder().id(USER_ID).build()));
+        return userRepository;
+    }
+
+    private CenterRepository centerRepository() {
+        CenterRepository centerRepository = mock(CenterRepository.class);
+        when(centerRepository.findById(eq(1L))).thenReturn(Optional.of(RecyclingCenter.builder().centerId(1L).build()));
+        return centerRepository;
+    }
+
+    private MaterialsCatalog materialsCatalog() {
+        MaterialsRepository materialsRepository = mock(MaterialsRepository.class);
+        when(materialsRepository.findAll()).thenReturn(List.of(RecyclableMaterial.builder()
+                .materialId(1L)
+                .name("PLASTIC")
+                .rewardPoints(POINTS_PER_UNIT)
+                .build()));
+
+        MaterialsCatalog materialsCatalog = new MaterialsCatalog(materialsRepository);
+        materialsCatalog.refresh();
+        return materialsCatalog;
+    }
+
+    /* Stands in for the INSERT ... ON CONFLICT DO UPDATE ... RETURNING statements: every call is one atomic increment. */
+    private static class AtomicRewardPointsRepository implements JdbcRewardPointsRepository {
+        private final Map<Long, AtomicLong> balances = new ConcurrentHashMap<>();
+        private final AtomicInteger batchCalls = new AtomicInteger();
+
+        @Override
+        public RewardPointsChangeDTO addRewardPoints(Long userId, long points) {
+            long after = balances.computeIfAbsent(userId, id -> new AtomicLong()).addAndGet(points);
+            return new RewardPointsChangeDTO(after - points, after);
+        }
+
+        @Override
+        public Map<Long, RewardPointsChangeDTO> addRewardPoints(SortedMap<Long, Long> pointsByUserId) {
+            batchCalls.incrementAndGet();
+            Map<Long, RewardPointsChangeDTO> changes = new LinkedHashMap<>();
+            pointsByUserId.forEach((userId, points) -> changes.put(userId, addRewardPoints(userId, points)));
+            return changes;
+        }
+
+        long balance(Long userId) {
+            return balances.getOrDefault(userId, new AtomicLong()).get();
+        }
+
+        int batchCalls() {
+            return batchCalls.get();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.rewardsapp.service.implementation;
+
+import io.rewardsapp.domain.recycling.MaterialAmounts;
+import io.rewardsapp.domain.recycling.RecyclableMaterial;
+import io.rewardsapp.dto.StatsSeriesDTO;
+import io.rewardsapp.enums.StatsBucket;
+import io.rewardsapp.exception.ApiException;
+import io.rewardsapp.provider.AppStatsCounters;
+import io.rewardsapp.provider.MaterialsCatalog;
+import io.rewardsapp.repository.CenterStatsRepository;
+import io.rewardsapp.repository.MaterialsRepository;
+import io.rewardsapp.repository.UserStatsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static io.rewardsapp.service.implementation.StatsServiceImpl.STATS_SERIES_MAX_POINTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that the stats series are aligned on the start of their buckets, that long ranges are downsampled
+ * into at most {@link StatsServiceImpl#STATS_SERIES_MAX_POINTS} points, and that every material has a series.
+ */
+class StatsServiceImplTest {
+
+    private static final long USER_ID = 1L;
+    private static final long PLASTIC = 1L;
+    private static final long GLASS = 2L;
+
+    private final UserStatsRepository userStatsRepository = mock(UserStatsRepository.class);
+    private final MaterialsCatalog materialsCatalog = materialsCatalog();
+    private final StatsServiceImpl statsService = new StatsServiceImpl(userStatsRepository, mock(CenterStatsRepository.class),
+            materialsCatalog, mock(AppStatsCounters.class));
+
+    @Test
+    void weekBucketsStartOnMonday() {
+        assertThat(StatsBucket.WEEK.truncate(LocalDate.of(2024, 1, 3))).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(StatsBucket.WEEK.truncate(LocalDate.of(2024, 1, 7))).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(StatsBucket.WEEK.truncate(LocalDate.of(2024, 1, 8))).isEqualTo(LocalDate.of(2024, 1, 8));
+        assertThat(StatsBucket.MONTH.truncate(LocalDate.of(2024, 2, 29))).isEqualTo(LocalDate.of(2024, 2, 1));
+    }
+
+    @Test
+    void weekRangeStartingMidWeekIsAlignedOnMondays() {
+        LocalDate from = LocalDate.of(2024, 1, 3);
+        LocalDate to = LocalDate.of(2024, 1, 17);
+        when(userStatsRepository.getUserStatsSeries(USER_ID, StatsBucket.WEEK, from, to)).thenReturn(Map.of(
+                LocalDate.of(2024, 1, 8), amounts(PLASTIC, 5),
+                LocalDate.of(2024, 1, 15), amounts(GLASS, 2)
+        ));
+
+        StatsSeriesDTO series = statsService.getUserStatsSeries(USER_ID, from, to, StatsBucket.WEEK);
+
+        assertThat(series.bucketsPerPoint()).isEqualTo(1);
+        assertThat(series.points()).containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 15));
+        assertThat(series.materialsRecycled().get("PLASTIC")).containsExactly(0, 5, 0);
+        assertThat(series.materialsRecycled().get("GLASS")).containsExactly(0, 0, 2);
+    }
+
+    @Test
+    void rangeAboveMaxPointsMergesAdjacentBuckets() {
+        // 152 days need 2 days per point, so 76 points
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 5, 31);
+        when(userStatsRepository.getUserStatsSeries(USER_ID, StatsBucket.DAY, from, to)).thenReturn(Map.of(
+                LocalDate.of(2024, 1, 1), amounts(PLASTIC, 1),
+                LocalDate.of(2024, 1, 2), amounts(PLASTIC, 2),
+                LocalDate.of(2024, 1, 3), amounts(PLASTIC, 4),
+                LocalDate.of(2024, 5, 31), amounts(GLASS, 8)
+        ));
+
+        StatsSeriesDTO series = statsService.getUserStatsSeries(USER_ID, from, to, StatsBucket.DAY);
+
+        assertThat(series.bucketsPerPoint()).isEqualTo(2);
+        assertThat(series.points()).hasSize(76).hasSizeLessThanOrEqualTo(STATS_SERIES_MAX_POINTS);
+        assertThat(series.points().get(1)).isEqualTo(LocalDate.of(2024, 1, 3));
+        assertThat(series.points().get(75)).isEqualTo(LocalDate.of(2024, 5, 30));
+
+        long[] plastic = series.materialsRecycled().get("PLASTIC");
+        long[] glass = series.materialsRecycled().get("GLASS");
+        assertThat(plastic).hasSize(76);
+        assertThat(plastic[0]).isEqualTo(3);
+        assertThat(plastic[1]).isEqualTo(4);
+        assertThat(glass[75]).isEqualTo(8);
+    }
+
+    @Test
+    void singleDayRangeHasOnePoint() {
+        LocalDate day = LocalDate.of(2024, 2, 15);
+        when(userStatsRepository.getUserStatsSeries(USER_ID, StatsBucket.DAY, day, day)).thenReturn(Map.of(day, amounts(PLASTIC, 7)));
+        when(userStatsRepository.getUserStatsSeries(USER_ID, StatsBucket.MONTH, day, day)).thenReturn(Map.of(LocalDate.of(2024, 2, 1), amounts(PLASTIC, 7)));
+
+        StatsSeriesDTO daySeries = statsService.getUserStatsSeries(USER_ID, day, day, StatsBucket.DAY);
+        StatsSeriesDTO monthSeries = statsService.getUserStatsSeries(USER_ID, day, day, StatsBucket.MONTH);
+
+        assertThat(daySeries.points()).containsExactly(day);
+        assertThat(daySeries.materialsRecycled().get("PLASTIC")).containsExactly(7);
+        assertThat(monthSeries.points()).containsExactly(LocalDate.of(2024, 2, 1));
+        assertThat(monthSeries.materialsRecycled().get("PLASTIC")).containsExactly(7);
+    }
+
+    @Test
+    void rangeEndingBeforeItStartsIsRejected() {
+        assertThatThrownBy(() -> statsService.getUserStatsSeries(USER_ID, LocalDate.of(2024, 2, 2), LocalDate.of(2024, 2, 1), StatsBucket.DAY))
+                .isInstanceOf(ApiException.class);
+    }
+
+    private MaterialAmounts amounts(long materialId, long amount) {
+        MaterialAmounts amounts = materialsCatalog.newAmounts();
+        amounts.add(materialId, amount);
+        return amounts;
+    }
+
+    private static MaterialsCatalog materialsCatalog() {
+        MaterialsRepository materialsRepository = mock(MaterialsRepository.class);
+        when(materialsRepository.findAll()).thenReturn(List.of(
+                RecyclableMaterial.builder().materialId(PLASTIC).name("PLASTIC").rewardPoints(10L).build(),
+                RecyclableMaterial.builder().materialId(GLASS).name("GLASS").rewardPoints(5L).build()
+        ));
+
+        MaterialsCatalog materialsCatalog = new MaterialsCatalog(materialsRepository);
+        materialsCatalog.refresh();
+        return materialsCatalog;
+    }
+}